@@ -0,0 +1,28 @@
+package treasurehunter;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+
+/**
+ * Shared set up for the benchmarks.
+ */
+
+public class Benchmarks {
+    // constants
+    public static final long SEED = 42;
+
+    /**
+     * Creates a console game that writes to nowhere and has already been through the welcome prompts.
+     *
+     * @param modeCode The mode code to answer the mode prompt with.
+     * @param repeatedInput Input to answer every later prompt with, over and over.
+     * @return A game standing in its first town.
+     */
+    public static TreasureHunter newGame(String modeCode, String repeatedInput) {
+        PrintStream nowhere = new PrintStream(OutputStream.nullOutputStream());
+        TreasureHunter game = new TreasureHunter(new RepeatingInputStream("bench\n" + modeCode + "\n", repeatedInput), nowhere, SEED);
+        game.welcomePlayer();
+        game.enterTown();
+        return game;
+    }
+}
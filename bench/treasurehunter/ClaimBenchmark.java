@@ -0,0 +1,54 @@
+package treasurehunter;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Times hunters racing for the towns of one shared World: claiming a site that is already in hand,
+ * and visiting a random town in a patch bigger than the world's cache, so sites keep being retired and regenerated.
+ */
+@BenchmarkMode(org.openjdk.jmh.annotations.Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ClaimBenchmark {
+
+    private final World world = new World(7, 4096);
+    private final TownSite site = world.siteAt(0, 0);
+
+    @State(Scope.Thread)
+    public static class Wanderer {
+        final SplittableRandom random = new SplittableRandom();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public TownSite.Claim claimSharedSite() {
+        return site.claimDigSpot();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public TownSite.Claim visitTown(Wanderer wanderer) {
+        int x = wanderer.random.nextInt(512);
+        int y = wanderer.random.nextInt(512);
+        TownSite visited = world.siteAt(x, y);
+        TownSite.Claim claim;
+        while ((claim = visited.claimTreasure()) == TownSite.Claim.RETIRED) {
+            visited = world.siteAt(x, y);
+        }
+        return claim;
+    }
+}
@@ -0,0 +1,54 @@
+package treasurehunter;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Times the strings the menu builds from the hunter every turn, and rendering the same text without them.
+ */
+@BenchmarkMode(org.openjdk.jmh.annotations.Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class HunterBenchmark {
+
+    private Hunter hunter;
+    private Renderer renderer;
+
+    @Setup
+    public void setUp() {
+        // test mode gives the hunter a full kit, which is the longest inventory to print
+        hunter = Benchmarks.newGame("test", "\n").getHunter();
+        renderer = new Renderer(OutputStream.nullOutputStream());
+    }
+
+    @Benchmark
+    public String infoString() {
+        return hunter.infoString();
+    }
+
+    @Benchmark
+    public String getInventory() {
+        return hunter.getInventory();
+    }
+
+    @Benchmark
+    public Renderer render() throws IOException {
+        hunter.render(renderer);
+        renderer.flush();
+        return renderer;
+    }
+}
@@ -0,0 +1,50 @@
+package treasurehunter;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Times the cost of recording into Metrics, from one thread and from four threads sharing the same counters.
+ */
+@BenchmarkMode(org.openjdk.jmh.annotations.Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MetricsBenchmark {
+
+    private final Metrics metrics = new Metrics();
+    private long nanos = 12_345;
+
+    @Benchmark
+    public void recordLatency() {
+        metrics.recordLatency(Action.DIG, nanos++);
+    }
+
+    @Benchmark
+    public void countGold() {
+        metrics.goldIn(7);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void recordLatencyShared() {
+        metrics.recordLatency(Action.DIG, 12_345);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void countGoldShared() {
+        metrics.goldIn(7);
+    }
+}
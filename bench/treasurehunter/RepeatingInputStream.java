@@ -0,0 +1,44 @@
+package treasurehunter;
+
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * An endless InputStream for the benchmarks: it plays back a prefix once and then repeats a block of input forever,
+ * so the game's prompts can be answered for as long as a benchmark runs.
+ */
+
+public class RepeatingInputStream extends InputStream {
+    // instance variables
+    private final byte[] prefix;
+    private final byte[] repeated;
+    private int position;
+
+    /**
+     * @param prefix Input that is read once, such as the hunter's name and mode.
+     * @param repeated Input that is read over and over once the prefix is used up.
+     */
+    public RepeatingInputStream(String prefix, String repeated) {
+        this.prefix = prefix.getBytes(StandardCharsets.UTF_8);
+        this.repeated = repeated.getBytes(StandardCharsets.UTF_8);
+        position = 0;
+    }
+
+    @Override
+    public int read() {
+        if (position < prefix.length) {
+            return prefix[position++];
+        }
+        int b = repeated[(position - prefix.length) % repeated.length];
+        position = prefix.length + (position - prefix.length + 1) % repeated.length;
+        return b;
+    }
+
+    @Override
+    public int read(byte[] buffer, int offset, int length) {
+        for (int i = 0; i < length; i++) {
+            buffer[offset + i] = (byte) read();
+        }
+        return length;
+    }
+}
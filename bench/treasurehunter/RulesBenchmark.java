@@ -0,0 +1,58 @@
+package treasurehunter;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Times the rules themselves in a headless game, with nothing printed: a brawl, a dig and starting a new game,
+ * which between them read every number the rules decide a turn with.
+ */
+@BenchmarkMode(org.openjdk.jmh.annotations.Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class RulesBenchmark {
+
+    private TreasureHunter game;
+    private Hunter hunter;
+    private Town town;
+    private long seed;
+
+    @Setup
+    public void setUp() {
+        game = new TreasureHunter("bench", Mode.NORMAL, Benchmarks.SEED);
+        hunter = game.getHunter();
+        hunter.changeGold(1_000_000);
+        game.takeTurn(Action.BUY, Item.SHOVEL.getName());
+        town = game.getCurrentTown();
+    }
+
+    @Benchmark
+    public Hunter lookForTrouble() {
+        town.lookForTrouble();
+        return hunter;
+    }
+
+    @Benchmark
+    public Hunter dig() {
+        hunter.setDug(false);
+        hunter.digGold();
+        return hunter;
+    }
+
+    @Benchmark
+    public TreasureHunter newGame() {
+        return new TreasureHunter("bench", Mode.NORMAL, seed++);
+    }
+}
@@ -0,0 +1,54 @@
+package treasurehunter;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Times the shop's price lookups and its inventory listing.
+ */
+@BenchmarkMode(org.openjdk.jmh.annotations.Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ShopBenchmark {
+
+    private Shop shop;
+
+    @State(Scope.Thread)
+    public static class ItemState {
+        @Param({"water", "boat", "shovel", "banana"})
+        public String item;
+    }
+
+    @Setup
+    public void setUp() {
+        shop = Benchmarks.newGame("n", "\n").getCurrentTown().getShop();
+    }
+
+    @Benchmark
+    public int buyPrice(ItemState state) {
+        return shop.checkMarketPrice(state.item, true);
+    }
+
+    @Benchmark
+    public int sellPrice(ItemState state) {
+        return shop.checkMarketPrice(state.item, false);
+    }
+
+    @Benchmark
+    public String inventory() {
+        return shop.inventory();
+    }
+}
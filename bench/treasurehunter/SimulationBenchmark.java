@@ -0,0 +1,52 @@
+package treasurehunter;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Times whole greedy games of normal mode, played as TreasureHunter objects the way the Simulator plays them,
+ * and as slots of a GameBatch. Both play the same seeds, so they play the same games.
+ */
+@BenchmarkMode(org.openjdk.jmh.annotations.Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SimulationBenchmark {
+
+    private static final int GAMES = 4096;
+
+    private final Strategy strategy = new GreedyStrategy();
+    private final GameBatch batch = new GameBatch(Mode.NORMAL, GAMES, null);
+    private long seed;
+
+    @Benchmark
+    @OperationsPerInvocation(GAMES)
+    public int objectGames() {
+        SplittableRandom seeds = new SplittableRandom(seed++);
+        int turns = 0;
+        for (int i = 0; i < GAMES; i++) {
+            turns += Simulator.playGame(strategy, new TreasureHunter("bot", Mode.NORMAL, seeds.nextLong()));
+        }
+        return turns;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(GAMES)
+    public GameBatch batchGames() {
+        batch.start(0, GAMES, new SplittableRandom(seed++));
+        batch.run(0, GAMES);
+        return batch;
+    }
+}
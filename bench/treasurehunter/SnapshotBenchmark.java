@@ -0,0 +1,55 @@
+package treasurehunter;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Times saving a game to a Snapshot and restoring it into a new game.
+ */
+@BenchmarkMode(org.openjdk.jmh.annotations.Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SnapshotBenchmark {
+
+    private TreasureHunter game;
+    private ByteBuffer buffer;
+    private ByteBuffer saved;
+
+    @Setup
+    public void setUp() {
+        game = Benchmarks.newGame("test", "\n");
+        buffer = ByteBuffer.allocate(Snapshot.MAX_SIZE);
+        saved = ByteBuffer.allocate(Snapshot.MAX_SIZE);
+        Snapshot.encode(game, saved);
+        saved.flip();
+    }
+
+    @Benchmark
+    public ByteBuffer save() {
+        buffer.clear();
+        Snapshot.encode(game, buffer);
+        return buffer;
+    }
+
+    @Benchmark
+    public TreasureHunter load() throws IOException {
+        TreasureHunter restored = new TreasureHunter((InputStream) null, null, Benchmarks.SEED);
+        Snapshot.decode(saved.duplicate(), restored);
+        return restored;
+    }
+}
@@ -0,0 +1,76 @@
+package treasurehunter;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Times a fresh JVM from launch until it asks for the hunter's name, with and without a class data sharing archive.
+ * The archive is trained once in setup, the same way the launcher script does it, with the train subcommand.
+ */
+@BenchmarkMode(org.openjdk.jmh.annotations.Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 20)
+@Fork(1)
+@State(Scope.Benchmark)
+public class StartupBenchmark {
+
+    private static final byte[] NAME_PROMPT = "What's your name, Hunter? ".getBytes(StandardCharsets.UTF_8);
+
+    @Param({"plain", "cds"})
+    public String launch;
+
+    private List<String> command;
+
+    @Setup
+    public void setUp() throws IOException, InterruptedException {
+        String java = Path.of(System.getProperty("java.home"), "bin", "java").toString();
+        String classPath = System.getProperty("java.class.path");
+        command = new ArrayList<>(List.of(java, "-cp", classPath));
+        if (launch.equals("cds")) {
+            Path archive = Files.createTempDirectory("startup").resolve("treasure-hunter.jsa");
+            List<String> train = new ArrayList<>(command);
+            train.addAll(List.of("-XX:ArchiveClassesAtExit=" + archive, "treasurehunter.TreasureHunterRunner", "train"));
+            new ProcessBuilder(train).redirectErrorStream(true).redirectOutput(ProcessBuilder.Redirect.DISCARD).start().waitFor();
+            command.add("-XX:SharedArchiveFile=" + archive);
+        }
+        command.add("treasurehunter.TreasureHunterRunner");
+    }
+
+    @Benchmark
+    public int timeToFirstPrompt() throws IOException, InterruptedException {
+        Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+        try (InputStream in = process.getInputStream()) {
+            int matched = 0;
+            int read = 0;
+            while (matched < NAME_PROMPT.length) {
+                int b = in.read();
+                if (b < 0) {
+                    throw new IOException("The game ended before asking for a name");
+                }
+                read++;
+                matched = (b == NAME_PROMPT[matched]) ? matched + 1 : (b == NAME_PROMPT[0] ? 1 : 0);
+            }
+            return read;
+        } finally {
+            process.destroyForcibly().waitFor();
+        }
+    }
+}
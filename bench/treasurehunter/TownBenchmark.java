@@ -0,0 +1,39 @@
+package treasurehunter;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Times building a new Town, which picks its terrain with getNewTerrain() and its treasure with townTreasure().
+ */
+@BenchmarkMode(org.openjdk.jmh.annotations.Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class TownBenchmark {
+
+    private TreasureHunter game;
+    private Shop shop;
+
+    @Setup
+    public void setUp() {
+        game = Benchmarks.newGame("n", "\n");
+        shop = game.getCurrentTown().getShop();
+    }
+
+    @Benchmark
+    public Town newTown() {
+        return new Town(shop, 0.4, game);
+    }
+}
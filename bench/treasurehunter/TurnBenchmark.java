@@ -0,0 +1,65 @@
+package treasurehunter;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Times TreasureHunter.processChoice() for every menu action, including the output it prints.<p>
+ * Moving on to a new town changes the game for good, so it gets a fresh game for every call.
+ */
+@BenchmarkMode(org.openjdk.jmh.annotations.Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TurnBenchmark {
+
+    @State(Scope.Thread)
+    public static class ChoiceState {
+        @Param({"b", "s", "e", "l", "d", "h", "x", "?"})
+        public String choice;
+
+        private TreasureHunter game;
+
+        @Setup(Level.Iteration)
+        public void setUp() {
+            // the shop prompts are always answered by trying to trade water
+            game = Benchmarks.newGame("n", "water\ny\n");
+            game.getHunter().changeGold(1_000_000);
+        }
+    }
+
+    @Benchmark
+    public TreasureHunter processChoice(ChoiceState state) {
+        state.game.processChoice(state.choice);
+        return state.game;
+    }
+
+    @State(Scope.Thread)
+    public static class MoveState {
+        private TreasureHunter game;
+
+        @Setup(Level.Invocation)
+        public void setUp() {
+            // test mode starts with every item needed to cross any terrain
+            game = Benchmarks.newGame("test", "\n");
+        }
+    }
+
+    @Benchmark
+    public TreasureHunter move(MoveState state) {
+        state.game.processChoice("m");
+        return state.game;
+    }
+}
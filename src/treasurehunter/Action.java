@@ -0,0 +1,43 @@
+package treasurehunter;
+
+/**
+ * The Action enum lists the moves a hunter can make from the town menu,
+ * along with the key that selects each one.
+ */
+
+public enum Action {
+    BUY('b'),
+    SELL('s'),
+    EXPLORE('e'),
+    MOVE('m'),
+    LOOK_FOR_TROUBLE('l'),
+    DIG('d'),
+    HUNT('h'),
+    EXIT('x');
+
+    // instance variables
+    private final char key;
+
+    Action(char key) {
+        this.key = key;
+    }
+
+    public char getKey() {
+        return key;
+    }
+
+    /**
+     * Looks up the action for a menu key.
+     *
+     * @param key The key typed at the menu, in lower case.
+     * @return The matching action, or null if the key is not a menu option.
+     */
+    public static Action fromKey(char key) {
+        for (Action action : values()) {
+            if (action.key == key) {
+                return action;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,184 @@
+package treasurehunter;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Instant;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Analytics Class<br /><br />
+ * Adds up what happens in every game played with an AnalyticsSink, in tumbling windows of a fixed length,
+ * and writes each window out as CSV once it's over, so the economy can be watched live while the server is under load.<p>
+ * Nothing is kept about any single event. Each window is a table of counters, one count and one sum of gold for every
+ * mode, kind of event, terrain of the town it happened in and item or treasure it was about, so recording an event is
+ * two atomic additions wherever it comes from. A report has a row for each combination that happened in the window:
+ * <pre>window_start,window_seconds,mode,event,terrain,subject,count,gold</pre>
+ * The subject is the item or treasure, or empty, and the gold is whatever the event carried: the gold dug up, won or
+ * lost in a brawl, or paid in a trade.<p>
+ * The tables for the last few windows are kept in a ring. A window is reported a moment after it ends, and its
+ * table is emptied as it is read, ready for its next turn in the ring. A game whose thread stalls for longer than
+ * that moment in the middle of recording has its event counted in a later window, but never lost.
+ */
+
+public class Analytics implements AutoCloseable {
+    // constants
+    public static final int DEFAULT_WINDOW_SECONDS = 10;
+    private static final int RING = 3;
+    private static final byte[] HEADER = Renderer.bytes("window_start,window_seconds,mode,event,terrain,subject,count,gold");
+    private static final byte[] COMMA = Renderer.bytes(",");
+    private static final String OTHER_TERRAIN = "other";
+
+    // instance variables
+    private final TerrainCatalogue catalogue;
+    private final long windowMillis;
+    private final int terrains;
+    private final int subjects;
+    private final AtomicLongArray[] counts;
+    private final AtomicLongArray[] gold;
+    private final Renderer out;
+    private final ScheduledExecutorService reporter;
+    private long nextWindow;
+
+    /**
+     * Starts adding up events, and reporting each window as it ends.
+     *
+     * @param out Where the CSV reports are written.
+     * @param windowSeconds How long each window lasts.
+     */
+    public Analytics(OutputStream out, int windowSeconds) {
+        catalogue = TerrainCatalogue.get();
+        windowMillis = windowSeconds * 1000L;
+        // the last terrain is for towns that aren't in the catalogue, and the first subject is for events without one
+        terrains = catalogue.size() + 1;
+        subjects = 1 + Item.VALUES.length + Treasure.VALUES.length;
+        int cells = Mode.values().length * EventType.VALUES.length * terrains * subjects;
+        counts = new AtomicLongArray[RING];
+        gold = new AtomicLongArray[RING];
+        for (int i = 0; i < RING; i++) {
+            counts[i] = new AtomicLongArray(cells);
+            gold[i] = new AtomicLongArray(cells);
+        }
+        this.out = new Renderer(out);
+        this.out.append(HEADER).newline();
+
+        long now = System.currentTimeMillis();
+        nextWindow = now / windowMillis;
+        // each window is reported a tenth of a window after it ends, so games part way through recording can finish
+        long firstReport = (nextWindow + 1) * windowMillis + windowMillis / 10 - now;
+        reporter = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "analytics");
+            thread.setDaemon(true);
+            return thread;
+        });
+        reporter.scheduleAtFixedRate(this::reportFinishedWindows, firstReport, windowMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Adds one event to the current window.
+     *
+     * @param mode The mode of the game it happened in.
+     * @param event The event.
+     * @param terrain The index of the terrain of the town it happened in, from terrainIndex().
+     */
+    public void record(Mode mode, GameEvent event, int terrain) {
+        int subject = 0;
+        if (event.item != null) {
+            subject = 1 + event.item.ordinal();
+        } else if (event.treasure != null) {
+            subject = 1 + Item.VALUES.length + event.treasure.ordinal();
+        }
+        int cell = ((mode.ordinal() * EventType.VALUES.length + event.type.ordinal()) * terrains + terrain) * subjects + subject;
+        int slot = (int) ((System.currentTimeMillis() / windowMillis) % RING);
+        counts[slot].incrementAndGet(cell);
+        if (event.amount != 0 && event.type != EventType.TOWN_ENTERED) {
+            gold[slot].addAndGet(cell, event.amount);
+        }
+    }
+
+    /**
+     * @param terrain A town's terrain.
+     * @return Its index for record(); every terrain that isn't in the catalogue shares one.
+     */
+    public int terrainIndex(Terrain terrain) {
+        int index = catalogue.indexOf(terrain);
+        return (index < 0) ? terrains - 1 : index;
+    }
+
+    /**
+     * Reports every window that has ended since the last report.
+     */
+    private synchronized void reportFinishedWindows() {
+        long current = System.currentTimeMillis() / windowMillis;
+        if (current - nextWindow >= RING) {
+            // the reporter was held up for so long that the oldest tables have already been reused by newer windows
+            nextWindow = current - RING + 1;
+        }
+        try {
+            while (nextWindow < current) {
+                report(nextWindow++);
+            }
+            out.flush();
+        } catch (IOException e) {
+            // the analytics are lost, but the games go on
+            reporter.shutdown();
+        }
+    }
+
+    /**
+     * Writes one window's rows and empties its table for its next turn in the ring.
+     */
+    private void report(long window) {
+        int slot = (int) (window % RING);
+        byte[] start = Renderer.bytes(Instant.ofEpochMilli(window * windowMillis).toString());
+        long seconds = windowMillis / 1000;
+        int cell = 0;
+        for (Mode mode : Mode.values()) {
+            for (EventType type : EventType.VALUES) {
+                for (int terrain = 0; terrain < terrains; terrain++) {
+                    for (int subject = 0; subject < subjects; subject++, cell++) {
+                        long count = counts[slot].getAndSet(cell, 0);
+                        long goldSum = gold[slot].getAndSet(cell, 0);
+                        if (count == 0) {
+                            continue;
+                        }
+                        out.append(start).append(COMMA).append(seconds).append(COMMA)
+                                .append(mode.name()).append(COMMA).append(type.name()).append(COMMA)
+                                .append(terrain < catalogue.size() ? catalogue.get(terrain).getTerrainName() : OTHER_TERRAIN)
+                                .append(COMMA).append(subjectName(subject)).append(COMMA)
+                                .append(count).append(COMMA).append(goldSum).newline();
+                    }
+                }
+            }
+        }
+    }
+
+    private static String subjectName(int subject) {
+        if (subject == 0) {
+            return "";
+        }
+        if (subject <= Item.VALUES.length) {
+            return Item.VALUES[subject - 1].getName();
+        }
+        return Treasure.VALUES[subject - 1 - Item.VALUES.length].getName();
+    }
+
+    /**
+     * Stops reporting, after writing out every window so far, including the one still going, and closes the stream.
+     *
+     * @throws IOException If the last report can't be written.
+     */
+    @Override
+    public void close() throws IOException {
+        reporter.shutdown();
+        synchronized (this) {
+            long current = System.currentTimeMillis() / windowMillis;
+            while (nextWindow <= current) {
+                report(nextWindow++);
+            }
+            out.close();
+        }
+    }
+}
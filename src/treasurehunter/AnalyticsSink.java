@@ -0,0 +1,33 @@
+package treasurehunter;
+
+/**
+ * AnalyticsSink Class<br /><br />
+ * Passes one game's events on to a shared Analytics, along with the game's mode and the terrain of the town
+ * the hunter is in, which it follows from the TOWN_ENTERED events. (The game may already be in its first town
+ * when the sink is added, so it starts from the game's current town.)
+ */
+
+public class AnalyticsSink implements EventSink {
+    // instance variables
+    private final Analytics analytics;
+    private final TreasureHunter game;
+    private int terrain;
+
+    /**
+     * @param analytics Where the events are added up.
+     * @param game The game whose events these are.
+     */
+    public AnalyticsSink(Analytics analytics, TreasureHunter game) {
+        this.analytics = analytics;
+        this.game = game;
+        Town town = game.getCurrentTown();
+        terrain = analytics.terrainIndex((town == null) ? null : town.getTerrain());
+    }
+
+    public void accept(GameEvent event) {
+        if (event.type == EventType.TOWN_ENTERED) {
+            terrain = analytics.terrainIndex(event.terrain);
+        }
+        analytics.record(game.getMode(), event, terrain);
+    }
+}
@@ -0,0 +1,273 @@
+package treasurehunter;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * BatchRunner Class<br /><br />
+ * Plays scripted games from a file as fast as the disk can supply them, for regression and balancing runs.<p>
+ * Each line of the script is one game: its mode code, its seed, and then its moves, separated by spaces.
+ * A move is one of the menu keys e, m, l, d, h or x, or b:item or s:item to buy or sell an item; for example
+ * <pre>n 42 b:shovel d m h l b:machete m h</pre>
+ * Blank lines and lines starting with # are skipped, and moves after a game has ended are ignored.<p>
+ * The script is memory-mapped and read as bytes, so no String is made for any line or move, and one CSV row per game
+ * is gathered in a Renderer and written out in large blocks.
+ */
+
+public class BatchRunner {
+    // constants
+    private static final long WINDOW = 1L << 30;
+    private static final int FLUSH_AT = 1 << 16;
+    private static final byte[] HEADER = Renderer.bytes("line,mode,seed,turns,invalid_moves,gold,treasures,won,game_over");
+    private static final byte[] COMMA = Renderer.bytes(",");
+    private static final byte[][] MODE_CODES = new byte[Mode.values().length][];
+    private static final byte[][] ITEM_NAMES = new byte[Item.VALUES.length][];
+
+    static {
+        for (Mode mode : Mode.values()) {
+            MODE_CODES[mode.ordinal()] = Renderer.bytes(mode.getCode());
+        }
+        for (Item item : Item.VALUES) {
+            ITEM_NAMES[item.ordinal()] = Renderer.bytes(item.getName());
+        }
+    }
+
+    // instance variables
+    private final Renderer results;
+    private long lineNumber;
+    private long games;
+    private long turns;
+    private long rejectedLines;
+
+    /**
+     * @param out Where the CSV results are written.
+     */
+    public BatchRunner(OutputStream out) {
+        results = new Renderer(out);
+        results.append(HEADER).newline();
+    }
+
+    /**
+     * Plays every game in the script.
+     *
+     * @param script The script file.
+     * @throws IOException If the script can't be read or the results can't be written.
+     */
+    public void run(Path script) throws IOException {
+        try (FileChannel channel = FileChannel.open(script, StandardOpenOption.READ)) {
+            long size = channel.size();
+            long position = 0;
+            while (position < size) {
+                long length = Math.min(WINDOW, size - position);
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+                int end = (int) length;
+                if (position + length < size) {
+                    // only whole lines are played from this window; the last partial line starts the next one
+                    while (end > 0 && buffer.get(end - 1) != '\n') {
+                        end--;
+                    }
+                    if (end == 0) {
+                        throw new IOException("Line " + (lineNumber + 1) + " of the script is too long");
+                    }
+                }
+                int start = 0;
+                for (int i = 0; i < end; i++) {
+                    if (buffer.get(i) == '\n') {
+                        playLine(buffer, start, i);
+                        start = i + 1;
+                    }
+                }
+                if (start < end) {
+                    playLine(buffer, start, end);
+                }
+                position += end;
+            }
+        }
+        results.flush();
+    }
+
+    /**
+     * Plays the game on one line of the script and adds its row to the results.
+     */
+    private void playLine(MappedByteBuffer buffer, int start, int end) throws IOException {
+        lineNumber++;
+        int position = skipSpaces(buffer, start, end);
+        if (position == end || buffer.get(position) == '#') {
+            return;
+        }
+        int tokenEnd = tokenEnd(buffer, position, end);
+        Mode mode = null;
+        for (Mode candidate : Mode.values()) {
+            if (matches(buffer, position, tokenEnd, MODE_CODES[candidate.ordinal()])) {
+                mode = candidate;
+            }
+        }
+        position = skipSpaces(buffer, tokenEnd, end);
+        tokenEnd = tokenEnd(buffer, position, end);
+        if (mode == null || position == tokenEnd || !isNumber(buffer, position, tokenEnd)) {
+            rejectedLines++;
+            return;
+        }
+        long seed = parseLong(buffer, position, tokenEnd);
+
+        TreasureHunter game = new TreasureHunter("batch", mode, seed);
+        int played = 0;
+        int invalid = 0;
+        boolean exited = false;
+        position = skipSpaces(buffer, tokenEnd, end);
+        while (position < end && !exited && !game.hasWon() && !game.isGameOver()) {
+            tokenEnd = tokenEnd(buffer, position, end);
+            Action action = Action.fromKey((char) lower(buffer.get(position)));
+            String item = null;
+            if (action == Action.BUY || action == Action.SELL) {
+                item = itemName(buffer, position + 2, tokenEnd);
+                if (tokenEnd - position < 3 || buffer.get(position + 1) != ':' || item == null) {
+                    action = null;
+                }
+            } else if (tokenEnd - position != 1) {
+                action = null;
+            }
+            if (action == null) {
+                invalid++;
+            } else if (action == Action.EXIT) {
+                exited = true;
+            } else {
+                game.takeTurn(action, item);
+                played++;
+            }
+            position = skipSpaces(buffer, tokenEnd, end);
+        }
+        games++;
+        turns += played;
+
+        results.append(lineNumber).append(COMMA).append(MODE_CODES[mode.ordinal()]).append(COMMA).append(seed)
+                .append(COMMA).append(played).append(COMMA).append(invalid)
+                .append(COMMA).append(game.getHunter().getGold())
+                .append(COMMA).append(Integer.bitCount(game.getTreasureBits()))
+                .append(COMMA).append(game.hasWon() ? 1 : 0).append(COMMA).append(game.isGameOver() ? 1 : 0)
+                .newline();
+        if (results.size() >= FLUSH_AT) {
+            results.flush();
+        }
+    }
+
+    /**
+     * @return The name of the item spelled between start and end, or null if there isn't one.
+     */
+    private static String itemName(MappedByteBuffer buffer, int start, int end) {
+        for (Item item : Item.VALUES) {
+            if (matches(buffer, start, end, ITEM_NAMES[item.ordinal()])) {
+                return item.getName();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Compares a token against a lowercase word, ignoring the case of the token.
+     */
+    private static boolean matches(MappedByteBuffer buffer, int start, int end, byte[] word) {
+        if (end - start != word.length) {
+            return false;
+        }
+        for (int i = 0; i < word.length; i++) {
+            if (lower(buffer.get(start + i)) != word[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int lower(byte b) {
+        return (b >= 'A' && b <= 'Z') ? b + ('a' - 'A') : b;
+    }
+
+    private static boolean isSpace(byte b) {
+        return b == ' ' || b == '\t' || b == '\r';
+    }
+
+    private static int skipSpaces(MappedByteBuffer buffer, int position, int end) {
+        while (position < end && isSpace(buffer.get(position))) {
+            position++;
+        }
+        return position;
+    }
+
+    private static int tokenEnd(MappedByteBuffer buffer, int position, int end) {
+        while (position < end && !isSpace(buffer.get(position))) {
+            position++;
+        }
+        return position;
+    }
+
+    /**
+     * @return true if the token is a whole number that fits in a long.
+     */
+    private static boolean isNumber(MappedByteBuffer buffer, int start, int end) {
+        boolean negative = buffer.get(start) == '-';
+        int first = negative ? start + 1 : start;
+        if (first == end) {
+            return false;
+        }
+        // built up below zero, the way Long.parseLong does, since Long.MIN_VALUE has no positive counterpart
+        long limit = negative ? Long.MIN_VALUE : -Long.MAX_VALUE;
+        long value = 0;
+        for (int i = first; i < end; i++) {
+            int digit = buffer.get(i) - '0';
+            if (digit < 0 || digit > 9 || value < (limit + digit) / 10) {
+                return false;
+            }
+            value = value * 10 - digit;
+        }
+        return true;
+    }
+
+    /**
+     * Reads a token that isNumber() has accepted.
+     */
+    private static long parseLong(MappedByteBuffer buffer, int start, int end) {
+        boolean negative = buffer.get(start) == '-';
+        long value = 0;
+        for (int i = negative ? start + 1 : start; i < end; i++) {
+            value = value * 10 - (buffer.get(i) - '0');
+        }
+        return negative ? value : -value;
+    }
+
+    public long getGames() {
+        return games;
+    }
+
+    public long getTurns() {
+        return turns;
+    }
+
+    /**
+     * @return How many lines were skipped because their mode or seed couldn't be read.
+     */
+    public long getRejectedLines() {
+        return rejectedLines;
+    }
+
+    /**
+     * Plays a script and prints a summary.
+     *
+     * @param args The script file, then the CSV file to write the results to.
+     * @throws IOException If the script can't be read or the results can't be written.
+     */
+    public static void main(String[] args) throws IOException {
+        try (OutputStream out = new FileOutputStream(args[1])) {
+            BatchRunner runner = new BatchRunner(out);
+            long start = System.nanoTime();
+            runner.run(Path.of(args[0]));
+            double seconds = (System.nanoTime() - start) / 1e9;
+            System.out.printf("%,d games, %,d turns in %.2f s (%,.0f games/s), %,d lines rejected%n",
+                    runner.getGames(), runner.getTurns(), seconds, runner.getGames() / seconds, runner.getRejectedLines());
+        }
+    }
+}
@@ -0,0 +1,261 @@
+package treasurehunter;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.LongFunction;
+
+/**
+ * BotDriver Class<br /><br />
+ * Plays bots against many headless games in a tight loop, spread across worker threads,
+ * to load test the rules and to compare policies.<p>
+ * Each thread has its own Policy, made from a seed derived from the run's seed, and plays its share of the games
+ * one after another through a single GameView per game, so a run with the same seed always plays the same games.
+ */
+
+public class BotDriver {
+    // constants
+    private static final int MAX_TURNS = 500;
+    private static final int DEFAULT_GAMES = 1_000_000;
+
+    // instance variables
+    private final LongFunction<Policy> policies;
+    private final int threads;
+    private final long seed;
+    private boolean countEvents;
+    private EventCounter eventCounts;
+    private Analytics analytics;
+
+    /**
+     * @param policies Makes a policy for each worker thread from a seed for its random choices.
+     * @param threads The number of worker threads to spread the games across.
+     * @param seed The seed every game's random numbers are derived from.
+     */
+    public BotDriver(LongFunction<Policy> policies, int threads, long seed) {
+        this.policies = policies;
+        this.threads = threads;
+        this.seed = seed;
+    }
+
+    /**
+     * Counts every event the bots' games publish from their first turn on, at some cost in speed.
+     *
+     * @param countEvents true to count events.
+     */
+    public void setCountEvents(boolean countEvents) {
+        this.countEvents = countEvents;
+    }
+
+    /**
+     * Adds up every event the bots' games publish in the given Analytics, at some cost in speed.
+     *
+     * @param analytics Where the events are added up, or null not to.
+     */
+    public void setAnalytics(Analytics analytics) {
+        this.analytics = analytics;
+    }
+
+    /**
+     * @return The events counted in the last run, or null if events weren't being counted.
+     */
+    public EventCounter getEventCounts() {
+        return eventCounts;
+    }
+
+    /**
+     * Plays the given number of games in one mode.
+     *
+     * @param mode The mode to play in.
+     * @param games The number of games to play.
+     * @return The combined outcome of all the games.
+     */
+    public SimulationResult run(Mode mode, long games) {
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            SplittableRandom root = new SplittableRandom(seed + mode.ordinal());
+            // the policies' seeds come from their own generator, so the games are the ones the Simulator would play
+            SplittableRandom policyRoot = new SplittableRandom(~(seed + mode.ordinal()));
+            List<Future<SimulationResult>> futures = new ArrayList<>();
+            EventCounter[] counters = new EventCounter[threads];
+            for (int i = 0; i < threads; i++) {
+                long share = games / threads + (i < games % threads ? 1 : 0);
+                SplittableRandom random = root.split();
+                Policy policy = policies.apply(policyRoot.nextLong());
+                EventCounter counter = countEvents ? new EventCounter() : null;
+                counters[i] = counter;
+                futures.add(pool.submit(() -> play(policy, mode, share, random, counter)));
+            }
+            SimulationResult total = new SimulationResult(mode);
+            for (Future<SimulationResult> future : futures) {
+                total.merge(future.get());
+            }
+            eventCounts = null;
+            if (countEvents) {
+                eventCounts = new EventCounter();
+                for (EventCounter counter : counters) {
+                    eventCounts.merge(counter);
+                }
+            }
+            return total;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Bot run was interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Bot run failed", e.getCause());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Plays a share of the games on the calling thread.
+     */
+    private SimulationResult play(Policy policy, Mode mode, long games, SplittableRandom random, EventCounter counter) {
+        SimulationResult result = new SimulationResult(mode);
+        for (long i = 0; i < games; i++) {
+            TreasureHunter game = new TreasureHunter("bot", mode, random.nextLong());
+            if (counter != null) {
+                game.getEvents().addSink(counter);
+            }
+            if (analytics != null) {
+                game.getEvents().addSink(new AnalyticsSink(analytics, game));
+            }
+            result.record(game, playGame(policy, game));
+        }
+        return result;
+    }
+
+    /**
+     * Plays a game with a policy until it is won, lost or abandoned, or it runs out of turns.
+     *
+     * @param policy The policy to play with.
+     * @param game A headless game.
+     * @return The number of turns played.
+     */
+    static int playGame(Policy policy, TreasureHunter game) {
+        GameView view = game.getView();
+        policy.startGame(view);
+        int turns = 0;
+        while (turns < MAX_TURNS && !game.hasWon() && !game.isGameOver()) {
+            Policy.Batch batch = policy.nextBatch(view);
+            if (batch != null) {
+                // only whole rounds that fit in the turns left, so the game never plays past its limit
+                int rounds = Math.min(batch.rounds(), (MAX_TURNS - turns) / batch.actions().length);
+                if (rounds > 0) {
+                    int played = game.fastForward(batch.actions(), rounds);
+                    policy.batchPlayed(view, played);
+                    turns += played;
+                    continue;
+                }
+            }
+            Action action = policy.nextAction(view);
+            if (action == Action.EXIT) {
+                break;
+            }
+            String item = null;
+            if (action == Action.BUY || action == Action.SELL) {
+                Item traded = policy.itemToTrade(view, action);
+                if (traded == null) {
+                    // nothing worth trading after all, so the turn passes without a move
+                    turns++;
+                    continue;
+                }
+                item = traded.getName();
+            }
+            game.takeTurn(action, item);
+            turns++;
+        }
+        return turns;
+    }
+
+    /**
+     * Looks up one of the built-in policies by name.
+     *
+     * @param name random, greedy, or script: followed by the moves for a ScriptedPolicy.
+     * @return Makes the policy from a seed.
+     * @throws IllegalArgumentException If there is no such policy.
+     */
+    public static LongFunction<Policy> policy(String name) {
+        if (name.equals("random")) {
+            return RandomPolicy::new;
+        }
+        if (name.equals("greedy")) {
+            return seed -> new GreedyStrategy();
+        }
+        if (name.startsWith("script:")) {
+            String script = name.substring("script:".length());
+            // check the script once up front rather than on every thread
+            new ScriptedPolicy(script);
+            return seed -> new ScriptedPolicy(script);
+        }
+        throw new IllegalArgumentException("No such policy: " + name);
+    }
+
+    /**
+     * Runs a policy in every mode and prints a summary line for each, with how many games and turns it got through.
+     *
+     * @param args Optionally, the policy (random, greedy or script:moves; greedy if not given),
+     *             the number of games to play per mode, and the seed for the run,
+     *             --events to count the events the games publish,
+     *             and --analytics=file to write windowed analytics of the events to a file as CSV,
+     *             in windows of --window=seconds.
+     * @throws IOException If the analytics can't be written.
+     */
+    public static void main(String[] args) throws IOException {
+        String name = "greedy";
+        long games = DEFAULT_GAMES;
+        long seed = System.nanoTime();
+        boolean countEvents = false;
+        String analyticsFile = null;
+        int windowSeconds = Analytics.DEFAULT_WINDOW_SECONDS;
+        List<String> positional = new ArrayList<>();
+        for (String arg : args) {
+            if (arg.equals("--events")) {
+                countEvents = true;
+            } else if (arg.startsWith("--analytics=")) {
+                analyticsFile = arg.substring("--analytics=".length());
+            } else if (arg.startsWith("--window=")) {
+                windowSeconds = Integer.parseInt(arg.substring("--window=".length()));
+            } else {
+                positional.add(arg);
+            }
+        }
+        if (positional.size() > 0) {
+            name = positional.get(0);
+        }
+        if (positional.size() > 1) {
+            games = Long.parseLong(positional.get(1));
+        }
+        if (positional.size() > 2) {
+            seed = Long.parseLong(positional.get(2));
+        }
+        System.out.println("Policy: " + name + "  Seed: " + seed);
+        BotDriver driver = new BotDriver(policy(name), Runtime.getRuntime().availableProcessors(), seed);
+        driver.setCountEvents(countEvents);
+        Analytics analytics = null;
+        if (analyticsFile != null) {
+            analytics = new Analytics(Files.newOutputStream(Path.of(analyticsFile)), windowSeconds);
+            driver.setAnalytics(analytics);
+        }
+        for (Mode mode : Mode.values()) {
+            long start = System.nanoTime();
+            SimulationResult result = driver.run(mode, games);
+            double seconds = (System.nanoTime() - start) / 1e9;
+            System.out.println(result.infoString()
+                    + String.format("  (%,.0f games/s, %,.0f turns/s)", games / seconds, result.getTotalTurns() / seconds));
+            if (countEvents) {
+                System.out.print(driver.getEventCounts().infoString());
+            }
+        }
+        if (analytics != null) {
+            analytics.close();
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package treasurehunter;
+
+import java.io.PrintStream;
+
+/**
+ * ConsoleSink Class<br /><br />
+ * Turns a game's events into the text the player reads, whether at the console or over a GameServer socket.<p>
+ * Most events are printed as soon as they are drained. The ones that end a move are kept instead as the latest news,
+ * which the menu shows above the hunter's status; crossing into a new town prints the old town's news on the way out.
+ * While a fast-forward runs, the events go to its summary instead, which becomes the news once it's over.
+ */
+
+public class ConsoleSink implements EventSink {
+    // constants
+    private static final String TROUBLE = Colors.RED + "You want trouble, stranger!  You got it!\nOof! Umph! Ow!\n";
+
+    // instance variables
+    private final TreasureHunter game;
+    private String news;
+    private boolean leaving;
+    private FastForwardSummary summary;
+
+    /**
+     * @param game The game whose output stream the events are written to.
+     */
+    public ConsoleSink(TreasureHunter game) {
+        this.game = game;
+        news = "";
+    }
+
+    /**
+     * @return The news to show above the status in the menu.
+     */
+    public String getLatestNews() {
+        return news;
+    }
+
+    /**
+     * Starts handing events to a fast-forward's summary instead of printing them.
+     *
+     * @param summary The summary of the fast-forward about to run.
+     */
+    void startFastForward(FastForwardSummary summary) {
+        this.summary = summary;
+    }
+
+    /**
+     * Goes back to printing events, and makes the fast-forward's summary the latest news.
+     *
+     * @param goldAfter The hunter's gold after the fast-forward.
+     */
+    void endFastForward(int goldAfter) {
+        news = summary.infoString(goldAfter);
+        leaving = false;
+        summary = null;
+    }
+
+    public void accept(GameEvent event) {
+        if (summary != null) {
+            summary.accept(event);
+            return;
+        }
+        PrintStream out = game.getOut();
+        String name = game.getHunter().getHunterName();
+        switch (event.type) {
+            case DUG_GOLD:
+                out.println("You dug up " + event.amount + " gold");
+                break;
+            case DUG_DIRT:
+                out.println("You dug but only found dirt");
+                break;
+            case DIG_SPOTS_TAKEN:
+                out.println("Other hunters have already dug up all the gold in this town");
+                break;
+            case ALREADY_DUG:
+                out.println("You already dug gold for in this town");
+                break;
+            case NO_SHOVEL:
+                out.println("You cant dig for gold without a shovel");
+                break;
+            case TREASURE_FOUND:
+                out.println("you found a " + event.treasure.getName() + "!");
+                break;
+            case TREASURE_ALREADY_HELD:
+                out.println("you already have a " + event.treasure.getName() + "!");
+                break;
+            case DUST_FOUND:
+                out.println("you found dust");
+                break;
+            case TOWN_ALREADY_SEARCHED:
+                out.println("town is already searched");
+                break;
+            case NO_TROUBLE:
+                news = "You couldn't find any trouble";
+                break;
+            case BRAWL_WON:
+                news = TROUBLE + "Okay, stranger! You proved yer mettle. Here, take my gold." + Colors.RESET
+                        + "\nYou won the brawl and receive " + Colors.YELLOW + event.amount + " gold.";
+                break;
+            case BRAWL_LOST:
+                news = TROUBLE + "That'll teach you to go lookin' fer trouble in MY town! Now pay up!" + Colors.RESET
+                        + "\nYou lost the brawl and pay " + event.amount + " gold.";
+                break;
+            case SWORD_BRAWL:
+                out.println("the brawler, seeing your sword, realizes he picked a losing fight and gives you his gold");
+                break;
+            case TERRAIN_CROSSED:
+                news = "You used your " + event.terrain.getNeededItem() + " to cross the " + event.terrain.getTerrainName() + ".";
+                leaving = true;
+                break;
+            case ITEM_BROKE:
+                news += "\nUnfortunately, you lost your " + event.item.getName();
+                break;
+            case CANNOT_LEAVE:
+                news = "You can't leave town, " + name + ". You don't have a " + event.terrain.getNeededItem() + ".";
+                break;
+            case TOWN_ENTERED:
+                if (leaving) {
+                    // the old town is going away, so its news is printed before the new town's
+                    out.println(news);
+                    leaving = false;
+                }
+                news = "Welcome to town, " + name + ".";
+                if (event.amount == 1) {
+                    news += "\nIt's pretty rough around here, so watch yourself.";
+                } else {
+                    news += "\nWe're just a sleepy little town with mild mannered folk.";
+                }
+                break;
+            case ITEM_BOUGHT:
+                out.println("Ye' got yerself a " + event.item.getName() + ". Come again soon.");
+                break;
+            case PURCHASE_FAILED:
+                out.println("Hmm, either you don't have enough gold or you've already got one of those!");
+                break;
+            case ITEM_SOLD:
+                out.println("Pleasure doin' business with you.");
+                break;
+            case SALE_FAILED:
+                out.println("Stop stringin' me along!");
+                break;
+            case SWORD_GIFT:
+                out.println("the sword intimidates the shopkeeper and he gives you the item freely");
+                break;
+            case NOT_WANTED:
+                out.println("We don't want none of those.");
+                break;
+            case SHOP_LEFT:
+                news = "You left the shop";
+                break;
+            case TERRAIN_EXPLORED:
+                out.println(event.terrain.infoString());
+                break;
+            case FAREWELL:
+                out.println("Fare thee well, " + name + "!");
+                break;
+            default:
+                out.println("Yikes! That's an invalid option! Try again.");
+                break;
+        }
+    }
+}
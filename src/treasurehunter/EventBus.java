@@ -0,0 +1,119 @@
+package treasurehunter;
+
+import java.util.Arrays;
+
+/**
+ * EventBus Class<br /><br />
+ * A ring of preallocated GameEvents that one game's rules publish into and its sinks read from.<p>
+ * Publishing just fills in the next slot, so the rules never build strings or allocate.
+ * The ring itself is only allocated when the first sink is added, so a game with no sinks,
+ * like the Simulator's, pays for nothing but a check.
+ * The sinks see the events later, when the game drains the bus: before it waits for input and after every turn.
+ * Only the game's own thread publishes and drains. If the ring fills up before a drain,
+ * the publisher drains it first, so no event is ever lost.
+ */
+
+public class EventBus {
+    // constants
+    public static final int DEFAULT_CAPACITY = 64;
+    private static final EventSink[] NO_SINKS = {};
+
+    // instance variables
+    private final int capacity;
+    private GameEvent[] ring;
+    private int mask;
+    private long published;
+    private long consumed;
+    private EventSink[] sinks;
+
+    public EventBus() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * @param capacity The number of events the ring holds; rounded up to a power of two.
+     */
+    public EventBus(int capacity) {
+        this.capacity = Integer.highestOneBit(Math.max(2, capacity - 1)) << 1;
+        sinks = NO_SINKS;
+    }
+
+    /**
+     * Adds a sink that will see every event published from now on.
+     *
+     * @param sink The sink to add.
+     */
+    public void addSink(EventSink sink) {
+        if (ring == null) {
+            ring = new GameEvent[capacity];
+            for (int i = 0; i < capacity; i++) {
+                ring[i] = new GameEvent();
+            }
+            mask = capacity - 1;
+        }
+        sinks = Arrays.copyOf(sinks, sinks.length + 1);
+        sinks[sinks.length - 1] = sink;
+    }
+
+    public boolean hasSinks() {
+        return sinks.length > 0;
+    }
+
+    public void publish(EventType type) {
+        publish(type, 0, null, null, null);
+    }
+
+    public void publish(EventType type, int amount) {
+        publish(type, amount, null, null, null);
+    }
+
+    public void publish(EventType type, Item item) {
+        publish(type, 0, item, null, null);
+    }
+
+    public void publish(EventType type, Treasure treasure) {
+        publish(type, 0, null, treasure, null);
+    }
+
+    public void publish(EventType type, Terrain terrain) {
+        publish(type, 0, terrain.getItem(), null, terrain);
+    }
+
+    /**
+     * Fills in the next slot of the ring.
+     *
+     * @param type What happened.
+     * @param amount The gold involved, if any.
+     * @param item The item involved, or null.
+     * @param treasure The treasure involved, or null.
+     * @param terrain The terrain involved, or null.
+     */
+    public void publish(EventType type, int amount, Item item, Treasure treasure, Terrain terrain) {
+        if (sinks.length == 0) {
+            return;
+        }
+        if (published - consumed == ring.length) {
+            drain();
+        }
+        GameEvent event = ring[(int) published & mask];
+        event.type = type;
+        event.amount = amount;
+        event.item = item;
+        event.treasure = treasure;
+        event.terrain = terrain;
+        published++;
+    }
+
+    /**
+     * Hands every event published since the last drain to each sink in turn.
+     */
+    public void drain() {
+        while (consumed < published) {
+            GameEvent event = ring[(int) consumed & mask];
+            for (EventSink sink : sinks) {
+                sink.accept(event);
+            }
+            consumed++;
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package treasurehunter;
+
+/**
+ * EventCounter Class<br /><br />
+ * A sink for simulations that counts how often each kind of event happens, and how much gold the digs and brawls moved.
+ * Each worker keeps its own counter and they are merged at the end, like SimulationResult.
+ */
+
+public class EventCounter implements EventSink {
+    // instance variables
+    private final long[] counts;
+    private final long[] gold;
+
+    public EventCounter() {
+        counts = new long[EventType.VALUES.length];
+        gold = new long[EventType.VALUES.length];
+    }
+
+    public void accept(GameEvent event) {
+        int type = event.type.ordinal();
+        counts[type]++;
+        if (event.type != EventType.TOWN_ENTERED) {
+            gold[type] += event.amount;
+        }
+    }
+
+    public long getCount(EventType type) {
+        return counts[type.ordinal()];
+    }
+
+    /**
+     * @param type A kind of event that carries gold.
+     * @return The gold carried by every event of that kind.
+     */
+    public long getGold(EventType type) {
+        return gold[type.ordinal()];
+    }
+
+    /**
+     * Adds another counter's counts to this one.
+     *
+     * @param other The counter to add.
+     */
+    public void merge(EventCounter other) {
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] += other.counts[i];
+            gold[i] += other.gold[i];
+        }
+    }
+
+    /**
+     * @return One line per kind of event that happened, with its count and any gold it moved.
+     */
+    public String infoString() {
+        StringBuilder str = new StringBuilder();
+        for (EventType type : EventType.VALUES) {
+            if (counts[type.ordinal()] == 0) {
+                continue;
+            }
+            str.append(String.format("  %-22s %,14d", type, counts[type.ordinal()]));
+            if (gold[type.ordinal()] != 0) {
+                str.append(String.format("  %,14d gold", gold[type.ordinal()]));
+            }
+            str.append('\n');
+        }
+        return str.toString();
+    }
+}
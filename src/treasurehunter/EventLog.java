@@ -0,0 +1,301 @@
+package treasurehunter;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * EventLog Class<br /><br />
+ * An append-only log of every action taken in every logged game, written as fixed size binary records.<p>
+ * A game's start record holds its mode and seed, after one record for each of its settings if it was given
+ * its own Tuning rather than its mode's, and a record naming its Rules by their hash if they aren't the standard ones.
+ * The first game in a log to use a set of rules also writes one record for each of their numbers ahead of the hash,
+ * so a replay can rebuild them. Every later record holds the action, the item traded if any,
+ * and the outcome: the hunter's gold, kit, treasure and dug flag and the town's searched flag afterwards.
+ * Since every random event comes from the game's seeded generator, the seed and the actions are enough to
+ * rebuild the game, and the outcomes let EventReplay check that the rebuilt game matches what really happened.<p>
+ * Records are gathered into a batch in memory and written together (group commit), either when the batch fills up
+ * or when the background committer next runs, so many sessions can log at once for the cost of one write per batch.
+ * While one batch is being written the next one fills up in a second buffer.<p>
+ * A game is given its session id when its start record is written, so sessions that never start don't use one up.
+ * Ids carry on from the highest one already in the file, so they stay unique across restarts.
+ */
+
+public final class EventLog implements AutoCloseable {
+    // constants
+    public static final int RECORD_SIZE = 24;
+    public static final byte START = 1;
+    public static final byte ACTION = 2;
+    public static final byte END = 3;
+    public static final byte TUNING = 4;
+    public static final byte RULES = 5;
+    public static final int FLAG_DYNAMIC_MARKETS = 1;
+    public static final int FLAG_WORLD = 1 << 1;
+    public static final int FLAG_TUNED = 1 << 2;
+    public static final int FLAG_RULES = 1 << 3;
+
+    private static final int DEFAULT_BATCH_RECORDS = 4096;
+    private static final long DEFAULT_COMMIT_MILLIS = 10;
+
+    // instance variables
+    private final FileChannel channel;
+    private final boolean force;
+    private final Object commitLock;
+    private final AtomicLong nextSessionId;
+    private final Set<Long> loggedRules;
+    private final Thread committer;
+    private ByteBuffer filling;
+    private ByteBuffer spare;
+    private volatile boolean closed;
+
+    /**
+     * Opens the log for appending with the default batch size and commit interval, without forcing writes to disk.
+     *
+     * @param path The log file; it is created if it doesn't exist.
+     * @throws IOException If the file can't be opened.
+     */
+    public EventLog(Path path) throws IOException {
+        this(path, DEFAULT_BATCH_RECORDS, DEFAULT_COMMIT_MILLIS, false);
+    }
+
+    /**
+     * Opens the log for appending.
+     *
+     * @param path The log file; it is created if it doesn't exist.
+     * @param batchRecords How many records a batch holds before it must be written.
+     * @param commitMillis How often the background committer writes whatever has been gathered.
+     * @param force true to force every batch to disk before the commit finishes.
+     * @throws IOException If the file can't be opened.
+     */
+    public EventLog(Path path, int batchRecords, long commitMillis, boolean force) throws IOException {
+        // session ids only need to be unique within this log, so carry on from the highest one already in it
+        nextSessionId = new AtomicLong(highestSessionId(path) + 1);
+        loggedRules = new HashSet<>();
+        channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        this.force = force;
+        commitLock = new Object();
+        filling = ByteBuffer.allocateDirect(batchRecords * RECORD_SIZE);
+        spare = ByteBuffer.allocateDirect(batchRecords * RECORD_SIZE);
+        committer = new Thread(() -> commitEvery(commitMillis), "event-log-committer");
+        committer.setDaemon(true);
+        committer.start();
+    }
+
+    /**
+     * Reads through a log for the highest session id in it.
+     *
+     * @param path The log file.
+     * @return The highest session id, or 0 if the file doesn't exist or is empty.
+     * @throws IOException If the file can't be read.
+     */
+    static long highestSessionId(Path path) throws IOException {
+        if (!Files.exists(path)) {
+            return 0;
+        }
+        long highest = 0;
+        try (FileChannel reader = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = reader.size() - reader.size() % RECORD_SIZE;
+            long position = 0;
+            while (position < size) {
+                // a mapping can't be larger than 2GB, so big logs are read a window at a time
+                long window = Math.min(size - position, Integer.MAX_VALUE / RECORD_SIZE * RECORD_SIZE);
+                MappedByteBuffer buffer = reader.map(FileChannel.MapMode.READ_ONLY, position, window);
+                for (int record = 0; record < window; record += RECORD_SIZE) {
+                    highest = Math.max(highest, buffer.getLong(record));
+                }
+                position += window;
+            }
+        }
+        return highest;
+    }
+
+    /**
+     * Records the start of a game and gives it its session id. Must be logged before the game's first action.
+     *
+     * @param game The game that is starting.
+     * @return The game's session id, which hasn't been used in this log before.
+     * @throws IOException If a full batch couldn't be written.
+     */
+    public long start(TreasureHunter game) throws IOException {
+        long sessionId = nextSessionId.getAndIncrement();
+        int flags = 0;
+        if (game.hasDynamicMarkets()) {
+            flags |= FLAG_DYNAMIC_MARKETS;
+        }
+        if (game.getWorld() != null) {
+            flags |= FLAG_WORLD;
+        }
+        Tuning tuning = game.getCustomTuning();
+        if (tuning != null) {
+            flags |= FLAG_TUNED;
+            // one setting per record, numbered in the record's code, so the record size stays the same
+            double[] settings = tuning.getSettings();
+            for (int i = 0; i < settings.length; i++) {
+                append(sessionId, TUNING, i, null, 0, 0, Double.doubleToLongBits(settings[i]));
+            }
+        }
+        Rules rules = game.getRules();
+        if (rules != Rules.standard()) {
+            flags |= FLAG_RULES;
+            // only the first game by these rules writes them out, and it logs their hash under the same lock, so no other
+            // game's hash can be logged before the numbers and hash it relies on; code 0 is the hash, 1 onwards the numbers
+            synchronized (loggedRules) {
+                if (loggedRules.add(rules.getHash())) {
+                    double[] values = rules.getValues();
+                    for (int i = 0; i < values.length; i++) {
+                        append(sessionId, RULES, i + 1, null, 0, 0, Double.doubleToLongBits(values[i]));
+                    }
+                }
+                append(sessionId, RULES, 0, null, 0, 0, rules.getHash());
+            }
+        }
+        append(sessionId, START, game.getMode().ordinal(), null, flags, 0, game.getSeed());
+        return sessionId;
+    }
+
+    /**
+     * Records an action and what the game looked like afterwards.
+     *
+     * @param sessionId The game's session id.
+     * @param action The action that was taken.
+     * @param item The item bought or sold, or null.
+     * @param game The game the action was taken in.
+     * @throws IOException If a full batch couldn't be written.
+     */
+    public void action(long sessionId, Action action, Item item, TreasureHunter game) throws IOException {
+        append(sessionId, ACTION, action.ordinal(), item, 0, game.getHunter().getGold(), outcome(game));
+    }
+
+    /**
+     * Records the end of a game.
+     *
+     * @param sessionId The game's session id.
+     * @param game The game that ended.
+     * @throws IOException If a full batch couldn't be written.
+     */
+    public void end(long sessionId, TreasureHunter game) throws IOException {
+        append(sessionId, END, 0, null, 0, game.getHunter().getGold(), outcome(game));
+    }
+
+    /**
+     * Packs the parts of a game that actions change into one number: the kit in bits 0-15, the treasure in
+     * bits 16-23, the dug flag in bit 24 and the town's searched flag in bit 25.
+     *
+     * @param game The game to describe.
+     * @return The packed outcome.
+     */
+    public static long outcome(TreasureHunter game) {
+        long outcome = game.getHunter().getKitBits() | ((long) game.getTreasureBits() << 16);
+        if (game.getHunter().isDug()) {
+            outcome |= 1L << 24;
+        }
+        if (game.getCurrentTown().isTownSearched()) {
+            outcome |= 1L << 25;
+        }
+        return outcome;
+    }
+
+    /**
+     * Adds a record to the batch being filled, writing the batch first if it is full.
+     */
+    private void append(long sessionId, byte type, int code, Item item, int flags, int gold, long payload) throws IOException {
+        if (closed) {
+            throw new IOException("Event log is closed");
+        }
+        while (true) {
+            synchronized (this) {
+                if (filling.remaining() >= RECORD_SIZE) {
+                    filling.putLong(sessionId);
+                    filling.put(type);
+                    filling.put((byte) code);
+                    filling.put((byte) (item == null ? 0 : item.ordinal() + 1));
+                    filling.put((byte) flags);
+                    filling.putInt(gold);
+                    filling.putLong(payload);
+                    return;
+                }
+            }
+            commit();
+        }
+    }
+
+    /**
+     * Writes every record gathered so far. Records appended while the write is under way go into the other buffer.
+     *
+     * @throws IOException If the batch can't be written.
+     */
+    public void commit() throws IOException {
+        synchronized (commitLock) {
+            ByteBuffer full;
+            synchronized (this) {
+                if (filling.position() == 0) {
+                    return;
+                }
+                full = filling;
+                filling = spare;
+            }
+            try {
+                full.flip();
+                while (full.hasRemaining()) {
+                    channel.write(full);
+                }
+                if (force) {
+                    channel.force(false);
+                }
+            } finally {
+                // even a batch that failed to be written is given back, so the two buffers never become one
+                full.clear();
+                synchronized (this) {
+                    spare = full;
+                }
+            }
+        }
+    }
+
+    private void commitEvery(long commitMillis) {
+        while (!closed) {
+            // parked rather than asleep, since close() wakes it and interrupting a write would close the channel
+            LockSupport.parkNanos(commitMillis * 1_000_000);
+            try {
+                commit();
+            } catch (IOException e) {
+                // the next append will find the same problem and report it to its caller
+            }
+        }
+    }
+
+    /**
+     * Stops the committer, waiting for any write it has under way, then writes what's left and closes the file.
+     *
+     * @throws IOException If the last batch can't be written.
+     */
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        LockSupport.unpark(committer);
+        boolean interrupted = false;
+        while (committer.isAlive()) {
+            try {
+                committer.join();
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        try {
+            commit();
+            channel.close();
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
@@ -0,0 +1,195 @@
+package treasurehunter;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * EventReplay Class<br /><br />
+ * Rebuilds games from an EventLog by replaying each session's actions against a headless game with the logged seed.
+ * After every action the rebuilt game's outcome is checked against the logged one, so a disputed game can be audited,
+ * and the games that hadn't ended when the log stopped are handed back for recovery.<p>
+ * Each game is replayed by the Rules it was logged with, rebuilt from the log, whatever rules are active for the replay;
+ * a game logged without any is replayed by the standard rules.
+ * Games played in a World are skipped, since what happens in them also depends on the other hunters in the world,
+ * as are tuned games whose settings are missing from the log, and games whose rules are missing or don't
+ * match the hash they were logged with.
+ */
+
+public class EventReplay {
+    // instance variables
+    private final Map<Long, TreasureHunter> games;
+    private final Map<Long, TreasureHunter> finished;
+    private final Map<Long, double[]> tunings;
+    private final Map<Long, double[]> ruleValues;
+    private final Map<Long, Long> ruleHashes;
+    private final Map<Long, Rules> rulesByHash;
+    private long events;
+    private long mismatches;
+    private long skipped;
+
+    public EventReplay() {
+        games = new HashMap<>();
+        finished = new HashMap<>();
+        tunings = new HashMap<>();
+        ruleValues = new HashMap<>();
+        ruleHashes = new HashMap<>();
+        rulesByHash = new HashMap<>();
+    }
+
+    /**
+     * Replays every record in the log file.
+     *
+     * @param path The log file.
+     * @throws IOException If the file can't be read.
+     */
+    public void replay(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size() - channel.size() % EventLog.RECORD_SIZE;
+            long position = 0;
+            while (position < size) {
+                // a mapping can't be larger than 2GB, so big logs are replayed a window at a time
+                long window = Math.min(size - position, Integer.MAX_VALUE / EventLog.RECORD_SIZE * EventLog.RECORD_SIZE);
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, position, window);
+                while (buffer.hasRemaining()) {
+                    apply(buffer.getLong(), buffer.get(), buffer.get(), buffer.get(), buffer.get(), buffer.getInt(), buffer.getLong());
+                }
+                position += window;
+            }
+        }
+    }
+
+    /**
+     * Applies one record to its session's game.
+     */
+    private void apply(long sessionId, byte type, byte code, byte item, byte flags, int gold, long payload) {
+        events++;
+        if (type == EventLog.TUNING) {
+            // a tuned game's settings come just before its start record
+            tunings.computeIfAbsent(sessionId, id -> new double[Tuning.SETTINGS])[code] = Double.longBitsToDouble(payload);
+            return;
+        }
+        if (type == EventLog.RULES) {
+            // a game's rules come before its start record: their numbers if they're new to the log, then their hash;
+            // they're rebuilt as soon as the hash arrives, since other games by them may start before this one does
+            int index = code & 0xFF;
+            if (index == 0) {
+                ruleHashes.put(sessionId, payload);
+                double[] values = ruleValues.remove(sessionId);
+                if (values != null) {
+                    rebuildRules(payload, values);
+                }
+            } else {
+                ruleValues.computeIfAbsent(sessionId, id -> new double[Rules.VALUES])[index - 1] = Double.longBitsToDouble(payload);
+            }
+            return;
+        }
+        if (type == EventLog.START) {
+            double[] settings = tunings.remove(sessionId);
+            Rules rules = Rules.standard();
+            if ((flags & EventLog.FLAG_RULES) != 0) {
+                Long hash = ruleHashes.remove(sessionId);
+                rules = (hash == null) ? null : rulesByHash.get(hash);
+            }
+            if ((flags & EventLog.FLAG_WORLD) != 0 || ((flags & EventLog.FLAG_TUNED) != 0 && settings == null)
+                    || rules == null) {
+                skipped++;
+                return;
+            }
+            TreasureHunter game = new TreasureHunter((InputStream) null, null, payload);
+            game.setRules(rules);
+            game.setDynamicMarkets((flags & EventLog.FLAG_DYNAMIC_MARKETS) != 0);
+            if ((flags & EventLog.FLAG_TUNED) != 0) {
+                game.setTuning(Tuning.of(settings));
+            }
+            game.startHeadless("replay", Mode.values()[code]);
+            games.put(sessionId, game);
+            return;
+        }
+        TreasureHunter game = games.get(sessionId);
+        if (game == null) {
+            // the session's start record is missing or it was played in a world
+            return;
+        }
+        if (type == EventLog.ACTION) {
+            String itemName = (item == 0) ? null : Item.VALUES[item - 1].getName();
+            game.takeTurn(Action.values()[code], itemName);
+        }
+        if (game.getHunter().getGold() != gold || EventLog.outcome(game) != payload) {
+            mismatches++;
+        }
+        if (type == EventLog.END) {
+            games.remove(sessionId);
+            finished.put(sessionId, game);
+        }
+    }
+
+    /**
+     * Rebuilds the rules a game's records hold the numbers of, so every game logged with their hash can use them.
+     * Numbers that no rules could have, or that don't match the hash, are dropped.
+     */
+    private void rebuildRules(long hash, double[] values) {
+        try {
+            Rules rules = Rules.of(values);
+            if (rules.getHash() == hash) {
+                rulesByHash.put(hash, rules);
+            }
+        } catch (IllegalArgumentException e) {
+            // numbers no rules could have, so the games by them can't be replayed
+        }
+    }
+
+    /**
+     * @return The games that were still going when the log ended, by session id.
+     */
+    public Map<Long, TreasureHunter> getUnfinishedGames() {
+        return games;
+    }
+
+    /**
+     * @return The games that ended, by session id.
+     */
+    public Map<Long, TreasureHunter> getFinishedGames() {
+        return finished;
+    }
+
+    public long getEvents() {
+        return events;
+    }
+
+    /**
+     * @return How many records had an outcome that the replayed game didn't match.
+     */
+    public long getMismatches() {
+        return mismatches;
+    }
+
+    /**
+     * @return How many sessions were skipped because they were played in a world, or their settings or rules were
+     *         missing or didn't match.
+     */
+    public long getSkipped() {
+        return skipped;
+    }
+
+    /**
+     * Replays a log and prints a summary.
+     *
+     * @param args The log file.
+     * @throws IOException If the log can't be read.
+     */
+    public static void main(String[] args) throws IOException {
+        EventReplay replay = new EventReplay();
+        long start = System.nanoTime();
+        replay.replay(Path.of(args[0]));
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf("%,d events in %.2f s (%,.0f events/s)%n", replay.getEvents(), seconds, replay.getEvents() / seconds);
+        System.out.printf("%,d finished games, %,d unfinished, %,d skipped, %,d mismatched events%n",
+                replay.getFinishedGames().size(), replay.getUnfinishedGames().size(), replay.getSkipped(), replay.getMismatches());
+    }
+}
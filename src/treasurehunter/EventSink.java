@@ -0,0 +1,14 @@
+package treasurehunter;
+
+/**
+ * An EventSink is handed the events a game publishes when its EventBus is drained,
+ * in the order they were published.
+ */
+
+public interface EventSink {
+
+    /**
+     * @param event The event; only valid until this method returns.
+     */
+    void accept(GameEvent event);
+}
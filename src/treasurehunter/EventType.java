@@ -0,0 +1,51 @@
+package treasurehunter;
+
+/**
+ * The EventType enum lists everything the rules can report back about a hunter's move.<p>
+ * The game itself never prints; it publishes one of these on its EventBus, and the sinks decide what to do with it.
+ */
+
+public enum EventType {
+    // digging; DUG_GOLD carries the gold dug up
+    DUG_GOLD,
+    DUG_DIRT,
+    DIG_SPOTS_TAKEN,
+    ALREADY_DUG,
+    NO_SHOVEL,
+
+    // hunting; TREASURE_FOUND and TREASURE_ALREADY_HELD carry the treasure
+    TREASURE_FOUND,
+    TREASURE_ALREADY_HELD,
+    DUST_FOUND,
+    TOWN_ALREADY_SEARCHED,
+
+    // brawling; the brawls carry the gold won or lost
+    NO_TROUBLE,
+    BRAWL_WON,
+    BRAWL_LOST,
+    SWORD_BRAWL,
+
+    // moving; TOWN_ENTERED carries 1 for a tough town and the new town's terrain, the others carry the terrain and its item
+    TERRAIN_CROSSED,
+    ITEM_BROKE,
+    CANNOT_LEAVE,
+    TOWN_ENTERED,
+
+    // trading; the trades carry the item, and ITEM_BOUGHT and ITEM_SOLD the gold paid
+    ITEM_BOUGHT,
+    PURCHASE_FAILED,
+    ITEM_SOLD,
+    SALE_FAILED,
+    SWORD_GIFT,
+    NOT_WANTED,
+    SHOP_LEFT,
+
+    // the rest of the menu; TERRAIN_EXPLORED carries the terrain
+    TERRAIN_EXPLORED,
+    FAREWELL,
+    INVALID_OPTION;
+
+    // constants
+    /** Every entry in ordinal order; values() copies the array on every call. */
+    static final EventType[] VALUES = values();
+}
@@ -0,0 +1,115 @@
+package treasurehunter;
+
+/**
+ * FastForwardSummary Class<br /><br />
+ * Adds up what happened over a fast-forward, so the player reads one summary instead of a screen for every turn.<p>
+ * While a fast-forward runs, the game's ConsoleSink hands its events here rather than printing them.
+ */
+
+public class FastForwardSummary implements EventSink {
+    // instance variables
+    private final int goldBefore;
+    private int turns;
+    private int towns;
+    private int digs;
+    private int dugGold;
+    private int brawlsWon;
+    private int goldWon;
+    private int brawlsLost;
+    private int goldLost;
+    private final StringBuilder treasures;
+    private final StringBuilder broken;
+    private Terrain blockedBy;
+
+    /**
+     * @param goldBefore The hunter's gold before the first turn.
+     */
+    public FastForwardSummary(int goldBefore) {
+        this.goldBefore = goldBefore;
+        treasures = new StringBuilder();
+        broken = new StringBuilder();
+    }
+
+    public void accept(GameEvent event) {
+        switch (event.type) {
+            case DUG_GOLD:
+                digs++;
+                dugGold += event.amount;
+                break;
+            case BRAWL_WON:
+            case SWORD_BRAWL:
+                brawlsWon++;
+                goldWon += event.amount;
+                break;
+            case BRAWL_LOST:
+                brawlsLost++;
+                goldLost += event.amount;
+                break;
+            case TOWN_ENTERED:
+                towns++;
+                break;
+            case TREASURE_FOUND:
+                append(treasures, event.treasure.getName());
+                break;
+            case ITEM_BROKE:
+                append(broken, event.item.getName());
+                break;
+            case CANNOT_LEAVE:
+                blockedBy = event.terrain;
+                break;
+            default:
+                // the rest are routine, or only matter to the turn they happened on
+                break;
+        }
+    }
+
+    /**
+     * Counts one more turn played.
+     */
+    void turnPlayed() {
+        turns++;
+    }
+
+    public int getTurns() {
+        return turns;
+    }
+
+    /**
+     * @return true if the fast-forward was stopped by a town the hunter couldn't leave.
+     */
+    public boolean isBlocked() {
+        return blockedBy != null;
+    }
+
+    /**
+     * @param goldAfter The hunter's gold after the last turn.
+     * @return The summary, a few lines long.
+     */
+    public String infoString(int goldAfter) {
+        String str = "Fast-forwarded " + turns + " turns through " + towns + " new towns.";
+        if (digs > 0) {
+            str += "\nDug up " + dugGold + " gold in " + digs + " digs.";
+        }
+        if (brawlsWon > 0 || brawlsLost > 0) {
+            str += "\nWon " + brawlsWon + " brawls for " + goldWon + " gold, lost " + brawlsLost + " for " + goldLost + " gold.";
+        }
+        if (treasures.length() > 0) {
+            str += "\nFound: " + treasures + ".";
+        }
+        if (broken.length() > 0) {
+            str += "\nLost your: " + broken + ".";
+        }
+        str += "\nGold: " + goldBefore + " -> " + goldAfter + ".";
+        if (blockedBy != null) {
+            str += "\nStopped: you don't have a " + blockedBy.getNeededItem() + " to cross the " + blockedBy.getTerrainName() + ".";
+        }
+        return str;
+    }
+
+    private static void append(StringBuilder list, String name) {
+        if (list.length() > 0) {
+            list.append(", ");
+        }
+        list.append(name);
+    }
+}
@@ -0,0 +1,430 @@
+package treasurehunter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * GameBatch Class<br /><br />
+ * Holds a large number of headless games of one mode as parallel arrays of primitives, one slot per game,
+ * and plays them all with the GreedyStrategy's rules, one turn at a time.<p>
+ * A TreasureHunter is a graph of objects (hunter, kit, town, shop, terrain and their links back to the game),
+ * so a simulation of millions of games spends its time chasing pointers and collecting garbage. Here a game is
+ * nothing but its slot: gold, kit and treasure bits, the terrain and treasure of its town, a few flags,
+ * its turn count and the state of its random number generator. That is 19 bytes a game, so ten million games
+ * fit in under 200 MB, and a turn is a pass of plain indexed loops that allocates nothing and calls nothing virtual.<p>
+ * Each slot's generator is a copy of SplittableRandom's own, so a game seeded the same way draws the same numbers
+ * and plays out exactly as it would as a TreasureHunter; simulate() splits its seeds the same way the Simulator
+ * does, so the two give the same results. Games in a batch don't report to Metrics, and they are played in
+ * standalone towns with fixed prices.
+ */
+
+public class GameBatch {
+    // constants
+    private static final int MAX_TURNS = 500;
+    private static final int TREASURES_TO_WIN = 3;
+    /** Games are played to the end a block at a time, so a block's slots stay in the cache for every turn it takes. */
+    private static final int BLOCK = 4096;
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+    private static final double DOUBLE_UNIT = 0x1.0p-53;
+    private static final byte SEARCHED = 1;
+    private static final byte DUG = 2;
+    private static final byte TOUGH = 4;
+    private static final byte SHOVEL = (byte) (1 << Item.SHOVEL.ordinal());
+    private static final int BYTES_PER_GAME = Long.BYTES + Integer.BYTES + Short.BYTES + 5;
+
+    // instance variables
+    private final Mode mode;
+    private final int size;
+    private final long[] rng;
+    private final int[] gold;
+    private final short[] turns;
+    private final byte[] kit;
+    private final byte[] treasure;
+    private final byte[] terrain;
+    private final byte[] townTreasure;
+    private final byte[] flags;
+    private final TerrainCatalogue catalogue;
+    private final byte[] crossingItem;
+    private final int[] crossingPrice;
+    private final int kitCapacity;
+    private final int startingGold;
+    private final boolean fullKit;
+    private final int shovelPrice;
+    private final double digOdds;
+    private final int digGold;
+    private final int brawlGold;
+    private final boolean sword;
+    private final int swordGold;
+    private final double toughness;
+    private final double toughTownOdds;
+    private final double quietTownOdds;
+    private final double breakChance;
+
+    /**
+     * @param mode The mode every game in the batch is played in.
+     * @param size How many games the batch holds.
+     * @param tuning The settings to play with, or null for the mode's usual ones.
+     *               The rest of the rules are the active Rules.
+     */
+    public GameBatch(Mode mode, int size, Tuning tuning) {
+        this.mode = mode;
+        this.size = size;
+        rng = new long[size];
+        gold = new int[size];
+        turns = new short[size];
+        kit = new byte[size];
+        treasure = new byte[size];
+        terrain = new byte[size];
+        townTreasure = new byte[size];
+        flags = new byte[size];
+
+        Rules rules = Rules.get();
+        catalogue = TerrainCatalogue.get();
+        crossingItem = new byte[catalogue.size()];
+        crossingPrice = new int[catalogue.size()];
+        for (int i = 0; i < catalogue.size(); i++) {
+            Item item = catalogue.get(i).getItem();
+            crossingItem[i] = (byte) item.ordinal();
+            crossingPrice[i] = rules.getPrice(item);
+        }
+
+        ModeRules modeRules = rules.forMode(mode);
+        kitCapacity = modeRules.getKitSize();
+        startingGold = modeRules.getStartingGold();
+        fullKit = modeRules.isFullKit();
+        shovelPrice = rules.getPrice(Item.SHOVEL);
+        digOdds = modeRules.getDigOdds();
+        digGold = modeRules.getDigGold();
+        brawlGold = modeRules.getBrawlGold();
+        sword = modeRules.hasSword();
+        swordGold = modeRules.getSwordGold();
+        if (tuning == null) {
+            tuning = modeRules.getTuning();
+        }
+        toughness = tuning.getToughness();
+        toughTownOdds = tuning.getToughTownOdds();
+        quietTownOdds = tuning.getQuietTownOdds();
+        breakChance = tuning.getBreakChance();
+    }
+
+    /**
+     * Starts a range of games in their first towns, seeding each one with the next number from the generator,
+     * the way the Simulator seeds the games it plays one after another.
+     *
+     * @param from The first game to start.
+     * @param to One past the last game to start.
+     * @param seeds Where each game's seed is drawn from.
+     */
+    public void start(int from, int to, SplittableRandom seeds) {
+        byte startingKit = 0;
+        if (fullKit) {
+            for (Item item : new Item[] {Item.WATER, Item.ROPE, Item.MACHETE, Item.HORSE, Item.BOAT, Item.BOOT}) {
+                startingKit |= (byte) (1 << item.ordinal());
+            }
+        }
+        for (int i = from; i < to; i++) {
+            rng[i] = seeds.nextLong();
+            gold[i] = startingGold;
+            turns[i] = 0;
+            kit[i] = startingKit;
+            treasure[i] = 0;
+            flags[i] = 0;
+            enterTown(i);
+        }
+    }
+
+    /**
+     * Plays one turn of every game in the range that is still going.
+     *
+     * @param from The first game.
+     * @param to One past the last game.
+     * @return How many of the games are still going after the turn.
+     */
+    public int step(int from, int to) {
+        int playing = 0;
+        for (int i = from; i < to; i++) {
+            if (isPlaying(i)) {
+                playTurn(i);
+                if (isPlaying(i)) {
+                    playing++;
+                }
+            }
+        }
+        return playing;
+    }
+
+    /**
+     * Plays every game in the range to the end, a block of games at a time.
+     *
+     * @param from The first game.
+     * @param to One past the last game.
+     */
+    public void run(int from, int to) {
+        for (int block = from; block < to; block += BLOCK) {
+            int end = Math.min(to, block + BLOCK);
+            while (step(block, end) > 0) {
+                // every turn of the block is played while its slots are still in the cache
+            }
+        }
+    }
+
+    /**
+     * Adds the outcome of a range of finished games to a result.
+     *
+     * @param from The first game.
+     * @param to One past the last game.
+     * @param result The result to add them to.
+     */
+    public void tally(int from, int to, SimulationResult result) {
+        for (int i = from; i < to; i++) {
+            result.record(hasWon(i), isGameOver(i), turns[i]);
+        }
+    }
+
+    /**
+     * Plays one turn of a game, choosing its action the way the GreedyStrategy does.
+     */
+    private void playTurn(int i) {
+        turns[i]++;
+        int neededItem = crossingItem[terrain[i]];
+        if ((flags[i] & SEARCHED) == 0) {
+            hunt(i);
+        } else if ((kit[i] & SHOVEL) != 0 && (flags[i] & DUG) == 0) {
+            dig(i);
+        } else if ((kit[i] & SHOVEL) == 0 && hasRoomInKit(i) && gold[i] > shovelPrice) {
+            buy(i, Item.SHOVEL.ordinal(), shovelPrice);
+        } else if ((kit[i] & (1 << neededItem)) != 0) {
+            move(i, neededItem);
+        } else if (gold[i] > crossingPrice[terrain[i]]) {
+            buy(i, neededItem, crossingPrice[terrain[i]]);
+        } else {
+            lookForTrouble(i);
+        }
+    }
+
+    private void hunt(int i) {
+        flags[i] |= SEARCHED;
+        if (townTreasure[i] != Treasure.DUST.ordinal()) {
+            treasure[i] |= (byte) (1 << townTreasure[i]);
+        }
+    }
+
+    private void dig(int i) {
+        double rnd = nextDouble(i);
+        int found = nextInt(i, digGold) + 1;
+        if (rnd < digOdds) {
+            gold[i] += found;
+            flags[i] |= DUG;
+        }
+    }
+
+    /**
+     * Buys an item, or with a sword (that is, with any treasure at all) takes it for nothing.
+     */
+    private void buy(int i, int item, int price) {
+        if (!hasRoomInKit(i) || (kit[i] & (1 << item)) != 0) {
+            return;
+        }
+        kit[i] |= (byte) (1 << item);
+        if (treasure[i] == 0 || !sword) {
+            gold[i] -= price;
+        }
+    }
+
+    private void move(int i, int neededItem) {
+        if (nextDouble(i) < breakChance) {
+            kit[i] &= (byte) ~(1 << neededItem);
+        }
+        flags[i] &= ~DUG;
+        enterTown(i);
+    }
+
+    private void lookForTrouble(int i) {
+        if (treasure[i] != 0 && sword) {
+            // a hunter holding a treasure has a sword, and nobody wins a brawl against a sword
+            gold[i] += nextInt(i, swordGold) + 1;
+            return;
+        }
+        double noTroubleChance = ((flags[i] & TOUGH) != 0) ? toughTownOdds : quietTownOdds;
+        if (nextDouble(i) > noTroubleChance) {
+            return;
+        }
+        int goldDiff = nextInt(i, brawlGold) + 1;
+        if (nextDouble(i) > noTroubleChance) {
+            gold[i] += goldDiff;
+        } else {
+            gold[i] = Math.max(0, gold[i] - goldDiff);
+        }
+    }
+
+    /**
+     * Builds a new town in the game's slot with the same draws, in the same order, as a Town.
+     */
+    private void enterTown(int i) {
+        terrain[i] = (byte) catalogue.pickIndex(nextDouble(i));
+        if (nextDouble(i) < toughness) {
+            flags[i] = (byte) ((flags[i] | TOUGH) & ~SEARCHED);
+        } else {
+            flags[i] = (byte) (flags[i] & ~(TOUGH | SEARCHED));
+        }
+        townTreasure[i] = (byte) Treasure.pickIndex(nextDouble(i));
+    }
+
+    private boolean hasRoomInKit(int i) {
+        // the byte is widened without its sign, so the sword's bit counts as one item like the rest
+        return Integer.bitCount(kit[i] & 0xFF) < kitCapacity;
+    }
+
+    private double nextDouble(int i) {
+        return (mix64(nextSeed(i)) >>> 11) * DOUBLE_UNIT;
+    }
+
+    /**
+     * The same bounded draw as SplittableRandom.nextInt(bound), for bounds that aren't powers of two.
+     */
+    private int nextInt(int i, int bound) {
+        int m = bound - 1;
+        int r = mix32(nextSeed(i));
+        for (int u = r >>> 1; u + m - (r = u % bound) < 0; u = mix32(nextSeed(i)) >>> 1) {
+            // an over-represented number is drawn again
+        }
+        return r;
+    }
+
+    private long nextSeed(int i) {
+        return rng[i] += GOLDEN_GAMMA;
+    }
+
+    private static long mix64(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    private static int mix32(long z) {
+        z = (z ^ (z >>> 33)) * 0x62A9D9ED799705F5L;
+        return (int) (((z ^ (z >>> 28)) * 0xCB24D0A5C88C35B3L) >>> 32);
+    }
+
+    public boolean isPlaying(int i) {
+        return turns[i] < MAX_TURNS && !hasWon(i) && gold[i] > 0;
+    }
+
+    public boolean hasWon(int i) {
+        return Integer.bitCount(treasure[i]) >= TREASURES_TO_WIN;
+    }
+
+    public boolean isGameOver(int i) {
+        return gold[i] <= 0;
+    }
+
+    public int getGold(int i) {
+        return gold[i];
+    }
+
+    public int getTurns(int i) {
+        return turns[i];
+    }
+
+    /**
+     * @return The game's kit as bits, where bit n is set if the Item with ordinal n is in it.
+     */
+    public int getKitBits(int i) {
+        return kit[i] & 0xFF;
+    }
+
+    /**
+     * @return The game's treasure as bits, where bit n is set if the Treasure with ordinal n has been found.
+     */
+    public int getTreasureBits(int i) {
+        return treasure[i];
+    }
+
+    public Terrain getTerrain(int i) {
+        return catalogue.get(terrain[i]);
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public Mode getMode() {
+        return mode;
+    }
+
+    /**
+     * @return How many bytes of arrays each game in a batch takes.
+     */
+    public static int bytesPerGame() {
+        return BYTES_PER_GAME;
+    }
+
+    /**
+     * Plays games in one batch, splitting them across threads and seeding them exactly as the Simulator does,
+     * so the result is the same as the Simulator's with the GreedyStrategy, the same seed and the same number of threads.
+     *
+     * @param mode The mode to play in.
+     * @param games The number of games to play.
+     * @param seed The seed every game's random numbers are derived from.
+     * @param threads The number of threads to play on.
+     * @return The combined outcome of all the games.
+     */
+    public static SimulationResult simulate(Mode mode, int games, long seed, int threads) {
+        GameBatch batch = new GameBatch(mode, games, null);
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            SplittableRandom root = new SplittableRandom(seed + mode.ordinal());
+            List<Future<SimulationResult>> futures = new ArrayList<>();
+            int from = 0;
+            for (int t = 0; t < threads; t++) {
+                int share = games / threads + (t < games % threads ? 1 : 0);
+                int start = from;
+                int end = from + share;
+                SplittableRandom seeds = root.split();
+                futures.add(pool.submit(() -> {
+                    batch.start(start, end, seeds);
+                    batch.run(start, end);
+                    SimulationResult result = new SimulationResult(mode);
+                    batch.tally(start, end, result);
+                    return result;
+                }));
+                from = end;
+            }
+            SimulationResult total = new SimulationResult(mode);
+            for (Future<SimulationResult> future : futures) {
+                total.merge(future.get());
+            }
+            return total;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Simulation was interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Simulation failed", e.getCause());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Plays a batch of games in every mode and prints a summary line for each, in the Simulator's format.
+     *
+     * @param args Optionally, the number of games per mode (ten million unless given) followed by the seed for the run.
+     */
+    public static void main(String[] args) {
+        int games = args.length > 0 ? Integer.parseInt(args[0]) : 10_000_000;
+        long seed = args.length > 1 ? Long.parseLong(args[1]) : System.nanoTime();
+        System.out.println("Seed: " + seed);
+        System.out.printf("%,d games in %,d MB of arrays%n", games, (long) games * BYTES_PER_GAME >> 20);
+        for (Mode mode : Mode.values()) {
+            long start = System.nanoTime();
+            SimulationResult result = simulate(mode, games, seed, Runtime.getRuntime().availableProcessors());
+            double seconds = (System.nanoTime() - start) / 1e9;
+            System.out.println(result.infoString() + String.format("  (%,.0f games/s)", games / seconds));
+        }
+    }
+}
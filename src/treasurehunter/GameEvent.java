@@ -0,0 +1,50 @@
+package treasurehunter;
+
+/**
+ * GameEvent Class<br /><br />
+ * One thing the rules reported, as it sits in a slot of an EventBus.<p>
+ * The bus allocates its events once and fills them in again as it goes round,
+ * so a sink must copy anything it wants to keep before it returns.
+ */
+
+public final class GameEvent {
+    // instance variables
+    EventType type;
+    int amount;
+    Item item;
+    Treasure treasure;
+    Terrain terrain;
+
+    public EventType getType() {
+        return type;
+    }
+
+    /**
+     * @return The gold the event was about (for a trade, the gold that changed hands),
+     *         or for TOWN_ENTERED, 1 if the town is tough.
+     */
+    public int getAmount() {
+        return amount;
+    }
+
+    /**
+     * @return The item the event was about, or null.
+     */
+    public Item getItem() {
+        return item;
+    }
+
+    /**
+     * @return The treasure the event was about, or null.
+     */
+    public Treasure getTreasure() {
+        return treasure;
+    }
+
+    /**
+     * @return The terrain the event was about, or null.
+     */
+    public Terrain getTerrain() {
+        return terrain;
+    }
+}
@@ -0,0 +1,162 @@
+package treasurehunter;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.management.JMException;
+
+/**
+ * GameServer Class<br /><br />
+ * Hosts many games of Treasure Hunter at once over a local TCP socket.<p>
+ * Every connection is a session with its own TreasureHunter, Hunter and Town, played on its own virtual thread,
+ * so a session blocked waiting for its player's next move costs next to nothing.
+ * With Analytics, every session's events are added up into windowed reports of the server's economy.
+ */
+
+public class GameServer {
+    // constants
+    public static final int DEFAULT_PORT = 4040;
+    private static final int BACKLOG = 1024;
+
+    // instance variables
+    private final int port;
+    private final boolean dynamicMarkets;
+    private final World world;
+    private final SnapshotStore store;
+    private final EventLog log;
+    private final Analytics analytics;
+    private final AtomicInteger activeSessions;
+
+    /**
+     * @param port The port to listen on.
+     * @param dynamicMarkets true if shop prices should follow supply and demand.
+     * @param world The world every session plays in, or null for each session to have its own random towns.
+     * @param store Where sessions are saved every turn so they survive a restart, or null not to save them.
+     * @param log Where every session's actions are logged for replay, or null not to log them.
+     * @param analytics Where every session's events are added up, or null not to add them up.
+     */
+    public GameServer(int port, boolean dynamicMarkets, World world, SnapshotStore store, EventLog log,
+                      Analytics analytics) {
+        this.port = port;
+        this.dynamicMarkets = dynamicMarkets;
+        this.world = world;
+        this.store = store;
+        this.log = log;
+        this.analytics = analytics;
+        activeSessions = new AtomicInteger();
+    }
+
+    /**
+     * Accepts connections until the server is stopped, starting a session for each one.
+     *
+     * @throws IOException If the server socket can't be opened.
+     */
+    public void serve() throws IOException {
+        try (ServerSocket serverSocket = new ServerSocket(port, BACKLOG, InetAddress.getLoopbackAddress());
+             ExecutorService sessions = Executors.newVirtualThreadPerTaskExecutor()) {
+            System.out.println("Treasure Hunter server listening on port " + port);
+            while (!serverSocket.isClosed()) {
+                Socket socket = serverSocket.accept();
+                sessions.submit(() -> runSession(socket));
+            }
+        }
+    }
+
+    /**
+     * Plays one game with the player on the other end of the socket.
+     *
+     * @param socket The player's connection.
+     */
+    private void runSession(Socket socket) {
+        activeSessions.incrementAndGet();
+        try (socket) {
+            socket.setTcpNoDelay(true);
+            // the game buffers each turn's output and writes it to the socket in one go
+            TreasureHunter game = new TreasureHunter(socket.getInputStream(), socket.getOutputStream());
+            game.setDynamicMarkets(dynamicMarkets);
+            if (analytics != null) {
+                game.getEvents().addSink(new AnalyticsSink(analytics, game));
+            }
+            game.setWorld(world);
+            game.setSnapshotStore(store);
+            if (log != null) {
+                game.setEventLog(log);
+            }
+            game.play();
+        } catch (NoSuchElementException | IOException e) {
+            // the player hung up part way through the game
+        } finally {
+            activeSessions.decrementAndGet();
+        }
+    }
+
+    public int getActiveSessions() {
+        return activeSessions.get();
+    }
+
+    /**
+     * Starts the server.
+     *
+     * @param args Optionally, the port to listen on, --dynamic-markets for supply and demand pricing,
+     *             --world=seed for every session to share one world, --store=file to save sessions across restarts,
+     *             --log=file to log every action for EventReplay, and --metrics=port to serve Metrics
+     *             at http://localhost:port/metrics,
+     *             --analytics=file to write a CSV report of the economy to the file every --window=seconds (10 by default),
+     *             and --rules=file to play by the Rules in the file, picking up every change to it as it is saved.
+     *             Metrics are always visible over JMX.
+     * @throws IOException If the server socket can't be opened.
+     * @throws JMException If the metrics can't be registered with JMX.
+     */
+    public static void main(String[] args) throws IOException, JMException {
+        int port = DEFAULT_PORT;
+        boolean dynamicMarkets = false;
+        World world = null;
+        SnapshotStore store = null;
+        EventLog log = null;
+        Path analyticsFile = null;
+        int windowSeconds = Analytics.DEFAULT_WINDOW_SECONDS;
+        for (String arg : args) {
+            if (arg.equals("--dynamic-markets")) {
+                dynamicMarkets = true;
+            } else if (arg.startsWith("--analytics=")) {
+                analyticsFile = Path.of(arg.substring("--analytics=".length()));
+            } else if (arg.startsWith("--rules=")) {
+                Rules.watch(Path.of(arg.substring("--rules=".length())));
+            } else if (arg.startsWith("--window=")) {
+                windowSeconds = Integer.parseInt(arg.substring("--window=".length()));
+            } else if (arg.startsWith("--store=")) {
+                store = new SnapshotStore(Path.of(arg.substring("--store=".length())));
+            } else if (arg.startsWith("--metrics=")) {
+                new MetricsServer(Integer.parseInt(arg.substring("--metrics=".length())), Metrics.GLOBAL);
+            } else if (arg.startsWith("--log=")) {
+                log = new EventLog(Path.of(arg.substring("--log=".length())));
+            } else if (arg.startsWith("--world=")) {
+                world = new World(Long.parseLong(arg.substring("--world=".length())), World.DEFAULT_CAPACITY);
+            } else {
+                port = Integer.parseInt(arg);
+            }
+        }
+        Metrics.GLOBAL.register();
+        Analytics analytics = null;
+        if (analyticsFile != null) {
+            analytics = new Analytics(Files.newOutputStream(analyticsFile), windowSeconds);
+            // the server only stops when it is killed, so write out the last windows on the way down
+            Analytics report = analytics;
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                try {
+                    report.close();
+                } catch (IOException e) {
+                    System.out.println("The last analytics couldn't be written: " + e.getMessage());
+                }
+            }));
+        }
+        new GameServer(port, dynamicMarkets, world, store, log, analytics).serve();
+    }
+}
@@ -0,0 +1,111 @@
+package treasurehunter;
+
+/**
+ * GameView Class<br /><br />
+ * A read-only window onto one game, handed to a Policy so it can decide what to do.<p>
+ * Every question is answered straight from the game's own state: nothing is copied,
+ * no strings are built, and the same view is used for every turn of the game.
+ */
+
+public final class GameView {
+    // instance variables
+    private final TreasureHunter game;
+
+    /**
+     * @param game The game to look at.
+     */
+    public GameView(TreasureHunter game) {
+        this.game = game;
+    }
+
+    public Mode getMode() {
+        return game.getMode();
+    }
+
+    public int getGold() {
+        return game.getHunter().getGold();
+    }
+
+    public boolean hasItem(Item item) {
+        return game.getHunter().hasItemInKit(item);
+    }
+
+    public boolean hasRoomInKit() {
+        return game.getHunter().hasRoomInKit();
+    }
+
+    /**
+     * @return The kit as bits, where bit n is set if the Item with ordinal n is in the kit.
+     */
+    public int getKitBits() {
+        return game.getHunter().getKitBits();
+    }
+
+    /**
+     * @return true if the hunter has already dug for gold in this town.
+     */
+    public boolean isDug() {
+        return game.getHunter().isDug();
+    }
+
+    /**
+     * @return The terrain around the town; terrains are shared and can't be changed.
+     */
+    public Terrain getTerrain() {
+        return game.getCurrentTown().getTerrain();
+    }
+
+    /**
+     * @return The item needed to leave the town.
+     */
+    public Item getNeededItem() {
+        return game.getCurrentTown().getTerrain().getItem();
+    }
+
+    public boolean isToughTown() {
+        return game.getCurrentTown().isToughTown();
+    }
+
+    public boolean isTownSearched() {
+        return game.getCurrentTown().isTownSearched();
+    }
+
+    public Treasure getTownTreasure() {
+        return game.getCurrentTown().getTreasure();
+    }
+
+    public boolean hasTreasure(Treasure treasure) {
+        return game.hasItemInTreasure(treasure);
+    }
+
+    /**
+     * @return The treasures found as bits, where bit n is set if the Treasure with ordinal n has been found.
+     */
+    public int getTreasureBits() {
+        return game.getTreasureBits();
+    }
+
+    /**
+     * @param item The item to price.
+     * @return What the town's shop charges for the item right now.
+     */
+    public int getPrice(Item item) {
+        return game.getCurrentTown().getShop().getCostOfItem(item);
+    }
+
+    /**
+     * @param item The item to price.
+     * @return What the town's shop pays for the item right now.
+     */
+    public int getBuyBackPrice(Item item) {
+        return game.getCurrentTown().getShop().getBuyBackCost(item);
+    }
+
+    public boolean hasWon() {
+        return game.hasWon();
+    }
+
+    public boolean isGameOver() {
+        return game.isGameOver();
+    }
+}
@@ -0,0 +1,54 @@
+package treasurehunter;
+
+/**
+ * A simple Strategy that hunts and digs in every town, buys whatever it needs to cross the terrain,
+ * and brawls for gold when it can't afford it.<p>
+ * It is a Policy as well, so the BotDriver can play it; the rules are written once, against a GameView,
+ * and the Simulator's turns look at the game through the game's own view, so none is made per turn.
+ */
+
+public class GreedyStrategy implements Strategy, Policy {
+
+    public Action nextAction(TreasureHunter game) {
+        return nextAction(game.getView());
+    }
+
+    public String itemToTrade(TreasureHunter game, Action action) {
+        return itemToTrade(game.getView(), action).getName();
+    }
+
+    public Action nextAction(GameView view) {
+        if (!view.isTownSearched()) {
+            return Action.HUNT;
+        }
+        if (view.hasItem(Item.SHOVEL)) {
+            if (!view.isDug()) {
+                return Action.DIG;
+            }
+        } else if (view.hasRoomInKit() && canAfford(view, Item.SHOVEL)) {
+            return Action.BUY;
+        }
+        Item neededItem = view.getNeededItem();
+        if (view.hasItem(neededItem)) {
+            return Action.MOVE;
+        }
+        if (canAfford(view, neededItem)) {
+            return Action.BUY;
+        }
+        return Action.LOOK_FOR_TROUBLE;
+    }
+
+    public Item itemToTrade(GameView view, Action action) {
+        if (!view.hasItem(Item.SHOVEL) && view.hasRoomInKit() && canAfford(view, Item.SHOVEL)) {
+            return Item.SHOVEL;
+        }
+        return view.getNeededItem();
+    }
+
+    /**
+     * Checks that buying the item would still leave the hunter with some gold, since running out ends the game.
+     */
+    private boolean canAfford(GameView view, Item item) {
+        return view.getGold() > view.getPrice(item);
+    }
+}
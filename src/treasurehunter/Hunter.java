@@ -0,0 +1,278 @@
+package treasurehunter;
+
+import java.util.SplittableRandom;
+
+/**
+ * Hunter Class<br /><br />
+ * This class represents the treasure hunter character (the player) in the Treasure Hunt game.
+ * This code has been adapted from Ivan Turner's original program -- thank you Mr. Turner!
+ */
+
+public class Hunter {
+    // constants
+    private static final byte[] HAS = Renderer.bytes(" has ");
+    private static final byte[] GOLD = Renderer.bytes(" gold");
+    private static final byte[] AND = Renderer.bytes(" and ");
+    private static final byte[] SPACE = Renderer.bytes(" ");
+
+    //instance variables
+    private String hunterName;
+    private Inventory kit;
+    private int gold;
+    private boolean dug;
+    private TreasureHunter treasureHunter;
+
+    /**
+     * The base constructor of a Hunter assigns the name to the hunter and an empty kit.
+     *
+     * @param hunterName The hunter's name.
+     * @param startingGold The gold the hunter starts with.
+     */
+    public Hunter(String hunterName, int startingGold, TreasureHunter treasure) {
+        this.hunterName = hunterName;
+        this.treasureHunter = treasure;
+        // a samurai can also carry the sword, so the rules give them a bigger kit
+        kit = new Inventory(treasureHunter.getModeRules().getKitSize());
+        gold = startingGold;
+    }
+
+    //Accessors
+    public String getHunterName() {
+        return hunterName;
+    }
+
+    public int getGold() {
+        return gold;
+    }
+
+    public void setDug(boolean dug){
+        this.dug = dug;
+    }
+
+    public boolean isDug() {
+        return dug;
+    }
+
+    /**
+     * Updates the amount of gold the hunter has.
+     *
+     * @param modifier Amount to modify gold by.
+     */
+    public void changeGold(int modifier) {
+        gold += modifier;
+        if (gold < 0) {
+            gold = 0;
+        }
+    }
+
+    public void digGold() {
+        SplittableRandom random = treasureHunter.getRandom();
+        ModeRules rules = treasureHunter.getModeRules();
+        double rnd = random.nextDouble();
+        int rnd2 = rules.rollDigGold(random);
+        double digOdds = rules.getDigOdds();
+        EventBus events = treasureHunter.getEvents();
+        if (hasItemInKit(Item.SHOVEL)) {
+            if(!dug) {
+                if (rnd < digOdds && !treasureHunter.getCurrentTown().claimDigSpot()) {
+                    events.publish(EventType.DIG_SPOTS_TAKEN);
+                    dug = true;
+                } else if (rnd < digOdds) {
+                    events.publish(EventType.DUG_GOLD, rnd2);
+                    gold += rnd2;
+                    dug = true;
+                    Metrics.GLOBAL.goldIn(rnd2);
+                } else {
+                    events.publish(EventType.DUG_DIRT);
+                }
+            }else {
+                events.publish(EventType.ALREADY_DUG);
+            }
+        }else {
+            events.publish(EventType.NO_SHOVEL);
+        }
+    }
+
+    /**
+     * Buys an item from a shop.
+     *
+     * @param item The item the hunter is buying.
+     * @param costOfItem The cost of the item.
+     * @return true if the item is successfully bought.
+     */
+    public boolean buyItem(String item, int costOfItem) {
+        if(treasureHunter.isHasSword()){
+            return addItem(item);
+        }else {
+            if (costOfItem == -10 || gold < costOfItem || hasItemInKit(item)) {
+                return false;
+            }
+        }
+        if (!addItem(item)) {
+            return false;
+        }
+        gold -= costOfItem;
+        Metrics.GLOBAL.goldOut(costOfItem);
+        return true;
+    }
+
+    /**
+     * The Hunter is selling an item to a shop for gold.<p>
+     * This method checks to make sure that the seller has the item and that the seller is getting more than 0 gold.
+     *
+     * @param item The item being sold.
+     * @param buyBackPrice the amount of gold earned from selling the item
+     * @return true if the item was successfully sold.
+     */
+    public boolean sellItem(String item, int buyBackPrice) {
+        if (buyBackPrice <= 0 || !hasItemInKit(item)) {
+            return false;
+        }
+        gold += buyBackPrice;
+        Metrics.GLOBAL.goldIn(buyBackPrice);
+        removeItemFromKit(item);
+        return true;
+    }
+
+    /**
+     * Removes an item from the kit by clearing its bit.
+     *
+     * @param item The item to be removed.
+     */
+    public void removeItemFromKit(String item) {
+        Item kitItem = Item.fromName(item);
+        if (kitItem != null) {
+            kit.remove(kitItem.ordinal());
+        }
+    }
+
+    /**
+     * Removes an item from the kit by clearing its bit.
+     *
+     * @param item The item to be removed.
+     */
+    public void removeItemFromKit(Item item) {
+        kit.remove(item.ordinal());
+    }
+
+    /**
+     * Checks to make sure that the item is a real item that is not already in the kit, and that there is room for it.
+     *
+     * @param item The item to be added to the kit.
+     * @return true if the item has been added; false if it's unknown, already there, or the kit is full.
+     */
+    private boolean addItem(String item) {
+        Item kitItem = Item.fromName(item);
+        return kitItem != null && kit.add(kitItem.ordinal());
+    }
+
+    /**
+     * Checks if the kit has the specified item.
+     *
+     * @param item The search item
+     * @return true if the item is found.
+     */
+    public boolean hasItemInKit(String item) {
+        Item kitItem = Item.fromName(item);
+        return kitItem != null && kit.contains(kitItem.ordinal());
+    }
+
+    /**
+     * Checks if the kit has the specified item.
+     *
+     * @param item The search item
+     * @return true if the item is found.
+     */
+    public boolean hasItemInKit(Item item) {
+        return kit.contains(item.ordinal());
+    }
+
+    /**
+     * Returns a printable representation of the inventory, which
+     * is a list of the items in kit, with a space between each item.
+     *
+     * @return The printable String representation of the inventory.
+     */
+    public String getInventory() {
+        String printableKit = "";
+        String space = " ";
+
+        for (Item item : Item.VALUES) {
+            if (kit.contains(item.ordinal())) {
+                printableKit += item.getName() + space;
+            }
+        }
+        return printableKit;
+    }
+
+    /**
+     * @return A string representation of the hunter.
+     */
+    public String infoString() {
+        String str = hunterName + " has " + Colors.YELLOW + gold + Colors.RESET + " gold";
+        if (!kit.isEmpty()) {
+            str += " and " + Colors.PURPLE + getInventory() + Colors.RESET;
+        }
+        return str;
+    }
+
+    /**
+     * Writes the same text as infoString() straight into the renderer.
+     *
+     * @param renderer Where to write the hunter's details.
+     */
+    public void render(Renderer renderer) {
+        renderer.append(hunterName).append(HAS).append(Renderer.YELLOW).append(gold).append(Renderer.RESET).append(GOLD);
+        if (!kit.isEmpty()) {
+            renderer.append(AND).append(Renderer.PURPLE);
+            for (Item item : Item.VALUES) {
+                if (kit.contains(item.ordinal())) {
+                    renderer.append(item.getName()).append(SPACE);
+                }
+            }
+            renderer.append(Renderer.RESET);
+        }
+    }
+
+    /**
+     * @return true if there is room left in the kit.
+     */
+    public boolean hasRoomInKit() {
+        return !kit.isFull();
+    }
+
+    /**
+     * @return The kit as bits, where bit n is set if the Item with ordinal n is in the kit.
+     */
+    public int getKitBits() {
+        return kit.getBits();
+    }
+
+    public int getKitCapacity() {
+        return kit.getCapacity();
+    }
+
+    /**
+     * Puts the hunter back the way a Snapshot saved them.
+     *
+     * @param gold The saved gold.
+     * @param kitCapacity The saved size of the kit.
+     * @param kitBits The saved kit, where bit n is set if the Item with ordinal n is in it.
+     * @param dug The saved dug flag.
+     */
+    void restore(int gold, int kitCapacity, int kitBits, boolean dug) {
+        this.gold = gold;
+        kit = new Inventory(kitCapacity, kitBits);
+        this.dug = dug;
+    }
+
+    public void fullKit() {
+        kit = new Inventory(getKitCapacity());
+        Item[] newkit = {Item.WATER, Item.ROPE, Item.MACHETE, Item.HORSE, Item.BOAT, Item.BOOT};
+        for (Item item : newkit) {
+            kit.add(item.ordinal());
+        }
+    }
+
+
+}
@@ -0,0 +1,93 @@
+package treasurehunter;
+
+/**
+ * Inventory Class<br /><br />
+ * A fixed capacity set of catalogue entries (Items or Treasures) packed into the bits of a single int,
+ * where entry n is present when bit n is set.
+ * Every check and update is a single bitwise operation, so nothing is scanned or allocated.
+ */
+
+public class Inventory {
+    // instance variables
+    private int bits;
+    private final int capacity;
+
+    /**
+     * Creates an empty inventory.
+     *
+     * @param capacity The most entries the inventory can hold at once.
+     */
+    public Inventory(int capacity) {
+        this(capacity, 0);
+    }
+
+    /**
+     * Creates an inventory holding the given entries, such as one being restored from a Snapshot.
+     *
+     * @param capacity The most entries the inventory can hold at once.
+     * @param bits The entries to start with, where bit n is set if entry n is present.
+     */
+    public Inventory(int capacity, int bits) {
+        this.capacity = capacity;
+        this.bits = bits;
+    }
+
+    /**
+     * @param id The ordinal of the entry.
+     * @return true if the entry is in the inventory.
+     */
+    public boolean contains(int id) {
+        return (bits & (1 << id)) != 0;
+    }
+
+    /**
+     * Adds an entry as long as it isn't already there and the inventory isn't full.
+     *
+     * @param id The ordinal of the entry.
+     * @return true if the entry was added.
+     */
+    public boolean add(int id) {
+        int bit = 1 << id;
+        if ((bits & bit) != 0 || isFull()) {
+            return false;
+        }
+        bits |= bit;
+        return true;
+    }
+
+    /**
+     * @param id The ordinal of the entry.
+     * @return true if the entry was there and has been removed.
+     */
+    public boolean remove(int id) {
+        int bit = 1 << id;
+        if ((bits & bit) == 0) {
+            return false;
+        }
+        bits &= ~bit;
+        return true;
+    }
+
+    public boolean isEmpty() {
+        return bits == 0;
+    }
+
+    public boolean isFull() {
+        return Integer.bitCount(bits) >= capacity;
+    }
+
+    public int size() {
+        return Integer.bitCount(bits);
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * @return The raw bits of the inventory, where bit n is set if entry n is present.
+     */
+    public int getBits() {
+        return bits;
+    }
+}
@@ -0,0 +1,67 @@
+package treasurehunter;
+
+/**
+ * The Item enum is the catalogue of everything a hunter can carry in their kit.<p>
+ * The ordinal of each item is its bit in the hunter's Inventory.
+ */
+
+public enum Item {
+    WATER("water"),
+    ROPE("rope"),
+    MACHETE("machete"),
+    HORSE("horse"),
+    BOAT("boat"),
+    BOOT("boot"),
+    SHOVEL("shovel"),
+    SWORD("sword");
+
+    // constants
+    /** Every entry in ordinal order; values() copies the array on every call. */
+    static final Item[] VALUES = values();
+
+    // instance variables
+    private final String name;
+
+    Item(String name) {
+        this.name = name;
+    }
+
+    /**
+     * @return The lower case name of the item, as the player types it.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Looks up an item by the name the player typed.
+     *
+     * @param name The lower case name of the item.
+     * @return The matching item, or null if there is no such item.
+     */
+    public static Item fromName(String name) {
+        if (name == null) {
+            return null;
+        }
+        switch (name) {
+            case "water":
+                return WATER;
+            case "rope":
+                return ROPE;
+            case "machete":
+                return MACHETE;
+            case "horse":
+                return HORSE;
+            case "boat":
+                return BOAT;
+            case "boot":
+                return BOOT;
+            case "shovel":
+                return SHOVEL;
+            case "sword":
+                return SWORD;
+            default:
+                return null;
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package treasurehunter;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * LatencyHistogram Class<br /><br />
+ * Counts how long something took, in nanoseconds, in log-linear buckets the way an HDR histogram does:
+ * every power of two is split into 16 equal buckets, so any recorded time is known to within about 6%
+ * and the whole range of a long fits in 960 counters.<p>
+ * Recording is one atomic increment, so any number of threads can record into the same histogram.
+ * Percentiles are read from the counts without stopping the recorders, so they can be slightly behind.
+ */
+
+public class LatencyHistogram {
+    // constants
+    private static final int SUB_BITS = 4;
+    private static final int SUB_BUCKETS = 1 << SUB_BITS;
+    private static final int LINEAR = SUB_BUCKETS * 2;
+    private static final int BUCKETS = LINEAR + (63 - SUB_BITS - 1) * SUB_BUCKETS;
+
+    // instance variables
+    private final AtomicLongArray counts;
+    private final LongAdder total;
+
+    public LatencyHistogram() {
+        counts = new AtomicLongArray(BUCKETS);
+        total = new LongAdder();
+    }
+
+    /**
+     * Counts one event.
+     *
+     * @param nanos How long the event took; negative times count as 0.
+     */
+    public void record(long nanos) {
+        long value = Math.max(nanos, 0);
+        counts.incrementAndGet(bucket(value));
+        total.add(value);
+    }
+
+    /**
+     * @return How many events have been recorded.
+     */
+    public long getCount() {
+        long count = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            count += counts.get(i);
+        }
+        return count;
+    }
+
+    /**
+     * @return The sum of every recorded time, in nanoseconds.
+     */
+    public long getTotal() {
+        return total.sum();
+    }
+
+    /**
+     * Finds the time that the given fraction of events took no longer than.
+     *
+     * @param quantile The fraction of events, from 0 to 1.
+     * @return The highest time in that quantile's bucket, or 0 if nothing has been recorded.
+     */
+    public long getValueAtQuantile(double quantile) {
+        long[] snapshot = new long[BUCKETS];
+        long count = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            snapshot[i] = counts.get(i);
+            count += snapshot[i];
+        }
+        if (count == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(quantile * count));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += snapshot[i];
+            if (seen >= rank) {
+                return highestValue(i);
+            }
+        }
+        return highestValue(BUCKETS - 1);
+    }
+
+    /**
+     * @return The highest time in the highest bucket anything has been recorded in.
+     */
+    public long getMax() {
+        for (int i = BUCKETS - 1; i >= 0; i--) {
+            if (counts.get(i) > 0) {
+                return highestValue(i);
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Finds the bucket a time is counted in. Times below 32 get a bucket each; above that
+     * the power of two picks a row of 16 buckets and the next four bits pick the bucket in the row.
+     */
+    static int bucket(long value) {
+        if (value < LINEAR) {
+            return (int) value;
+        }
+        int magnitude = 63 - Long.numberOfLeadingZeros(value);
+        int sub = (int) (value >>> (magnitude - SUB_BITS)) - SUB_BUCKETS;
+        return LINEAR + (magnitude - SUB_BITS - 1) * SUB_BUCKETS + sub;
+    }
+
+    /**
+     * @return The highest time counted in the given bucket.
+     */
+    static long highestValue(int bucket) {
+        if (bucket < LINEAR) {
+            return bucket;
+        }
+        int magnitude = (bucket - LINEAR) / SUB_BUCKETS + SUB_BITS + 1;
+        long top = (bucket - LINEAR) % SUB_BUCKETS + SUB_BUCKETS + 1;
+        if (magnitude == 62 && top == 2 * SUB_BUCKETS) {
+            return Long.MAX_VALUE;
+        }
+        return (top << (magnitude - SUB_BITS)) - 1;
+    }
+}
@@ -0,0 +1,179 @@
+package treasurehunter;
+
+import java.util.Arrays;
+
+/**
+ * Leaderboard Class<br /><br />
+ * Keeps the running score of a Tournament as matches report in, without keeping a record of any single game.<p>
+ * All it holds is a tally for each pair of entrants and each entrant's wins in each mode, so its size depends only
+ * on the number of entrants, however many games are played. Ratings are worked out from the pair tallies when asked
+ * for, by fitting a Bradley-Terry model and putting it on the Elo scale. That way they come out the same
+ * whatever order the parallel matches finish in, which an Elo rating updated game by game would not.
+ */
+
+public class Leaderboard {
+    // constants
+    private static final double BASE_RATING = 1500;
+    private static final int FIT_ITERATIONS = 200;
+
+    // instance variables
+    private final String[] names;
+    private final int size;
+    private final long[] halfPoints;
+    private final long[] pairGames;
+    private final long[][] modeGames;
+    private final long[][] modeWins;
+    private final long[] winningTurns;
+
+    /**
+     * @param names The entrants' names.
+     */
+    public Leaderboard(String[] names) {
+        this.names = names.clone();
+        size = names.length;
+        halfPoints = new long[size * size];
+        pairGames = new long[size * size];
+        modeGames = new long[size][Mode.values().length];
+        modeWins = new long[size][Mode.values().length];
+        winningTurns = new long[size];
+    }
+
+    /**
+     * Adds a batch of games between two entrants.
+     *
+     * @param a The first entrant.
+     * @param b The second entrant.
+     * @param tally What happened in the batch.
+     */
+    public synchronized void record(int a, int b, Tournament.Tally tally) {
+        int games = tally.aWins + tally.draws + tally.bWins;
+        halfPoints[a * size + b] += 2L * tally.aWins + tally.draws;
+        halfPoints[b * size + a] += 2L * tally.bWins + tally.draws;
+        pairGames[a * size + b] += games;
+        pairGames[b * size + a] += games;
+        for (int mode = 0; mode < tally.modeGames.length; mode++) {
+            modeGames[a][mode] += tally.modeGames[mode];
+            modeGames[b][mode] += tally.modeGames[mode];
+            modeWins[a][mode] += tally.aModeWins[mode];
+            modeWins[b][mode] += tally.bModeWins[mode];
+        }
+        winningTurns[a] += tally.aWinningTurns;
+        winningTurns[b] += tally.bWinningTurns;
+    }
+
+    /**
+     * @param entrant The entrant.
+     * @return The entrant's match points: one for every game won against an opponent, a half for every draw.
+     */
+    public synchronized double getPoints(int entrant) {
+        long total = 0;
+        for (int opponent = 0; opponent < size; opponent++) {
+            total += halfPoints[entrant * size + opponent];
+        }
+        return total / 2.0;
+    }
+
+    /**
+     * @param a One entrant.
+     * @param b Another entrant.
+     * @return How many games the two have played against each other.
+     */
+    public synchronized long getGames(int a, int b) {
+        return pairGames[a * size + b];
+    }
+
+    /**
+     * @return How many games every entrant has played between them; each game of a match counts twice, once for each side.
+     */
+    public synchronized long getGamesPlayed() {
+        long total = 0;
+        for (long games : pairGames) {
+            total += games;
+        }
+        return total;
+    }
+
+    /**
+     * Fits a rating to every entrant from the pair tallies so far.<p>
+     * Every pair that has met is given one extra drawn game, which keeps an entrant who has won or lost
+     * everything at a finite rating.
+     *
+     * @return The ratings on the Elo scale, averaging 1500.
+     */
+    public synchronized double[] getRatings() {
+        double[] strength = new double[size];
+        Arrays.fill(strength, 1);
+        double[] next = new double[size];
+        for (int iteration = 0; iteration < FIT_ITERATIONS; iteration++) {
+            for (int i = 0; i < size; i++) {
+                double score = 0;
+                double expected = 0;
+                for (int j = 0; j < size; j++) {
+                    long games = pairGames[i * size + j];
+                    if (i == j || games == 0) {
+                        continue;
+                    }
+                    score += halfPoints[i * size + j] / 2.0 + 0.5;
+                    expected += (games + 1) / (strength[i] + strength[j]);
+                }
+                next[i] = (expected == 0) ? strength[i] : score / expected;
+            }
+            System.arraycopy(next, 0, strength, 0, size);
+        }
+        double[] ratings = new double[size];
+        double mean = 0;
+        for (int i = 0; i < size; i++) {
+            ratings[i] = 400 * Math.log10(strength[i]);
+            mean += ratings[i] / size;
+        }
+        for (int i = 0; i < size; i++) {
+            ratings[i] += BASE_RATING - mean;
+        }
+        return ratings;
+    }
+
+    /**
+     * @return The entrants from best to worst, by rating.
+     */
+    public synchronized Integer[] getStandings() {
+        double[] ratings = getRatings();
+        Integer[] order = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (x, y) -> Double.compare(ratings[y], ratings[x]));
+        return order;
+    }
+
+    /**
+     * @return A table of the standings, with each entrant's rating, share of the points and win rate in every mode.
+     */
+    public synchronized String infoString() {
+        double[] ratings = getRatings();
+        StringBuilder str = new StringBuilder(String.format("%-4s %-24s %7s %7s", "#", "entrant", "elo", "points"));
+        for (Mode mode : Mode.values()) {
+            str.append(String.format(" %8s", mode));
+        }
+        str.append(String.format(" %10s%n", "win turns"));
+        int rank = 1;
+        for (int entrant : getStandings()) {
+            long wins = 0;
+            for (int mode = 0; mode < modeWins[entrant].length; mode++) {
+                wins += modeWins[entrant][mode];
+            }
+            long played = 0;
+            for (int opponent = 0; opponent < size; opponent++) {
+                played += pairGames[entrant * size + opponent];
+            }
+            str.append(String.format("%-4d %-24s %7.0f %6.1f%%", rank++, names[entrant], ratings[entrant],
+                    played == 0 ? 0 : 100 * getPoints(entrant) / played));
+            for (int mode = 0; mode < modeGames[entrant].length; mode++) {
+                long modeTotal = modeGames[entrant][mode];
+                str.append(modeTotal == 0 ? String.format(" %8s", "-")
+                        : String.format(" %7.2f%%", 100.0 * modeWins[entrant][mode] / modeTotal));
+            }
+            str.append(String.format(" %10.2f%n", wins == 0 ? 0 : (double) winningTurns[entrant] / wins));
+        }
+        return str.toString();
+    }
+}
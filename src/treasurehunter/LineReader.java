@@ -0,0 +1,88 @@
+package treasurehunter;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * LineReader Class<br /><br />
+ * Reads lines of UTF-8 text from a stream, the way BufferedReader.readLine() does, with a few hundred bytes of buffer.<p>
+ * A BufferedReader over an InputStreamReader holds 16 KB of chars and another 8 KB of bytes for every stream,
+ * which is most of what an idle session on the GameServer keeps on the heap while it waits for its player.
+ * A player's lines are short, so this reads raw bytes into a small buffer and only decodes a whole line once
+ * it has one; line breaks are single bytes in UTF-8, so they are found before decoding.<p>
+ * A line longer than MAX_LINE bytes is cut short there and the rest of it dropped, so a player who never ends a line
+ * can't fill the heap, and the buffer a long line needed is let go once it has been read.
+ */
+
+public class LineReader {
+    // constants
+    public static final int MAX_LINE = 1024;
+    private static final int BUFFER_SIZE = 128;
+
+    // instance variables
+    private final InputStream in;
+    private final byte[] buffer;
+    private int position;
+    private int limit;
+    private byte[] line;
+    private boolean skipLineFeed;
+
+    /**
+     * @param in The stream to read from.
+     */
+    public LineReader(InputStream in) {
+        this.in = in;
+        buffer = new byte[BUFFER_SIZE];
+        line = new byte[BUFFER_SIZE];
+    }
+
+    /**
+     * Reads the next line. A line ends at a line feed, a carriage return, or a carriage return followed by a line feed,
+     * or at the end of the stream.
+     *
+     * @return The line without its line break, or null if the stream has ended.
+     * @throws IOException If the stream can't be read.
+     */
+    public String readLine() throws IOException {
+        int length = 0;
+        while (true) {
+            if (position == limit) {
+                limit = in.read(buffer);
+                position = 0;
+                if (limit <= 0) {
+                    limit = 0;
+                    return (length == 0) ? null : decode(length);
+                }
+            }
+            if (skipLineFeed) {
+                // the carriage return that ended the last line may be followed by its line feed
+                skipLineFeed = false;
+                if (buffer[position] == '\n') {
+                    position++;
+                    continue;
+                }
+            }
+            byte b = buffer[position++];
+            if (b == '\n' || b == '\r') {
+                skipLineFeed = (b == '\r');
+                return decode(length);
+            }
+            if (length < MAX_LINE) {
+                if (length == line.length) {
+                    line = Arrays.copyOf(line, Math.min(length * 2, MAX_LINE));
+                }
+                line[length++] = b;
+            }
+        }
+    }
+
+    private String decode(int length) {
+        String text = new String(line, 0, length, StandardCharsets.UTF_8);
+        if (line.length > BUFFER_SIZE) {
+            line = new byte[BUFFER_SIZE];
+        }
+        return text;
+    }
+}
@@ -0,0 +1,239 @@
+package treasurehunter;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * LoadGenerator Class<br /><br />
+ * Opens many sessions against a GameServer at once and plays a fixed round of moves in each one,
+ * timing every turn from sending the move to seeing the next menu prompt.
+ * When all the sessions are done it prints the turn rate, the p50, p99 and max turn latency, and how much the server sent.<p>
+ * With fast-forwarding on, each session sends the same round of moves as one fast-forward instead, several rounds
+ * at a time, and the latencies are of whole fast-forwards.
+ */
+
+public class LoadGenerator {
+    // constants
+    private static final byte[] NAME_PROMPT = "What's your name, Hunter? ".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] MODE_PROMPT = "(e/n/h) ".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] MENU_PROMPT = "What's your next move? ".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] FAST_FORWARDED = "Fast-forwarded ".getBytes(StandardCharsets.UTF_8);
+    private static final String FAST_FORWARD_MOVES = "fheldm";
+    private static final byte[][] MOVES = {
+            "h\n".getBytes(StandardCharsets.UTF_8),
+            "e\n".getBytes(StandardCharsets.UTF_8),
+            "l\n".getBytes(StandardCharsets.UTF_8),
+            "d\n".getBytes(StandardCharsets.UTF_8),
+            "m\n".getBytes(StandardCharsets.UTF_8)
+    };
+
+    // instance variables
+    private final int port;
+    private final int sessions;
+    private final int turns;
+    private int fastRounds;
+    private final LongAdder turnsPlayed = new LongAdder();
+    private final LongAdder bytesReceived = new LongAdder();
+
+    /**
+     * @param port The port the server is listening on.
+     * @param sessions The number of sessions to hold open at once.
+     * @param turns The most turns to play in each session.
+     */
+    public LoadGenerator(int port, int sessions, int turns) {
+        this.port = port;
+        this.sessions = sessions;
+        this.turns = turns;
+    }
+
+    /**
+     * Has each session fast-forward through its moves rather than send them one at a time.
+     *
+     * @param rounds How many rounds of the moves to ask for in each fast-forward, or 0 to send single moves.
+     */
+    public void setFastForward(int rounds) {
+        this.fastRounds = rounds;
+    }
+
+    /**
+     * Runs every session to completion and prints the results.
+     *
+     * @throws Exception If a session fails for any reason other than its game ending.
+     */
+    public void run() throws Exception {
+        long start = System.nanoTime();
+        List<Future<long[]>> results = new ArrayList<>();
+        try (ExecutorService pool = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < sessions; i++) {
+                int session = i;
+                results.add(pool.submit(() -> playSession(session)));
+            }
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        int count = 0;
+        long played = turnsPlayed.sum();
+        for (Future<long[]> result : results) {
+            count += result.get().length;
+        }
+        long[] latencies = new long[count];
+        int next = 0;
+        for (Future<long[]> result : results) {
+            long[] sessionLatencies = result.get();
+            System.arraycopy(sessionLatencies, 0, latencies, next, sessionLatencies.length);
+            next += sessionLatencies.length;
+        }
+        Arrays.sort(latencies);
+
+        System.out.printf("%,d sessions, %,d turns in %.2f s (%,.0f turns/s)%n", sessions, played, seconds, played / seconds);
+        if (count > 0) {
+            System.out.printf("%s latency p50 %,d us  p99 %,d us  max %,d us%n", (fastRounds > 0) ? "fast-forward" : "turn",
+                    percentile(latencies, 0.50) / 1000, percentile(latencies, 0.99) / 1000, latencies[count - 1] / 1000);
+        }
+        System.out.printf("%,d round trips, %,d bytes received (%,.0f per turn)%n",
+                count, bytesReceived.sum(), (played > 0) ? (double) bytesReceived.sum() / played : 0.0);
+    }
+
+    /**
+     * Plays one session, stopping early if the game ends.
+     *
+     * @param session The number of the session, used to name its hunter.
+     * @return The latency of every turn or fast-forward played, in nanoseconds.
+     */
+    private long[] playSession(int session) throws IOException {
+        long[] latencies = new long[turns];
+        int requests = 0;
+        int played = 0;
+        long received = 0;
+        try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), port)) {
+            socket.setTcpNoDelay(true);
+            InputStream in = new BufferedInputStream(socket.getInputStream());
+            OutputStream out = socket.getOutputStream();
+            if (awaitPrompt(in, NAME_PROMPT) < 0) {
+                return new long[0];
+            }
+            out.write(("bot" + session + "\n").getBytes(StandardCharsets.UTF_8));
+            if (awaitPrompt(in, MODE_PROMPT) < 0) {
+                return new long[0];
+            }
+            out.write("n\n".getBytes(StandardCharsets.UTF_8));
+            if (awaitPrompt(in, MENU_PROMPT) < 0) {
+                return new long[0];
+            }
+            byte[] fastForward = null;
+            if (fastRounds > 0) {
+                fastForward = (FAST_FORWARD_MOVES + " " + fastRounds + "\n").getBytes(StandardCharsets.UTF_8);
+            }
+            while (played < turns) {
+                long start = System.nanoTime();
+                int moves;
+                if (fastForward == null) {
+                    out.write(MOVES[played % MOVES.length]);
+                    moves = 1;
+                } else {
+                    // the fast-forward's summary says how many turns it got through before it stopped
+                    out.write(fastForward);
+                    long bytes = awaitPrompt(in, FAST_FORWARDED);
+                    if (bytes < 0) {
+                        break;
+                    }
+                    received += bytes;
+                    moves = 0;
+                    int b;
+                    while ((b = in.read()) >= '0' && b <= '9') {
+                        moves = moves * 10 + (b - '0');
+                        received++;
+                    }
+                }
+                long bytes = awaitPrompt(in, MENU_PROMPT);
+                if (bytes < 0) {
+                    // the game is over, so the server hung up
+                    break;
+                }
+                received += bytes;
+                played += moves;
+                latencies[requests++] = System.nanoTime() - start;
+            }
+        } finally {
+            turnsPlayed.add(played);
+            bytesReceived.add(received);
+        }
+        return Arrays.copyOf(latencies, requests);
+    }
+
+    /**
+     * Reads from the server until the prompt has been seen.
+     *
+     * @param in The stream from the server.
+     * @param prompt The prompt to wait for; its first byte must not appear anywhere else in it.
+     * @return How many bytes were read up to the end of the prompt, or -1 if the server hung up first.
+     */
+    private static long awaitPrompt(InputStream in, byte[] prompt) throws IOException {
+        int matched = 0;
+        long read = 0;
+        while (matched < prompt.length) {
+            int b = in.read();
+            if (b < 0) {
+                return -1;
+            }
+            read++;
+            if (b == prompt[matched]) {
+                matched++;
+            } else {
+                matched = (b == prompt[0]) ? 1 : 0;
+            }
+        }
+        return read;
+    }
+
+    private static long percentile(long[] sorted, double fraction) {
+        int index = (int) Math.ceil(fraction * sorted.length) - 1;
+        return sorted[Math.max(0, index)];
+    }
+
+    /**
+     * Runs the load generator.
+     *
+     * @param args Optionally, the number of sessions, the turns per session and the server's port,
+     *             and --fast=rounds to fast-forward through that many rounds of moves at a time.
+     * @throws Exception If the load run fails.
+     */
+    public static void main(String[] args) throws Exception {
+        int sessions = 1000;
+        int turns = 100;
+        int port = GameServer.DEFAULT_PORT;
+        int fastRounds = 0;
+        List<String> positional = new ArrayList<>();
+        for (String arg : args) {
+            if (arg.startsWith("--fast=")) {
+                fastRounds = Integer.parseInt(arg.substring("--fast=".length()));
+            } else {
+                positional.add(arg);
+            }
+        }
+        if (positional.size() > 0) {
+            sessions = Integer.parseInt(positional.get(0));
+        }
+        if (positional.size() > 1) {
+            turns = Integer.parseInt(positional.get(1));
+        }
+        if (positional.size() > 2) {
+            port = Integer.parseInt(positional.get(2));
+        }
+        LoadGenerator generator = new LoadGenerator(port, sessions, turns);
+        generator.setFastForward(fastRounds);
+        generator.run();
+    }
+}
@@ -0,0 +1,98 @@
+package treasurehunter;
+
+import java.util.Arrays;
+
+/**
+ * LongDoubleMap Class<br /><br />
+ * A hash map from long keys to double values kept in one plain long array, with linear probing and no boxing,
+ * so tens of millions of entries fit in a few hundred megabytes.<p>
+ * Each key sits right next to the bits of its value, so a lookup usually touches a single cache line.
+ * The key 0 marks an empty slot, so it can't be stored. Entries can't be removed.
+ */
+
+public class LongDoubleMap {
+    // constants
+    private static final long EMPTY = 0;
+
+    // instance variables
+    private long[] slots;
+    private int mask;
+    private int shift;
+    private int size;
+
+    /**
+     * @param expected How many entries the map should hold before it has to grow.
+     */
+    public LongDoubleMap(int expected) {
+        int capacity = Integer.highestOneBit(Math.max(16, expected * 2 - 1)) << 1;
+        slots = new long[capacity * 2];
+        mask = capacity - 1;
+        shift = Long.numberOfLeadingZeros(capacity) + 1;
+    }
+
+    /**
+     * @param key The key to look up; never 0.
+     * @param missing What to return if the key isn't there.
+     * @return The key's value, or missing.
+     */
+    public double get(long key, double missing) {
+        int slot = slot(key);
+        while (true) {
+            long found = slots[slot * 2];
+            if (found == key) {
+                return Double.longBitsToDouble(slots[slot * 2 + 1]);
+            }
+            if (found == EMPTY) {
+                return missing;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    /**
+     * @param key The key to store; never 0.
+     * @param value The value to store under it.
+     */
+    public void put(long key, double value) {
+        int slot = slot(key);
+        while (slots[slot * 2] != EMPTY && slots[slot * 2] != key) {
+            slot = (slot + 1) & mask;
+        }
+        if (slots[slot * 2] == EMPTY) {
+            slots[slot * 2] = key;
+            size++;
+        }
+        slots[slot * 2 + 1] = Double.doubleToRawLongBits(value);
+        // keep the table at most half full so probe runs stay short
+        if (size * 2 > mask + 1) {
+            grow();
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void clear() {
+        Arrays.fill(slots, EMPTY);
+        size = 0;
+    }
+
+    private int slot(long key) {
+        // Fibonacci hashing: the top bits of the product depend on every bit of the key
+        return (int) ((key * 0x9E3779B97F4A7C15L) >>> shift);
+    }
+
+    private void grow() {
+        long[] old = slots;
+        slots = new long[old.length * 2];
+        mask = slots.length / 2 - 1;
+        shift--;
+        size = 0;
+        for (int i = 0; i < old.length; i += 2) {
+            if (old[i] != EMPTY) {
+                put(old[i], Double.longBitsToDouble(old[i + 1]));
+            }
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package treasurehunter;
+
+/**
+ * LongIntMap Class<br /><br />
+ * A hash map from long keys to int values in two plain arrays, with linear probing and no boxing,
+ * that never holds more than a fixed number of entries.<p>
+ * The value 0 marks an empty slot, so it can't be stored; any key can. Removing an entry shifts the rest of its
+ * probe run back, so lookups never have to step over deleted slots. Once the map is full, putting a new key
+ * pushes out the first key found from the new key's home slot on, so the map never outgrows its bound.
+ */
+
+public class LongIntMap {
+    // constants
+    private static final int EMPTY = 0;
+
+    // instance variables
+    private final int maxSize;
+    private long[] keys;
+    private int[] values;
+    private int mask;
+    private int shift;
+    private int size;
+
+    /**
+     * @param maxSize The most entries the map holds, at least 1; the table grows as needed until it can hold this many.
+     */
+    public LongIntMap(int maxSize) {
+        this.maxSize = maxSize;
+        keys = new long[16];
+        values = new int[16];
+        mask = 15;
+        shift = Long.numberOfLeadingZeros(16) + 1;
+    }
+
+    /**
+     * @param key The key to look up.
+     * @return The key's value, or 0 if it isn't there.
+     */
+    public int get(long key) {
+        int slot = slot(key);
+        while (values[slot] != EMPTY) {
+            if (keys[slot] == key) {
+                return values[slot];
+            }
+            slot = (slot + 1) & mask;
+        }
+        return EMPTY;
+    }
+
+    /**
+     * Stores a value, pushing another entry out first if the map is full.
+     *
+     * @param key The key to store.
+     * @param value The value to store under it; never 0.
+     * @return true if another entry was pushed out to make room.
+     */
+    public boolean put(long key, int value) {
+        int slot = slot(key);
+        while (values[slot] != EMPTY) {
+            if (keys[slot] == key) {
+                values[slot] = value;
+                return false;
+            }
+            slot = (slot + 1) & mask;
+        }
+        boolean pushedOut = false;
+        if (size == maxSize) {
+            int victim = slot(key);
+            while (values[victim] == EMPTY) {
+                victim = (victim + 1) & mask;
+            }
+            removeAt(victim);
+            pushedOut = true;
+            slot = slot(key);
+            while (values[slot] != EMPTY) {
+                slot = (slot + 1) & mask;
+            }
+        }
+        keys[slot] = key;
+        values[slot] = value;
+        size++;
+        // keep the table at most half full so probe runs stay short
+        if (size * 2 > mask + 1) {
+            allocate((mask + 1) * 2);
+        }
+        return pushedOut;
+    }
+
+    /**
+     * @param key The key to remove.
+     * @return The value it had, or 0 if it wasn't there.
+     */
+    public int remove(long key) {
+        int slot = slot(key);
+        while (values[slot] != EMPTY) {
+            if (keys[slot] == key) {
+                int value = values[slot];
+                removeAt(slot);
+                return value;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return EMPTY;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * Empties a slot and moves back every later entry in its probe run that can be reached from its home slot
+     * without crossing the gap.
+     */
+    private void removeAt(int slot) {
+        int hole = slot;
+        int next = (hole + 1) & mask;
+        while (values[next] != EMPTY) {
+            int home = slot(keys[next]);
+            if (((next - home) & mask) >= ((next - hole) & mask)) {
+                keys[hole] = keys[next];
+                values[hole] = values[next];
+                hole = next;
+            }
+            next = (next + 1) & mask;
+        }
+        values[hole] = EMPTY;
+        size--;
+    }
+
+    private int slot(long key) {
+        // Fibonacci hashing: the top bits of the product depend on every bit of the key
+        return (int) ((key * 0x9E3779B97F4A7C15L) >>> shift);
+    }
+
+    private void allocate(int capacity) {
+        long[] oldKeys = keys;
+        int[] oldValues = values;
+        keys = new long[capacity];
+        values = new int[capacity];
+        mask = capacity - 1;
+        shift = Long.numberOfLeadingZeros(capacity) + 1;
+        size = 0;
+        for (int i = 0; i < oldValues.length; i++) {
+            if (oldValues[i] != EMPTY) {
+                put(oldKeys[i], oldValues[i]);
+            }
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package treasurehunter;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Market Class<br /><br />
+ * Tracks supply and demand for every Item in one town so its Shop can move prices as hunters trade.
+ * Outside a World a game never comes back to a town, so it keeps one Market for every town it passes through.<p>
+ * Each purchase nudges the item's price up by a tenth of its base price and each sale nudges it down,
+ * between half and double the base price. The counts are kept in an AtomicIntegerArray,
+ * so any number of hunters can trade in the same town at once without taking a lock.
+ */
+
+public class Market {
+    // constants
+    private static final int STEPS_PER_BASE_PRICE = 10;
+    private static final int MIN_DEMAND = -STEPS_PER_BASE_PRICE / 2;
+    private static final int MAX_DEMAND = STEPS_PER_BASE_PRICE;
+
+    // instance variables
+    private final AtomicIntegerArray demand;
+
+    public Market() {
+        demand = new AtomicIntegerArray(Item.VALUES.length);
+    }
+
+    /**
+     * Works out the current price of an item.
+     *
+     * @param item The item being priced.
+     * @param basePrice The item's price when supply and demand are balanced.
+     * @return The price adjusted for the town's demand.
+     */
+    public int price(Item item, int basePrice) {
+        int steps = demand.get(item.ordinal());
+        return basePrice * (STEPS_PER_BASE_PRICE + steps) / STEPS_PER_BASE_PRICE;
+    }
+
+    /**
+     * Records that a hunter bought an item, raising its price.
+     *
+     * @param item The item that was bought.
+     */
+    public void recordPurchase(Item item) {
+        adjust(item.ordinal(), 1);
+    }
+
+    /**
+     * Records that a hunter sold an item, lowering its price.
+     *
+     * @param item The item that was sold.
+     */
+    public void recordSale(Item item) {
+        adjust(item.ordinal(), -1);
+    }
+
+    /**
+     * @param item The item in question.
+     * @return How many steps above (or below, if negative) its base price the item is.
+     */
+    public int getDemand(Item item) {
+        return demand.get(item.ordinal());
+    }
+
+    /**
+     * Puts an item's demand back to what a Snapshot saved.
+     *
+     * @param item The item in question.
+     * @param steps What getDemand() returned for it.
+     */
+    void restoreDemand(Item item, int steps) {
+        demand.set(item.ordinal(), Math.max(MIN_DEMAND, Math.min(MAX_DEMAND, steps)));
+    }
+
+    /**
+     * Moves an item's demand by one step, staying within the limits, using a compare-and-set loop.
+     */
+    private void adjust(int index, int change) {
+        int current;
+        int next;
+        do {
+            current = demand.get(index);
+            next = Math.max(MIN_DEMAND, Math.min(MAX_DEMAND, current + change));
+            if (next == current) {
+                return;
+            }
+        } while (!demand.compareAndSet(index, current, next));
+    }
+}
@@ -0,0 +1,180 @@
+package treasurehunter;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.LongAdder;
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+/**
+ * Metrics Class<br /><br />
+ * Counts what happens in every game played in this JVM and times every action, so we can see where time and gold go.<p>
+ * There is one LatencyHistogram per Action, and the counters are LongAdders, which spread their updates over
+ * separate cells when many threads add at once, so recording an event costs a few nanoseconds
+ * and never makes one session wait for another.<p>
+ * Turns are only timed in games played at a console, or headless games that ask with TreasureHunter.setTimed().
+ */
+
+public class Metrics implements MetricsMBean {
+    // constants
+    public static final Metrics GLOBAL = new Metrics();
+    private static final double[] QUANTILES = {0.5, 0.9, 0.99, 0.999};
+
+    // instance variables
+    private final LatencyHistogram[] latencies;
+    private final LongAdder goldIn;
+    private final LongAdder goldOut;
+    private final LongAdder itemsBroken;
+    private final LongAdder brawlsWon;
+    private final LongAdder brawlsLost;
+    private final LongAdder[] treasuresFound;
+
+    public Metrics() {
+        latencies = new LatencyHistogram[Action.values().length];
+        for (int i = 0; i < latencies.length; i++) {
+            latencies[i] = new LatencyHistogram();
+        }
+        goldIn = new LongAdder();
+        goldOut = new LongAdder();
+        itemsBroken = new LongAdder();
+        brawlsWon = new LongAdder();
+        brawlsLost = new LongAdder();
+        treasuresFound = new LongAdder[Mode.values().length];
+        for (int i = 0; i < treasuresFound.length; i++) {
+            treasuresFound[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * Records how long a turn took.
+     *
+     * @param action The action taken.
+     * @param nanos How long it took, not counting any time spent waiting for the player.
+     */
+    public void recordLatency(Action action, long nanos) {
+        latencies[action.ordinal()].record(nanos);
+    }
+
+    public void goldIn(int gold) {
+        goldIn.add(gold);
+    }
+
+    public void goldOut(int gold) {
+        goldOut.add(gold);
+    }
+
+    public void itemBroken() {
+        itemsBroken.increment();
+    }
+
+    public void brawlWon() {
+        brawlsWon.increment();
+    }
+
+    public void brawlLost() {
+        brawlsLost.increment();
+    }
+
+    public void treasureFound(Mode mode) {
+        treasuresFound[mode.ordinal()].increment();
+    }
+
+    public LatencyHistogram getLatency(Action action) {
+        return latencies[action.ordinal()];
+    }
+
+    @Override
+    public long getGoldIn() {
+        return goldIn.sum();
+    }
+
+    @Override
+    public long getGoldOut() {
+        return goldOut.sum();
+    }
+
+    @Override
+    public long getItemsBroken() {
+        return itemsBroken.sum();
+    }
+
+    @Override
+    public long getBrawlsWon() {
+        return brawlsWon.sum();
+    }
+
+    @Override
+    public long getBrawlsLost() {
+        return brawlsLost.sum();
+    }
+
+    @Override
+    public long getTreasuresFound() {
+        long found = 0;
+        for (LongAdder adder : treasuresFound) {
+            found += adder.sum();
+        }
+        return found;
+    }
+
+    public long getTreasuresFound(Mode mode) {
+        return treasuresFound[mode.ordinal()].sum();
+    }
+
+    @Override
+    public long getActionsTaken() {
+        long taken = 0;
+        for (LatencyHistogram histogram : latencies) {
+            taken += histogram.getCount();
+        }
+        return taken;
+    }
+
+    @Override
+    public long getLatencyNanos(String action, double quantile) {
+        return latencies[Action.valueOf(action.toUpperCase()).ordinal()].getValueAtQuantile(quantile);
+    }
+
+    /**
+     * Writes every metric as one "name{labels} value" line, the plain text format scrapers such as Prometheus read.
+     *
+     * @return The report.
+     */
+    @Override
+    public String getReport() {
+        StringBuilder report = new StringBuilder(4096);
+        for (Action action : Action.values()) {
+            LatencyHistogram histogram = latencies[action.ordinal()];
+            String label = action.name().toLowerCase();
+            for (double quantile : QUANTILES) {
+                report.append("treasurehunter_action_latency_nanos{action=\"").append(label)
+                        .append("\",quantile=\"").append(quantile).append("\"} ")
+                        .append(histogram.getValueAtQuantile(quantile)).append('\n');
+            }
+            report.append("treasurehunter_action_latency_nanos_max{action=\"").append(label).append("\"} ")
+                    .append(histogram.getMax()).append('\n');
+            report.append("treasurehunter_action_latency_nanos_sum{action=\"").append(label).append("\"} ")
+                    .append(histogram.getTotal()).append('\n');
+            report.append("treasurehunter_action_latency_nanos_count{action=\"").append(label).append("\"} ")
+                    .append(histogram.getCount()).append('\n');
+        }
+        report.append("treasurehunter_gold_in_total ").append(getGoldIn()).append('\n');
+        report.append("treasurehunter_gold_out_total ").append(getGoldOut()).append('\n');
+        report.append("treasurehunter_items_broken_total ").append(getItemsBroken()).append('\n');
+        report.append("treasurehunter_brawls_won_total ").append(getBrawlsWon()).append('\n');
+        report.append("treasurehunter_brawls_lost_total ").append(getBrawlsLost()).append('\n');
+        for (Mode mode : Mode.values()) {
+            report.append("treasurehunter_treasures_found_total{mode=\"").append(mode.name().toLowerCase()).append("\"} ")
+                    .append(getTreasuresFound(mode)).append('\n');
+        }
+        return report.toString();
+    }
+
+    /**
+     * Makes these metrics visible over JMX as treasurehunter:type=Metrics.
+     *
+     * @throws JMException If they are already registered.
+     */
+    public void register() throws JMException {
+        ManagementFactory.getPlatformMBeanServer().registerMBean(this, new ObjectName("treasurehunter:type=Metrics"));
+    }
+}
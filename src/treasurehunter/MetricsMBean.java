@@ -0,0 +1,34 @@
+package treasurehunter;
+
+/**
+ * MetricsMBean Interface<br /><br />
+ * What JMX clients such as jconsole can see of the game's Metrics.
+ */
+
+public interface MetricsMBean {
+    long getGoldIn();
+
+    long getGoldOut();
+
+    long getItemsBroken();
+
+    long getBrawlsWon();
+
+    long getBrawlsLost();
+
+    long getTreasuresFound();
+
+    long getActionsTaken();
+
+    /**
+     * @param action An action's name, such as "DIG".
+     * @param quantile The fraction of actions, from 0 to 1.
+     * @return How many nanoseconds that fraction of the action's turns took no longer than.
+     */
+    long getLatencyNanos(String action, double quantile);
+
+    /**
+     * @return Every metric in the same plain text format as the /metrics endpoint.
+     */
+    String getReport();
+}
@@ -0,0 +1,49 @@
+package treasurehunter;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.Executors;
+
+/**
+ * MetricsServer Class<br /><br />
+ * Serves a Metrics report as plain text at http://localhost:port/metrics for a scraper to collect.
+ */
+
+public class MetricsServer {
+    // instance variables
+    private final HttpServer server;
+    private final Metrics metrics;
+
+    /**
+     * Starts serving the report.
+     *
+     * @param port The port to listen on.
+     * @param metrics The metrics to report.
+     * @throws IOException If the port can't be opened.
+     */
+    public MetricsServer(int port, Metrics metrics) throws IOException {
+        this.metrics = metrics;
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        server.createContext("/metrics", this::scrape);
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.start();
+    }
+
+    private void scrape(HttpExchange exchange) throws IOException {
+        byte[] body = metrics.getReport().getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "text/plain; version=0.0.4; charset=utf-8");
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    public void stop() {
+        server.stop(0);
+    }
+}
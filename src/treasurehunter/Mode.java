@@ -0,0 +1,40 @@
+package treasurehunter;
+
+/**
+ * The Mode enum lists the difficulty modes a game of Treasure Hunter can be played in,
+ * along with the code the player types to pick each one.
+ */
+
+public enum Mode {
+    EASY("e"),
+    NORMAL("n"),
+    HARD("h"),
+    SAMURAI("s"),
+    TEST("test");
+
+    // instance variables
+    private final String code;
+
+    Mode(String code) {
+        this.code = code;
+    }
+
+    public String getCode() {
+        return code;
+    }
+
+    /**
+     * Looks up the mode for a code typed by the player.
+     *
+     * @param code The code entered at the mode prompt.
+     * @return The matching mode, or NORMAL if the code is not recognised.
+     */
+    public static Mode fromCode(String code) {
+        for (Mode mode : values()) {
+            if (mode.code.equals(code)) {
+                return mode;
+            }
+        }
+        return NORMAL;
+    }
+}
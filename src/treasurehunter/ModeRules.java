@@ -0,0 +1,113 @@
+package treasurehunter;
+
+import java.util.SplittableRandom;
+
+/**
+ * ModeRules Class<br /><br />
+ * One mode's row of the Rules, compiled into final fields: the starting gold and kit, the dig odds,
+ * the gold digs, brawls and the sword pay out, and the mode's Tuning.<p>
+ * A game looks its ModeRules up once, when its mode is chosen, so a turn reads each number from a field of an object
+ * it already holds rather than working out where the number is in the table.
+ */
+
+public final class ModeRules {
+    // instance variables
+    private final int startingGold;
+    private final int kitSize;
+    private final boolean fullKit;
+    private final double digOdds;
+    private final int digGold;
+    private final long digReciprocal;
+    private final int brawlGold;
+    private final long brawlReciprocal;
+    private final boolean sword;
+    private final int swordGold;
+    private final long swordReciprocal;
+    private final Tuning tuning;
+
+    /**
+     * @param ints The mode's row of whole-numbered rules, indexed by the Rules constants.
+     * @param digOdds The chance a dig turns up gold.
+     * @param tuning The mode's markdown and odds.
+     */
+    ModeRules(int[] ints, double digOdds, Tuning tuning) {
+        startingGold = ints[Rules.STARTING_GOLD];
+        kitSize = ints[Rules.KIT_SIZE];
+        fullKit = ints[Rules.FULL_KIT] != 0;
+        this.digOdds = digOdds;
+        digGold = ints[Rules.DIG_GOLD];
+        digReciprocal = Rules.reciprocal(digGold);
+        brawlGold = ints[Rules.BRAWL_GOLD];
+        brawlReciprocal = Rules.reciprocal(brawlGold);
+        sword = ints[Rules.SWORD] != 0;
+        swordGold = ints[Rules.SWORD_GOLD];
+        swordReciprocal = Rules.reciprocal(swordGold);
+        this.tuning = tuning;
+    }
+
+    public int getStartingGold() {
+        return startingGold;
+    }
+
+    public int getKitSize() {
+        return kitSize;
+    }
+
+    /**
+     * @return true if the hunter starts with every item needed to cross a terrain.
+     */
+    public boolean isFullKit() {
+        return fullKit;
+    }
+
+    public double getDigOdds() {
+        return digOdds;
+    }
+
+    public int getDigGold() {
+        return digGold;
+    }
+
+    public int getBrawlGold() {
+        return brawlGold;
+    }
+
+    /**
+     * @return true if a hunter holding any treasure has a sword.
+     */
+    public boolean hasSword() {
+        return sword;
+    }
+
+    public int getSwordGold() {
+        return swordGold;
+    }
+
+    public Tuning getTuning() {
+        return tuning;
+    }
+
+    /**
+     * @param random The game's random numbers.
+     * @return The gold a dig pays, from 1 up to the mode's dig-gold.
+     */
+    public int rollDigGold(SplittableRandom random) {
+        return Rules.nextInt(random, digGold, digReciprocal) + 1;
+    }
+
+    /**
+     * @param random The game's random numbers.
+     * @return The gold a brawl is fought for, from 1 up to the mode's brawl-gold.
+     */
+    public int rollBrawlGold(SplittableRandom random) {
+        return Rules.nextInt(random, brawlGold, brawlReciprocal) + 1;
+    }
+
+    /**
+     * @param random The game's random numbers.
+     * @return The gold a brawl with the sword wins, from 1 up to the mode's sword-gold.
+     */
+    public int rollSwordGold(SplittableRandom random) {
+        return Rules.nextInt(random, swordGold, swordReciprocal) + 1;
+    }
+}
@@ -0,0 +1,74 @@
+package treasurehunter;
+
+/**
+ * A Policy decides what a bot does on each turn when the game is played by the BotDriver.<p>
+ * Unlike a Strategy it only sees the game through a read-only GameView, and it names items
+ * rather than typing them, so a policy can't change the game except by the moves it picks.
+ */
+
+public interface Policy {
+
+    /**
+     * Called before the first turn of every game, since one policy plays game after game.
+     *
+     * @param view The game about to be played.
+     */
+    default void startGame(GameView view) {
+    }
+
+    /**
+     * Picks the next action for the hunter.
+     *
+     * @param view The game being played.
+     * @return The action to take this turn; EXIT ends the game.
+     */
+    Action nextAction(GameView view);
+
+    /**
+     * Picks the item to trade when nextAction returned BUY or SELL.
+     *
+     * @param view The game being played.
+     * @param action The shop action that was chosen.
+     * @return The item to buy or sell, or null to let the turn pass without trading.
+     */
+    Item itemToTrade(GameView view, Action action);
+
+    /**
+     * Picks routine actions to play over and over as one batch, the way a player fast-forwards, rather than
+     * one turn at a time. Called before every turn; the driver may play fewer rounds than asked for, and plays
+     * none if the game is nearly out of turns, asking nextAction instead.
+     *
+     * @param view The game being played.
+     * @return The batch to play, or null to pick this turn with nextAction.
+     */
+    default Batch nextBatch(GameView view) {
+        return null;
+    }
+
+    /**
+     * Called after a batch from nextBatch has been played.
+     *
+     * @param view The game being played.
+     * @param turns How many turns the batch took; fewer than asked for if it stopped early.
+     */
+    default void batchPlayed(GameView view, int turns) {
+    }
+
+    /**
+     * Actions for TreasureHunter.fastForward, and how many times to take them.
+     *
+     * @param actions The routine actions to take, in order, in each round.
+     * @param rounds How many rounds to play at most.
+     */
+    record Batch(Action[] actions, int rounds) {
+
+        /**
+         * @throws IllegalArgumentException If there are no actions or no rounds.
+         */
+        public Batch {
+            if (actions.length == 0 || rounds < 1) {
+                throw new IllegalArgumentException("A batch needs at least one action and one round");
+            }
+        }
+    }
+}
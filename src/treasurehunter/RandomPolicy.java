@@ -0,0 +1,33 @@
+package treasurehunter;
+
+import java.util.SplittableRandom;
+
+/**
+ * A Policy that picks any move that changes the game, and any item to trade, at random.
+ * It is a baseline to compare other policies against, and it pokes at corners of the rules a sensible bot never reaches.
+ */
+
+public class RandomPolicy implements Policy {
+    // constants
+    private static final Action[] MOVES = {
+            Action.BUY, Action.SELL, Action.MOVE, Action.LOOK_FOR_TROUBLE, Action.DIG, Action.HUNT
+    };
+
+    // instance variables
+    private final SplittableRandom random;
+
+    /**
+     * @param seed Where the policy's random choices start from.
+     */
+    public RandomPolicy(long seed) {
+        random = new SplittableRandom(seed);
+    }
+
+    public Action nextAction(GameView view) {
+        return MOVES[random.nextInt(MOVES.length)];
+    }
+
+    public Item itemToTrade(GameView view, Action action) {
+        return Item.VALUES[random.nextInt(Item.VALUES.length)];
+    }
+}
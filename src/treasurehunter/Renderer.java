@@ -0,0 +1,204 @@
+package treasurehunter;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Renderer Class<br /><br />
+ * Collects everything a game prints during a turn in one reusable byte buffer and hands it to the
+ * real output in a single write when the game flushes, which it does once per turn just before waiting for input.<p>
+ * The game's PrintStream writes into the Renderer, and the menu writes into it directly using the
+ * append methods and the precomputed byte templates below, so repainting the menu builds no Strings.
+ */
+
+public class Renderer extends OutputStream {
+    // constants
+    private static final int INITIAL_CAPACITY = 4096;
+
+    public static final byte[] NEWLINE = bytes(System.lineSeparator());
+    public static final byte[] RESET = bytes(Colors.RESET);
+    public static final byte[] RED = bytes(Colors.RED);
+    public static final byte[] YELLOW = bytes(Colors.YELLOW);
+    public static final byte[] PURPLE = bytes(Colors.PURPLE);
+    public static final byte[] CYAN = bytes(Colors.CYAN);
+    private static final byte[] LONG_MIN = bytes(Long.toString(Long.MIN_VALUE));
+
+    /** The fixed part of the menu, from the first option down to the prompt. */
+    public static final byte[] MENU = bytes("(B)uy something at the shop." + System.lineSeparator()
+            + "(S)ell something at the shop." + System.lineSeparator()
+            + "(E)xplore surrounding terrain." + System.lineSeparator()
+            + "(M)ove on to a different town." + System.lineSeparator()
+            + "(L)ook for trouble!" + System.lineSeparator()
+            + "(D)ig for Gold." + System.lineSeparator()
+            + "(H)unt for treasure." + System.lineSeparator()
+            + "(F)ast-forward through moves, e.g. fldhm 10 for ten rounds of them." + System.lineSeparator()
+            + "Give up the hunt and e(X)it." + System.lineSeparator()
+            + System.lineSeparator()
+            + "What's your next move? ");
+
+    // instance variables
+    private final OutputStream sink;
+    private byte[] buffer;
+    private int size;
+
+    /**
+     * @param sink Where the buffered output goes when the renderer is flushed.
+     */
+    public Renderer(OutputStream sink) {
+        this.sink = sink;
+        buffer = new byte[INITIAL_CAPACITY];
+        size = 0;
+    }
+
+    /**
+     * Encodes text as UTF-8 for use as a template.
+     *
+     * @param text The text to encode.
+     * @return The encoded bytes.
+     */
+    public static byte[] bytes(String text) {
+        return text.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public void write(int b) {
+        ensureCapacity(1);
+        buffer[size++] = (byte) b;
+    }
+
+    @Override
+    public void write(byte[] bytes, int offset, int length) {
+        ensureCapacity(length);
+        System.arraycopy(bytes, offset, buffer, size, length);
+        size += length;
+    }
+
+    /**
+     * Appends a precomputed template.
+     *
+     * @param template The bytes to append.
+     * @return This renderer, so appends can be chained.
+     */
+    public Renderer append(byte[] template) {
+        write(template, 0, template.length);
+        return this;
+    }
+
+    /**
+     * Appends text, encoding it as UTF-8 straight into the buffer.
+     *
+     * @param text The text to append.
+     * @return This renderer, so appends can be chained.
+     */
+    public Renderer append(CharSequence text) {
+        int length = text.length();
+        // every char takes at most three bytes
+        ensureCapacity(length * 3);
+        for (int i = 0; i < length; i++) {
+            char c = text.charAt(i);
+            if (c < 0x80) {
+                buffer[size++] = (byte) c;
+            } else if (c < 0x800) {
+                buffer[size++] = (byte) (0xC0 | (c >> 6));
+                buffer[size++] = (byte) (0x80 | (c & 0x3F));
+            } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(text.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(c, text.charAt(++i));
+                buffer[size++] = (byte) (0xF0 | (codePoint >> 18));
+                buffer[size++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+                buffer[size++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+                buffer[size++] = (byte) (0x80 | (codePoint & 0x3F));
+            } else {
+                buffer[size++] = (byte) (0xE0 | (c >> 12));
+                buffer[size++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                buffer[size++] = (byte) (0x80 | (c & 0x3F));
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Appends a number in decimal without turning it into a String first.
+     *
+     * @param value The number to append.
+     * @return This renderer, so appends can be chained.
+     */
+    public Renderer append(int value) {
+        return append((long) value);
+    }
+
+    /**
+     * Appends a number in decimal without turning it into a String first.
+     *
+     * @param value The number to append.
+     * @return This renderer, so appends can be chained.
+     */
+    public Renderer append(long value) {
+        if (value == Long.MIN_VALUE) {
+            // the only long whose negation doesn't fit in a long
+            return append(LONG_MIN);
+        }
+        // the longest long is a sign and nineteen digits
+        ensureCapacity(20);
+        long remaining = value;
+        if (remaining < 0) {
+            buffer[size++] = '-';
+            remaining = -remaining;
+        }
+        int digits = 1;
+        for (long limit = 10; limit <= remaining && digits < 19; limit *= 10) {
+            digits++;
+        }
+        for (int i = size + digits - 1; i >= size; i--) {
+            buffer[i] = (byte) ('0' + remaining % 10);
+            remaining /= 10;
+        }
+        size += digits;
+        return this;
+    }
+
+    /**
+     * Ends the current line.
+     *
+     * @return This renderer, so appends can be chained.
+     */
+    public Renderer newline() {
+        return append(NEWLINE);
+    }
+
+    /**
+     * Writes everything buffered this turn to the sink in one go and empties the buffer.
+     */
+    @Override
+    public void flush() throws IOException {
+        if (size > 0) {
+            sink.write(buffer, 0, size);
+            size = 0;
+        }
+        sink.flush();
+    }
+
+    /**
+     * Writes out whatever is still buffered, then closes the sink.
+     */
+    @Override
+    public void close() throws IOException {
+        flush();
+        sink.close();
+    }
+
+    /**
+     * @return How many bytes are waiting to be written.
+     */
+    public int size() {
+        return size;
+    }
+
+    private void ensureCapacity(int extra) {
+        if (size + extra > buffer.length) {
+            byte[] bigger = new byte[Math.max(buffer.length * 2, size + extra)];
+            System.arraycopy(buffer, 0, bigger, 0, size);
+            buffer = bigger;
+        }
+    }
+}
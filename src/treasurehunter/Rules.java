@@ -0,0 +1,540 @@
+package treasurehunter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Rules Class<br /><br />
+ * Every number the game is played by, in each mode: the hunter's starting gold and kit, the odds of tough towns,
+ * brawls, digs and broken items, the gold brawls and digs pay out, whether a treasure doubles as a sword,
+ * and what each item costs.<p>
+ * The standard rules are the ones the game has always had. Designers can try out others by writing a file like
+ * data/rules.txt, with one line per rule giving its value in each mode in turn (easy, normal, hard, samurai, test)
+ * and one line per item price, for example
+ * <pre>dig-odds    0.5 0.5 0.5 0.5 0.5
+ * price shovel 8</pre>
+ * and starting the game with -Dtreasurehunter.rules=file. Lines starting with # are skipped, and anything the
+ * file leaves out keeps its standard value.<p>
+ * A file is compiled once into a flat table, a row of numbers per mode indexed by the rule constants below,
+ * along with a Tuning for each mode and the shop listings, so the rules look a number up with one array load
+ * where they used to have it written into their branches. Each mode's row is also compiled into a ModeRules,
+ * which a game looks up once when its mode is chosen, so its turns read final fields. Which random numbers the rules draw, and in what order,
+ * stays in the code; that is what makes a seeded game the same game under any rules.<p>
+ * A game takes the active rules when it's made and keeps them to the end. setActive() swaps in new rules for
+ * every game started after it, and watch() does that whenever a rules file is saved, so a running GameServer
+ * can try a variant without being rebuilt or restarted. A game that isn't played by the standard rules has its rules
+ * written into its EventLog and Snapshot, as getValues() and a hash of them, so a replay or a resumed game is played
+ * by the rules it started with whatever rules are active by then.
+ */
+
+public final class Rules {
+    // constants
+    public static final String PROPERTY = "treasurehunter.rules";
+
+    // the rules, as indexes into a mode's row of the table
+    public static final int STARTING_GOLD = 0;
+    public static final int KIT_SIZE = 1;
+    /** 1 if the hunter starts with every item needed to cross a terrain. */
+    public static final int FULL_KIT = 2;
+    public static final int MARKDOWN = 3;
+    public static final int TOUGHNESS = 4;
+    public static final int TOUGH_TOWN_ODDS = 5;
+    public static final int QUIET_TOWN_ODDS = 6;
+    public static final int BREAK_CHANCE = 7;
+    public static final int DIG_ODDS = 8;
+    /** Digs and brawls pay out from 1 gold up to this much. */
+    public static final int DIG_GOLD = 9;
+    public static final int BRAWL_GOLD = 10;
+    /** 1 if a hunter holding any treasure has a sword, which wins every brawl and gets every item for nothing. */
+    public static final int SWORD = 11;
+    public static final int SWORD_GOLD = 12;
+    private static final String[] NAMES = {"starting-gold", "kit-size", "full-kit", "markdown", "toughness",
+            "tough-town-odds", "quiet-town-odds", "break-chance", "dig-odds", "dig-gold", "brawl-gold", "sword", "sword-gold"};
+    private static final int COUNT = NAMES.length;
+    /** How many numbers getValues() gives: every rule in every mode, then every price. */
+    public static final int VALUES = Mode.values().length * COUNT + Item.VALUES.length;
+    /** The rules that are chances or fractions, from 0 to 1; the rest are whole numbers. */
+    private static final int[] ODDS = {MARKDOWN, TOUGHNESS, TOUGH_TOWN_ODDS, QUIET_TOWN_ODDS, BREAK_CHANCE, DIG_ODDS};
+    private static final int[] YES_OR_NO = {FULL_KIT, SWORD};
+    private static final int[] GOLD_BOUNDS = {DIG_GOLD, BRAWL_GOLD, SWORD_GOLD};
+    /** A full kit is the six crossing items Hunter.fullKit() hands out. */
+    private static final int FULL_KIT_ITEMS = 6;
+    private static final Mode[] MODES = Mode.values();
+
+    private static final Rules STANDARD = new Rules(standardTable(), standardPrices());
+    private static volatile Rules active = loadActive();
+
+    // instance variables
+    private final double[] table;
+    private final int[] ints;
+    private final long[] reciprocals;
+    private final int[] prices;
+    private final Tuning[] tunings;
+    private final ModeRules[] modeRules;
+    private final long hash;
+    private final String listing;
+    private final String samuraiListing;
+    private final byte[] listingBytes;
+    private final byte[] samuraiListingBytes;
+
+    /**
+     * Compiles a table of rules.
+     *
+     * @param table A row of COUNT numbers for each mode, in Mode order, indexed by the rule constants.
+     * @param prices The price of each item, indexed by Item ordinal.
+     * @throws IllegalArgumentException If a number is missing or out of range: odds outside 0 to 1, a fraction
+     *                                  where a whole number belongs, a negative price, or a full kit that doesn't fit.
+     */
+    public Rules(double[] table, int[] prices) {
+        check(table, prices);
+        this.table = table.clone();
+        this.prices = prices.clone();
+        ints = new int[table.length];
+        reciprocals = new long[table.length];
+        for (int i = 0; i < table.length; i++) {
+            ints[i] = (int) table[i];
+            reciprocals[i] = reciprocal(ints[i]);
+        }
+        tunings = new Tuning[MODES.length];
+        modeRules = new ModeRules[MODES.length];
+        for (Mode mode : MODES) {
+            int row = mode.ordinal() * COUNT;
+            tunings[mode.ordinal()] = new Tuning(table[row + MARKDOWN], table[row + TOUGHNESS],
+                    table[row + TOUGH_TOWN_ODDS], table[row + QUIET_TOWN_ODDS], table[row + BREAK_CHANCE]);
+            modeRules[mode.ordinal()] = new ModeRules(Arrays.copyOfRange(ints, row, row + COUNT),
+                    table[row + DIG_ODDS], tunings[mode.ordinal()]);
+        }
+        // the sword is last in the catalogue and only for sale in samurai mode
+        listing = Shop.listing(this.prices, Item.SWORD.ordinal());
+        samuraiListing = Shop.listing(this.prices, Item.VALUES.length);
+        listingBytes = Renderer.bytes(listing);
+        samuraiListingBytes = Renderer.bytes(samuraiListing);
+        // 64-bit FNV-1a over every number, so a log can name the rules a game was played by in one record
+        long h = 0xcbf29ce484222325L;
+        for (double value : table) {
+            h = (h ^ Double.doubleToLongBits(value)) * 0x100000001b3L;
+        }
+        for (int price : prices) {
+            h = (h ^ Double.doubleToLongBits(price)) * 0x100000001b3L;
+        }
+        hash = h;
+    }
+
+    /**
+     * Rebuilds rules from the numbers getValues() gave. If they are the active or standard rules,
+     * those are handed back rather than a copy, so games restored by them share them with new games.
+     *
+     * @param values VALUES numbers, as getValues() gives them.
+     * @return The rules.
+     * @throws IllegalArgumentException If there aren't VALUES numbers or one of them is out of range.
+     */
+    public static Rules of(double[] values) {
+        if (values.length != VALUES) {
+            throw new IllegalArgumentException("Rules need " + VALUES + " numbers");
+        }
+        double[] table = Arrays.copyOf(values, MODES.length * COUNT);
+        int[] prices = new int[Item.VALUES.length];
+        for (int i = 0; i < prices.length; i++) {
+            double price = values[table.length + i];
+            if (price != (int) price) {
+                throw new IllegalArgumentException("The price of " + Item.VALUES[i].getName() + " must be a whole number");
+            }
+            prices[i] = (int) price;
+        }
+        for (Rules known : new Rules[] {active, STANDARD}) {
+            if (Arrays.equals(table, known.table) && Arrays.equals(prices, known.prices)) {
+                return known;
+            }
+        }
+        return new Rules(table, prices);
+    }
+
+    /**
+     * Checks every number a table of rules gives before it is compiled.
+     *
+     * @throws IllegalArgumentException If a number is missing or out of range.
+     */
+    private static void check(double[] table, int[] prices) {
+        if (table.length != MODES.length * COUNT || prices.length != Item.VALUES.length) {
+            throw new IllegalArgumentException("Rules need " + COUNT + " numbers for each mode and a price for each item");
+        }
+        for (Mode mode : MODES) {
+            int row = mode.ordinal() * COUNT;
+            String inMode = " in " + mode.name().toLowerCase() + " mode";
+            for (int rule = 0; rule < COUNT; rule++) {
+                double value = table[row + rule];
+                if (contains(ODDS, rule)) {
+                    if (!(value >= 0 && value <= 1)) {
+                        throw new IllegalArgumentException(NAMES[rule] + " must be from 0 to 1" + inMode);
+                    }
+                } else if (!(value >= 0 && value <= Integer.MAX_VALUE) || value != Math.floor(value)) {
+                    throw new IllegalArgumentException(NAMES[rule] + " must be a whole number of at least 0" + inMode);
+                } else if (contains(YES_OR_NO, rule) && value > 1) {
+                    throw new IllegalArgumentException(NAMES[rule] + " must be 1 for yes or 0 for no" + inMode);
+                } else if (contains(GOLD_BOUNDS, rule) && value < 1) {
+                    throw new IllegalArgumentException(NAMES[rule] + " must be at least 1" + inMode);
+                }
+            }
+            if (table[row + FULL_KIT] == 1 && table[row + KIT_SIZE] < FULL_KIT_ITEMS) {
+                throw new IllegalArgumentException("kit-size must be at least " + FULL_KIT_ITEMS + " for a full kit" + inMode);
+            }
+        }
+        for (Item item : Item.VALUES) {
+            if (prices[item.ordinal()] < 0) {
+                throw new IllegalArgumentException("The price of " + item.getName() + " can't be less than 0");
+            }
+        }
+    }
+
+    private static boolean contains(int[] rules, int rule) {
+        for (int r : rules) {
+            if (r == rule) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return The rules new games are played by: the last ones swapped in, or the designer's file if one was given,
+     *         or the standard ones.
+     */
+    public static Rules get() {
+        return active;
+    }
+
+    public static Rules standard() {
+        return STANDARD;
+    }
+
+    /**
+     * Swaps in the rules every game started from now on is played by. Games already going keep theirs.
+     *
+     * @param rules The new rules.
+     */
+    public static void setActive(Rules rules) {
+        active = rules;
+    }
+
+    private static Rules loadActive() {
+        String file = System.getProperty(PROPERTY);
+        if (file == null) {
+            return STANDARD;
+        }
+        try {
+            return load(Path.of(file));
+        } catch (IOException e) {
+            throw new UncheckedIOException("The rules " + file + " couldn't be read", e);
+        }
+    }
+
+    private static double[] standardTable() {
+        double[] table = new double[MODES.length * COUNT];
+        for (Mode mode : MODES) {
+            int row = mode.ordinal() * COUNT;
+            table[row + STARTING_GOLD] = 20;
+            table[row + KIT_SIZE] = 7;
+            table[row + MARKDOWN] = 0.5;
+            table[row + TOUGHNESS] = 0.4;
+            table[row + TOUGH_TOWN_ODDS] = 0.66;
+            table[row + QUIET_TOWN_ODDS] = 0.33;
+            table[row + BREAK_CHANCE] = 0.5;
+            table[row + DIG_ODDS] = 0.5;
+            table[row + DIG_GOLD] = 20;
+            table[row + BRAWL_GOLD] = 10;
+            table[row + SWORD] = 1;
+            table[row + SWORD_GOLD] = 10;
+        }
+        // easy mode starts richer, gets full price back for items and has fewer tough towns
+        table[Mode.EASY.ordinal() * COUNT + STARTING_GOLD] = 40;
+        table[Mode.EASY.ordinal() * COUNT + MARKDOWN] = 1.0;
+        table[Mode.EASY.ordinal() * COUNT + TOUGHNESS] = 0.2;
+        // in hard mode you get less money back when you sell items and the towns are "tougher"
+        table[Mode.HARD.ordinal() * COUNT + MARKDOWN] = 0.25;
+        table[Mode.HARD.ordinal() * COUNT + TOUGHNESS] = 0.75;
+        // a samurai can also carry the sword
+        table[Mode.SAMURAI.ordinal() * COUNT + KIT_SIZE] = 8;
+        // a test hunter starts rich, with a full kit of the six crossing items
+        table[Mode.TEST.ordinal() * COUNT + STARTING_GOLD] = 100;
+        table[Mode.TEST.ordinal() * COUNT + KIT_SIZE] = 6;
+        table[Mode.TEST.ordinal() * COUNT + FULL_KIT] = 1;
+        return table;
+    }
+
+    private static int[] standardPrices() {
+        int[] prices = new int[Item.VALUES.length];
+        prices[Item.WATER.ordinal()] = 2;
+        prices[Item.ROPE.ordinal()] = 4;
+        prices[Item.MACHETE.ordinal()] = 6;
+        prices[Item.HORSE.ordinal()] = 12;
+        prices[Item.BOAT.ordinal()] = 20;
+        prices[Item.BOOT.ordinal()] = 6;
+        prices[Item.SHOVEL.ordinal()] = 8;
+        prices[Item.SWORD.ordinal()] = 0;
+        return prices;
+    }
+
+    /**
+     * Reads rules from a file; anything the file doesn't give keeps its standard value.
+     *
+     * @param path The file.
+     * @return The compiled rules.
+     * @throws IOException If the file can't be read, a line can't be understood, or a number is out of range.
+     */
+    public static Rules load(Path path) throws IOException {
+        double[] table = STANDARD.table.clone();
+        int[] prices = STANDARD.prices.clone();
+        int lineNumber = 0;
+        for (String line : Files.readAllLines(path)) {
+            lineNumber++;
+            String trimmed = line.strip();
+            if (trimmed.isEmpty() || trimmed.startsWith("#")) {
+                continue;
+            }
+            String[] fields = trimmed.split("\\s+");
+            try {
+                if (fields[0].equals("price")) {
+                    Item item = (fields.length == 3) ? Item.fromName(fields[1].toLowerCase()) : null;
+                    if (item == null) {
+                        throw new IOException(path + " line " + lineNumber + ": expected price, an item and its price");
+                    }
+                    prices[item.ordinal()] = Integer.parseInt(fields[2]);
+                    continue;
+                }
+                int rule = indexOf(fields[0]);
+                if (rule < 0 || fields.length != 1 + MODES.length) {
+                    throw new IOException(path + " line " + lineNumber + ": expected a rule and a value for each of the "
+                            + MODES.length + " modes");
+                }
+                for (Mode mode : MODES) {
+                    table[mode.ordinal() * COUNT + rule] = Double.parseDouble(fields[1 + mode.ordinal()]);
+                }
+            } catch (NumberFormatException e) {
+                throw new IOException(path + " line " + lineNumber + ": " + e.getMessage() + " isn't a number", e);
+            }
+        }
+        if (Arrays.equals(table, STANDARD.table) && Arrays.equals(prices, STANDARD.prices)) {
+            // a copy of the standard rules, such as data/rules.txt, plays and is logged as the standard rules
+            return STANDARD;
+        }
+        try {
+            return new Rules(table, prices);
+        } catch (IllegalArgumentException e) {
+            // reported like any other bad file, so a watched file with a bad number keeps the rules already active
+            throw new IOException(path + ": " + e.getMessage(), e);
+        }
+    }
+
+    private static int indexOf(String name) {
+        for (int i = 0; i < COUNT; i++) {
+            if (NAMES[i].equals(name)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Loads rules from a file now, and again every time it is saved, on a daemon thread, until the program ends.
+     * A saved file that can't be understood is reported and the rules already active are kept.
+     *
+     * @param path The file.
+     * @throws IOException If the file can't be read the first time, or its directory can't be watched.
+     */
+    public static void watch(Path path) throws IOException {
+        setActive(load(path));
+        Path file = path.toAbsolutePath();
+        WatchService watcher = file.getFileSystem().newWatchService();
+        file.getParent().register(watcher, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+        Thread thread = new Thread(() -> {
+            try {
+                while (true) {
+                    WatchKey key = watcher.take();
+                    boolean changed = false;
+                    for (WatchEvent<?> event : key.pollEvents()) {
+                        changed |= file.getFileName().equals(event.context());
+                    }
+                    key.reset();
+                    if (changed) {
+                        reload(file);
+                    }
+                }
+            } catch (InterruptedException | ClosedWatchServiceException e) {
+                // the watch is over
+            }
+        }, "rules-watcher");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private static void reload(Path file) {
+        try {
+            setActive(load(file));
+            System.out.println("New games are played by the rules in " + file);
+        } catch (IOException e) {
+            System.out.println("The rules in " + file + " couldn't be loaded, so they haven't changed: " + e.getMessage());
+        }
+    }
+
+    /**
+     * @param mode A mode.
+     * @param rule One of the rule constants.
+     * @return The rule's value in that mode.
+     */
+    public double get(Mode mode, int rule) {
+        return table[mode.ordinal() * COUNT + rule];
+    }
+
+    /**
+     * @param mode A mode.
+     * @param rule One of the rule constants that counts gold, items or a yes (1) or no (0).
+     * @return The rule's value in that mode.
+     */
+    public int getInt(Mode mode, int rule) {
+        return ints[mode.ordinal() * COUNT + rule];
+    }
+
+    /**
+     * Draws a number from 0 up to, but not including, a rule's value, from exactly the random numbers
+     * random.nextInt(value) would draw, so a seeded game comes out the same.<p>
+     * nextInt() takes a remainder by the bound, which costs a division unless the bound is a constant the JIT can
+     * turn into a multiplication. The rules' bounds are only known once they're loaded, so the reciprocal of each
+     * is worked out then, and the remainder is taken with two multiplications instead (Lemire's fastmod).
+     *
+     * @param random The game's random numbers.
+     * @param mode A mode.
+     * @param rule One of the gold rules.
+     * @return The number drawn.
+     */
+    public int nextInt(SplittableRandom random, Mode mode, int rule) {
+        int index = mode.ordinal() * COUNT + rule;
+        return nextInt(random, ints[index], reciprocals[index]);
+    }
+
+    /**
+     * @param bound A bound for nextInt().
+     * @return The reciprocal that turns a remainder by the bound into two multiplications, or 0 if there is none.
+     */
+    static long reciprocal(int bound) {
+        return (bound > 0) ? Long.divideUnsigned(-1L, bound) + 1 : 0;
+    }
+
+    /**
+     * Draws a number from 0 up to, but not including, the bound, the way random.nextInt(bound) would.
+     *
+     * @param random The game's random numbers.
+     * @param bound The bound, at least 1.
+     * @param reciprocal The bound's reciprocal().
+     * @return The number drawn.
+     */
+    static int nextInt(SplittableRandom random, int bound, long reciprocal) {
+        int r = random.nextInt();
+        int m = bound - 1;
+        if ((bound & m) == 0) {
+            return r & m;
+        }
+        // the same rejection as nextInt(bound), so the draws are the same however many it takes
+        for (int u = r >>> 1; u + m - (r = (int) Math.unsignedMultiplyHigh(reciprocal * u, bound)) < 0; u = random.nextInt() >>> 1) {
+            // try again
+        }
+        return r;
+    }
+
+    /**
+     * @param mode A mode.
+     * @return That mode's markdown and odds.
+     */
+    public Tuning getTuning(Mode mode) {
+        return tunings[mode.ordinal()];
+    }
+
+    /**
+     * @param mode A mode.
+     * @return That mode's rules, compiled for a game to keep.
+     */
+    public ModeRules forMode(Mode mode) {
+        return modeRules[mode.ordinal()];
+    }
+
+    /**
+     * @param item An item.
+     * @return What the item costs in a shop without a Market.
+     */
+    public int getPrice(Item item) {
+        return prices[item.ordinal()];
+    }
+
+    /**
+     * The item prices, indexed by Item ordinal, for shops to look up without a call. Not to be changed.
+     */
+    int[] prices() {
+        return prices;
+    }
+
+    /**
+     * @param samurai true for the listing with the sword on it.
+     * @return A shop's listing of its items and their prices.
+     */
+    String listing(boolean samurai) {
+        return samurai ? samuraiListing : listing;
+    }
+
+    byte[] listingBytes(boolean samurai) {
+        return samurai ? samuraiListingBytes : listingBytes;
+    }
+
+    /**
+     * @return Every rule in every mode, in Mode order, then the price of every item, in Item order,
+     *         so they can be saved and read back with of().
+     */
+    public double[] getValues() {
+        double[] values = Arrays.copyOf(table, VALUES);
+        for (int i = 0; i < prices.length; i++) {
+            values[table.length + i] = prices[i];
+        }
+        return values;
+    }
+
+    /**
+     * @return A 64-bit hash of getValues(), the same for any two Rules with the same numbers.
+     */
+    public long getHash() {
+        return hash;
+    }
+
+    /**
+     * @return The rules written out the way a rules file gives them, so they can be saved and loaded back.
+     */
+    public String infoString() {
+        StringBuilder str = new StringBuilder(String.format("# %-15s", "rule"));
+        for (Mode mode : MODES) {
+            str.append(String.format(" %7s", mode.name().toLowerCase()));
+        }
+        str.append('\n');
+        for (int rule = 0; rule < COUNT; rule++) {
+            str.append(String.format("%-17s", NAMES[rule]));
+            for (Mode mode : MODES) {
+                str.append(String.format(" %7s", format(get(mode, rule))));
+            }
+            str.append('\n');
+        }
+        str.append("#\n# item price\n");
+        for (Item item : Item.VALUES) {
+            str.append(String.format("price %-11s %7d", item.getName(), getPrice(item))).append('\n');
+        }
+        return str.toString();
+    }
+
+    private static String format(double value) {
+        return (value == (long) value) ? Long.toString((long) value) : Double.toString(value);
+    }
+}
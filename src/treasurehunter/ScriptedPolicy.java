@@ -0,0 +1,84 @@
+package treasurehunter;
+
+/**
+ * A Policy that plays the same moves over and over, starting again from the top every game.<p>
+ * The script uses BatchRunner's moves: one of the menu keys e, m, l, d, h or x, or b:item or s:item
+ * to buy or sell an item, separated by spaces or commas; for example <code>b:shovel,d,h,l,m</code>.
+ * An x ends the game; otherwise the script repeats until the game is won or lost.
+ * A script with no trades and no x is played in batches, a whole run of rounds at a time.
+ */
+
+public class ScriptedPolicy implements Policy {
+    // instance variables
+    private final Action[] actions;
+    private final Item[] items;
+    private final Batch batch;
+    private int next;
+
+    /**
+     * @param script The moves to play.
+     * @throws IllegalArgumentException If the script is empty or has a move or item that doesn't exist.
+     */
+    public ScriptedPolicy(String script) {
+        String[] moves = script.trim().split("[\\s,]+");
+        if (moves.length == 0 || moves[0].isEmpty()) {
+            throw new IllegalArgumentException("Empty script");
+        }
+        actions = new Action[moves.length];
+        items = new Item[moves.length];
+        for (int i = 0; i < moves.length; i++) {
+            String move = moves[i].toLowerCase();
+            if (move.length() > 2 && move.charAt(1) == ':' && (move.charAt(0) == 'b' || move.charAt(0) == 's')) {
+                actions[i] = Action.fromKey(move.charAt(0));
+                items[i] = Item.fromName(move.substring(2));
+                if (items[i] == null) {
+                    throw new IllegalArgumentException("No such item: " + move.substring(2));
+                }
+            } else if (move.length() == 1 && Action.fromKey(move.charAt(0)) != null
+                    && move.charAt(0) != 'b' && move.charAt(0) != 's') {
+                actions[i] = Action.fromKey(move.charAt(0));
+            } else {
+                throw new IllegalArgumentException("No such move: " + move);
+            }
+        }
+        boolean routine = true;
+        for (int i = 0; i < actions.length; i++) {
+            if (items[i] != null || actions[i] == Action.EXIT) {
+                routine = false;
+            }
+        }
+        batch = routine ? new Batch(actions, Integer.MAX_VALUE) : null;
+    }
+
+    public void startGame(GameView view) {
+        next = 0;
+    }
+
+    public Action nextAction(GameView view) {
+        Action action = actions[next];
+        // the item for a trade is asked for after the action, so only move on once it has been handed out
+        if (items[next] == null) {
+            advance();
+        }
+        return action;
+    }
+
+    public Item itemToTrade(GameView view, Action action) {
+        Item item = items[next];
+        advance();
+        return item;
+    }
+
+    public Batch nextBatch(GameView view) {
+        // a batch always starts from the top, so a script part way through a round finishes it a move at a time
+        return (next == 0) ? batch : null;
+    }
+
+    public void batchPlayed(GameView view, int turns) {
+        next = turns % actions.length;
+    }
+
+    private void advance() {
+        next = (next + 1) % actions.length;
+    }
+}
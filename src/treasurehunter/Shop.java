@@ -0,0 +1,284 @@
+package treasurehunter;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * The Shop class controls the cost of the items in the Treasure Hunt game. <p>
+ * The Shop class also acts as a go between for the Hunter's buyItem() method, and reports how each trade went
+ * on the game's EventBus rather than printing it. <p>
+ * Prices are looked up in tables indexed by Item; if the shop has a Market, prices follow the town's supply and demand. <p>
+ * This code has been adapted from Ivan Turner's original program -- thank you, Mr. Turner!
+ */
+
+public class Shop {
+    // constants
+    // listing labels, indexed by Item ordinal
+    private static final byte[][] LABELS = new byte[Item.VALUES.length][];
+    private static final byte[] GOLD_LINE = Renderer.bytes(" gold\n");
+
+    static {
+        LABELS[Item.WATER.ordinal()] = Renderer.bytes("Water: ");
+        LABELS[Item.ROPE.ordinal()] = Renderer.bytes("Rope: ");
+        LABELS[Item.MACHETE.ordinal()] = Renderer.bytes("Machete: ");
+        LABELS[Item.HORSE.ordinal()] = Renderer.bytes("Horse: ");
+        LABELS[Item.BOAT.ordinal()] = Renderer.bytes("Boat: ");
+        LABELS[Item.BOOT.ordinal()] = Renderer.bytes("Boot; ");
+        LABELS[Item.SHOVEL.ordinal()] = Renderer.bytes("Shovel; ");
+        LABELS[Item.SWORD.ordinal()] = Renderer.bytes("Sword; ");
+    }
+
+    // instance variables
+    private double markdown;
+    private int[] basePrices;
+    private int[] buyBackPrices;
+    private Rules rules;
+    private Market market;
+    private TreasureHunter treasureHunter;
+    private boolean hasSword;
+
+    /**
+     * The Shop constructor takes in a markdown value.
+     *
+     * @param markdown Percentage of markdown for selling items in decimal format.
+     */
+    public Shop(double markdown, TreasureHunter treasureHunter) {
+        this(markdown, treasureHunter, null);
+    }
+
+    /**
+     * Creates a shop whose prices follow the given market.
+     *
+     * @param markdown Percentage of markdown for selling items in decimal format.
+     * @param market The town's market, or null for fixed prices.
+     */
+    public Shop(double markdown, TreasureHunter treasureHunter, Market market) {
+        this.markdown = markdown;
+        this.treasureHunter = treasureHunter;
+        this.market = market;
+
+        // every shop in a game sells the same items at the prices in the game's rules
+        rules = treasureHunter.getRules();
+        basePrices = rules.prices();
+
+        // the markdown is applied once per item here rather than on every lookup
+        buyBackPrices = new int[basePrices.length];
+        for (int i = 0; i < basePrices.length; i++) {
+            buyBackPrices[i] = buyBack(basePrices[i]);
+        }
+    }
+
+    /**
+     * A method that returns a string showing the items available in the shop
+     * (all shops sell the same items).
+     *
+     * @return the string representing the shop's items available for purchase and their prices.
+     */
+    public String inventory() {
+        if (market != null) {
+            StringBuilder str = new StringBuilder();
+            for (int i = 0; i < listedItemCount(); i++) {
+                str.append(new String(LABELS[i], StandardCharsets.UTF_8)).append(getCostOfItem(Item.VALUES[i])).append(" gold\n");
+            }
+            return str.toString();
+        }
+        return rules.listing(treasureHunter.isSamuraiMode());
+    }
+
+    /**
+     * Writes the same listing as inventory() straight into the renderer.
+     *
+     * @param renderer Where to write the listing.
+     */
+    public void renderInventory(Renderer renderer) {
+        if (market == null) {
+            renderer.append(rules.listingBytes(treasureHunter.isSamuraiMode()));
+            return;
+        }
+        for (int i = 0; i < listedItemCount(); i++) {
+            renderer.append(LABELS[i]).append(getCostOfItem(Item.VALUES[i])).append(GOLD_LINE);
+        }
+    }
+
+    /**
+     * The sword is last in the catalogue and only for sale in samurai mode.
+     */
+    private int listedItemCount() {
+        return treasureHunter.isSamuraiMode() ? Item.VALUES.length : Item.SWORD.ordinal();
+    }
+
+    /**
+     * A method that lets a Hunter buy an item.
+     *
+     * @param hunter The hunter buying the item.
+     * @param item The item being bought.
+     */
+    public void buyItem(Hunter hunter, String item) {
+        int goldBefore = hunter.getGold();
+        if (purchase(hunter, item)) {
+            treasureHunter.getEvents().publish(EventType.ITEM_BOUGHT, goldBefore - hunter.getGold(), Item.fromName(item), null, null);
+        } else {
+            treasureHunter.getEvents().publish(EventType.PURCHASE_FAILED, Item.fromName(item));
+        }
+    }
+
+    /**
+     * Hands an item over for nothing to a hunter with a sword; the market doesn't count it as a sale,
+     * but the game's log records it as a purchase so the game can be replayed.
+     *
+     * @param hunter The hunter taking the item.
+     * @param item The item being taken.
+     */
+    public void surrenderItem(Hunter hunter, String item) {
+        if (hunter.buyItem(item, checkMarketPrice(item, true))) {
+            treasureHunter.logEvent(EventLog.ACTION, Action.BUY, Item.fromName(item));
+        }
+        treasureHunter.getEvents().publish(EventType.SWORD_GIFT, Item.fromName(item));
+    }
+
+    /**
+     * A pathway method that lets the Hunter sell an item.
+     *
+     * @param hunter The hunter selling the item.
+     * @param item The item being sold.
+     */
+    public void sellItem(Hunter hunter, String item) {
+        int goldBefore = hunter.getGold();
+        if (buyBack(hunter, item)) {
+            treasureHunter.getEvents().publish(EventType.ITEM_SOLD, hunter.getGold() - goldBefore, Item.fromName(item), null, null);
+        } else {
+            treasureHunter.getEvents().publish(EventType.SALE_FAILED, Item.fromName(item));
+        }
+    }
+
+    /**
+     * Determines and returns the cost of buying or selling an item.
+     *
+     * @param item The item in question.
+     * @param isBuying Whether the item is being bought or sold.
+     * @return The cost of buying or selling the item based on the isBuying parameter.
+     */
+    public int checkMarketPrice(String item, boolean isBuying) {
+        if (isBuying) {
+            return getCostOfItem(item);
+        } else {
+            return getBuyBackCost(item);
+        }
+    }
+
+    /**
+     * Sells an item to a hunter at the current price and lets the market know.
+     *
+     * @param hunter The hunter buying the item.
+     * @param item The item being bought.
+     * @return true if the hunter bought the item.
+     */
+    public boolean purchase(Hunter hunter, String item) {
+        if (!hunter.buyItem(item, checkMarketPrice(item, true))) {
+            return false;
+        }
+        if (market != null) {
+            market.recordPurchase(Item.fromName(item));
+        }
+        treasureHunter.logEvent(EventLog.ACTION, Action.BUY, Item.fromName(item));
+        return true;
+    }
+
+    /**
+     * Buys an item back from a hunter at the current price and lets the market know.
+     *
+     * @param hunter The hunter selling the item.
+     * @param item The item being sold.
+     * @return true if the hunter sold the item.
+     */
+    public boolean buyBack(Hunter hunter, String item) {
+        if (!hunter.sellItem(item, checkMarketPrice(item, false))) {
+            return false;
+        }
+        if (market != null) {
+            market.recordSale(Item.fromName(item));
+        }
+        treasureHunter.logEvent(EventLog.ACTION, Action.SELL, Item.fromName(item));
+        return true;
+    }
+
+    /**
+     * Looks up the item entered in the price table.
+     *
+     * @param item The item being checked for cost.
+     * @return The cost of the item or 0 if the item is not found.
+     */
+    public int getCostOfItem(String item) {
+        Item shopItem = Item.fromName(item);
+        if (shopItem == null) {
+            return 0;
+        }
+        return getCostOfItem(shopItem);
+    }
+
+    /**
+     * Looks up the item in the price table.
+     *
+     * @param item The item being checked for cost.
+     * @return The current cost of the item.
+     */
+    public int getCostOfItem(Item item) {
+        int basePrice = basePrices[item.ordinal()];
+        if (market == null) {
+            return basePrice;
+        }
+        return market.price(item, basePrice);
+    }
+
+    /**
+     * Checks the cost of an item and applies the markdown.
+     *
+     * @param item The item being sold.
+     * @return The sell price of the item.
+     */
+    public int getBuyBackCost(String item) {
+        Item shopItem = Item.fromName(item);
+        if (shopItem == null) {
+            return 0;
+        }
+        return getBuyBackCost(shopItem);
+    }
+
+    /**
+     * Checks the cost of an item and applies the markdown.
+     *
+     * @param item The item being sold.
+     * @return The sell price of the item.
+     */
+    public int getBuyBackCost(Item item) {
+        if (market == null) {
+            return buyBackPrices[item.ordinal()];
+        }
+        return buyBack(getCostOfItem(item));
+    }
+
+    /**
+     * Fixed and market prices are marked down the same way, so a shop pays the same for an item at the same price.
+     */
+    private int buyBack(int cost) {
+        return (int) (cost * markdown);
+    }
+
+    /**
+     * Builds the listing a shop without a Market shows; the Rules build one for each set of prices they have.
+     *
+     * @param prices The price of each item, indexed by Item ordinal.
+     * @param items How many of the items, from the start of the catalogue, are for sale.
+     * @return The listing, a line per item.
+     */
+    static String listing(int[] prices, int items) {
+        StringBuilder str = new StringBuilder();
+        for (int i = 0; i < items; i++) {
+            str.append(new String(LABELS[i], StandardCharsets.UTF_8)).append(prices[i]).append(" gold\n");
+        }
+        return str.toString();
+    }
+
+    public Market getMarket() {
+        return market;
+    }
+}
@@ -0,0 +1,100 @@
+package treasurehunter;
+
+/**
+ * SimulationResult Class<br /><br />
+ * Tallies the outcomes of a batch of simulated games.
+ * Each worker thread fills in its own result, and the results are merged once the batch is done.
+ */
+
+public class SimulationResult {
+    // instance variables
+    private final Mode mode;
+    private long games;
+    private long wins;
+    private long gameOvers;
+    private long totalTurns;
+
+    public SimulationResult(Mode mode) {
+        this.mode = mode;
+    }
+
+    /**
+     * Records the outcome of one finished game.
+     *
+     * @param game The game that was played.
+     * @param turns The number of turns the game took.
+     */
+    public void record(TreasureHunter game, int turns) {
+        record(game.hasWon(), game.isGameOver(), turns);
+    }
+
+    /**
+     * Records the outcome of one finished game that wasn't played as a TreasureHunter, such as one from a GameBatch.
+     *
+     * @param won true if the game was won.
+     * @param gameOver true if the hunter ran out of gold.
+     * @param turns The number of turns the game took.
+     */
+    public void record(boolean won, boolean gameOver, int turns) {
+        games++;
+        totalTurns += turns;
+        if (won) {
+            wins++;
+        } else if (gameOver) {
+            gameOvers++;
+        }
+    }
+
+    /**
+     * Adds the tallies from another result into this one.
+     *
+     * @param other The result to merge in.
+     */
+    public void merge(SimulationResult other) {
+        games += other.games;
+        wins += other.wins;
+        gameOvers += other.gameOvers;
+        totalTurns += other.totalTurns;
+    }
+
+    // accessors
+    public Mode getMode() {
+        return mode;
+    }
+
+    public long getGames() {
+        return games;
+    }
+
+    public long getWins() {
+        return wins;
+    }
+
+    public long getGameOvers() {
+        return gameOvers;
+    }
+
+    public long getTotalTurns() {
+        return totalTurns;
+    }
+
+    public double getWinRate() {
+        return games == 0 ? 0 : (double) wins / games;
+    }
+
+    public double getGameOverRate() {
+        return games == 0 ? 0 : (double) gameOvers / games;
+    }
+
+    public double getAverageTurns() {
+        return games == 0 ? 0 : (double) totalTurns / games;
+    }
+
+    /**
+     * @return A one line summary of the result.
+     */
+    public String infoString() {
+        return String.format("%-8s %,12d games  win %6.2f%%  game over %6.2f%%  avg turns %7.2f",
+                mode, games, getWinRate() * 100, getGameOverRate() * 100, getAverageTurns());
+    }
+}
@@ -0,0 +1,176 @@
+package treasurehunter;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * The Simulator plays large numbers of headless games with a Strategy so the balance of each mode can be measured.<p>
+ * Games are split evenly across one worker thread per core; each worker keeps its own SimulationResult
+ * and its own random generator split off the simulator's seed, so the workers never share any state while they play.
+ * Every game is seeded from its worker's generator, so a whole run can be repeated from the one seed.
+ */
+
+public class Simulator {
+    // constants
+    private static final int MAX_TURNS = 500;
+    private static final int DEFAULT_GAMES = 1_000_000;
+
+    // instance variables
+    private final Strategy strategy;
+    private final int threads;
+    private final long seed;
+    private EventLog log;
+
+    /**
+     * @param strategy The strategy every simulated hunter plays with.
+     * @param threads The number of worker threads to spread the games across.
+     * @param seed The seed every game's random numbers are derived from.
+     */
+    public Simulator(Strategy strategy, int threads, long seed) {
+        this.strategy = strategy;
+        this.threads = threads;
+        this.seed = seed;
+    }
+
+    /**
+     * Logs every simulated game's actions, so a run can be replayed.
+     *
+     * @param log The log to append to.
+     */
+    public void setEventLog(EventLog log) {
+        this.log = log;
+    }
+
+    /**
+     * Plays the given number of games in one mode.
+     *
+     * @param mode The mode to play in.
+     * @param games The number of games to play.
+     * @return The combined outcome of all the games.
+     */
+    public SimulationResult run(Mode mode, long games) {
+        return run(mode, games, null);
+    }
+
+    /**
+     * Plays the given number of games in one mode with non-standard settings.
+     *
+     * @param mode The mode to play in.
+     * @param games The number of games to play.
+     * @param tuning The settings to play with, or null for the mode's usual ones.
+     * @return The combined outcome of all the games.
+     */
+    public SimulationResult run(Mode mode, long games, Tuning tuning) {
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            SplittableRandom root = new SplittableRandom(seed + mode.ordinal());
+            List<Future<SimulationResult>> futures = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                long share = games / threads + (i < games % threads ? 1 : 0);
+                SplittableRandom random = root.split();
+                futures.add(pool.submit(() -> play(mode, share, random, tuning)));
+            }
+            SimulationResult total = new SimulationResult(mode);
+            for (Future<SimulationResult> future : futures) {
+                total.merge(future.get());
+            }
+            return total;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Simulation was interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Simulation failed", e.getCause());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Plays a share of the games on the calling thread.
+     */
+    private SimulationResult play(Mode mode, long games, SplittableRandom random, Tuning tuning) {
+        SimulationResult result = new SimulationResult(mode);
+        for (long i = 0; i < games; i++) {
+            TreasureHunter game = new TreasureHunter("bot", mode, random.nextLong(), null, tuning);
+            if (log != null) {
+                game.setEventLog(log);
+            }
+            int turns = playGame(strategy, game);
+            game.logEvent(EventLog.END, null, null);
+            result.record(game, turns);
+        }
+        return result;
+    }
+
+    /**
+     * Plays a game with a strategy until it is won, lost or abandoned, or it runs out of turns.
+     *
+     * @param strategy The strategy to play with.
+     * @param game A headless game.
+     * @return The number of turns played.
+     */
+    static int playGame(Strategy strategy, TreasureHunter game) {
+        int turns = 0;
+        while (turns < MAX_TURNS && !game.hasWon() && !game.isGameOver()) {
+            Action action = strategy.nextAction(game);
+            if (action == Action.EXIT) {
+                break;
+            }
+            String item = null;
+            if (action == Action.BUY || action == Action.SELL) {
+                item = strategy.itemToTrade(game, action);
+            }
+            game.takeTurn(action, item);
+            turns++;
+        }
+        return turns;
+    }
+
+    /**
+     * Runs the simulation for every mode and prints a summary line for each.
+     *
+     * @param args Optionally, the number of games to play per mode followed by the seed for the run,
+     *             and --log=file to log every game for EventReplay.
+     * @throws IOException If the log can't be written.
+     */
+    public static void main(String[] args) throws IOException {
+        long games = DEFAULT_GAMES;
+        long seed = System.nanoTime();
+        EventLog log = null;
+        List<String> numbers = new ArrayList<>();
+        for (String arg : args) {
+            if (arg.startsWith("--log=")) {
+                log = new EventLog(Path.of(arg.substring("--log=".length())));
+            } else {
+                numbers.add(arg);
+            }
+        }
+        if (numbers.size() > 0) {
+            games = Long.parseLong(numbers.get(0));
+        }
+        if (numbers.size() > 1) {
+            seed = Long.parseLong(numbers.get(1));
+        }
+        System.out.println("Seed: " + seed);
+        Simulator simulator = new Simulator(new GreedyStrategy(), Runtime.getRuntime().availableProcessors(), seed);
+        if (log != null) {
+            simulator.setEventLog(log);
+        }
+        for (Mode mode : Mode.values()) {
+            long start = System.nanoTime();
+            SimulationResult result = simulator.run(mode, games);
+            double seconds = (System.nanoTime() - start) / 1e9;
+            System.out.println(result.infoString() + String.format("  (%,.0f games/s)", games / seconds));
+        }
+        if (log != null) {
+            log.close();
+        }
+    }
+}
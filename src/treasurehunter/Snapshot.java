@@ -0,0 +1,241 @@
+package treasurehunter;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Snapshot Class<br /><br />
+ * Saves the state of a game in a compact binary format and restores it into a new game.<p>
+ * A snapshot holds the mode and treasure, the hunter's name, gold, kit and dug flag, and the current town's
+ * terrain, toughness, treasure and searched flag, plus the town's coordinates if the game is played in a World,
+ * or else the demand for each item in the game's Market if its prices follow supply and demand,
+ * the game's own Tuning if it was given one in place of its mode's, and its Rules if they aren't the standard ones.
+ * Everything is packed into a few dozen bytes, or a few hundred with the rules, behind a magic number and a version, so the format can change
+ * later without misreading old snapshots.
+ */
+
+public class Snapshot {
+    // constants
+    public static final int MAGIC = 0x54485356; // "THSV"
+    public static final byte VERSION = 4;
+    /** Version 1 snapshots are still read; they didn't save the game's Market, so its prices start over. */
+    private static final byte VERSION_WITHOUT_MARKET = 1;
+    /** Version 2 snapshots are read the same way as version 3; only version 3 can hold a tuned game. */
+    private static final byte VERSION_WITHOUT_TUNING = 2;
+    /** Snapshots before version 4 didn't save the rules, so they are resumed by the active ones. */
+    private static final byte VERSION_WITHOUT_RULES = 3;
+    /** Big enough for any snapshot, with room for the rules and a long hunter name. */
+    public static final int MAX_SIZE = 2048;
+
+    private static final int FLAG_DUG = 1;
+    private static final int FLAG_TOUGH_TOWN = 1 << 1;
+    private static final int FLAG_TOWN_SEARCHED = 1 << 2;
+    private static final int FLAG_IN_WORLD = 1 << 3;
+    private static final int FLAG_DYNAMIC_MARKETS = 1 << 4;
+    private static final int FLAG_TUNED = 1 << 5;
+    private static final int FLAG_RULES = 1 << 6;
+
+    private Snapshot() {
+    }
+
+    /**
+     * Packs the state of a game that has entered its first town into the buffer.
+     *
+     * @param game The game to save.
+     * @param buffer Where to write the snapshot; it needs MAX_SIZE bytes free.
+     */
+    public static void encode(TreasureHunter game, ByteBuffer buffer) {
+        Hunter hunter = game.getHunter();
+        Town town = game.getCurrentTown();
+        Terrain terrain = town.getTerrain();
+
+        int flags = 0;
+        if (hunter.isDug()) {
+            flags |= FLAG_DUG;
+        }
+        if (town.isToughTown()) {
+            flags |= FLAG_TOUGH_TOWN;
+        }
+        if (town.isTownSearched()) {
+            flags |= FLAG_TOWN_SEARCHED;
+        }
+        if (town.getSite() != null) {
+            flags |= FLAG_IN_WORLD;
+        }
+        if (game.hasDynamicMarkets()) {
+            flags |= FLAG_DYNAMIC_MARKETS;
+        }
+        if (game.getCustomTuning() != null) {
+            flags |= FLAG_TUNED;
+        }
+        if (game.getRules() != Rules.standard()) {
+            flags |= FLAG_RULES;
+        }
+
+        buffer.putInt(MAGIC);
+        buffer.put(VERSION);
+        buffer.put((byte) game.getMode().ordinal());
+        buffer.put((byte) flags);
+        buffer.put((byte) game.getTreasureBits());
+        if (game.getCustomTuning() != null) {
+            for (double setting : game.getCustomTuning().getSettings()) {
+                buffer.putDouble(setting);
+            }
+        }
+        if (game.getRules() != Rules.standard()) {
+            for (double value : game.getRules().getValues()) {
+                buffer.putDouble(value);
+            }
+        }
+        putString(buffer, hunter.getHunterName());
+        buffer.putInt(hunter.getGold());
+        buffer.put((byte) hunter.getKitCapacity());
+        buffer.putShort((short) hunter.getKitBits());
+        putString(buffer, terrain.getTerrainName());
+        buffer.put((byte) terrain.getItem().ordinal());
+        buffer.put((byte) town.getTreasure().ordinal());
+        if (town.getSite() != null) {
+            buffer.putInt(town.getSite().getX());
+            buffer.putInt(town.getSite().getY());
+        } else if (game.getMarket() != null) {
+            for (Item item : Item.VALUES) {
+                buffer.put((byte) game.getMarket().getDemand(item));
+            }
+        }
+    }
+
+    /**
+     * Restores a snapshot into a game that has not started yet.<p>
+     * If the game has a World and the snapshot was taken in one, the town comes from the world's site
+     * at the saved coordinates; otherwise it is rebuilt from the saved town details.
+     *
+     * @param buffer The snapshot, positioned at its start.
+     * @param game A new game to restore into.
+     * @throws IOException If the buffer doesn't hold a snapshot this version can read.
+     */
+    public static void decode(ByteBuffer buffer, TreasureHunter game) throws IOException {
+        try {
+            if (buffer.getInt() != MAGIC) {
+                throw new IOException("Not a Treasure Hunter snapshot");
+            }
+            byte version = buffer.get();
+            if (version != VERSION && version != VERSION_WITHOUT_RULES && version != VERSION_WITHOUT_TUNING
+                    && version != VERSION_WITHOUT_MARKET) {
+                throw new IOException("Unsupported snapshot version " + version);
+            }
+            Mode mode = Mode.values()[buffer.get()];
+            int flags = buffer.get();
+            int treasureBits = buffer.get();
+            if ((flags & FLAG_TUNED) != 0) {
+                double[] settings = new double[Tuning.SETTINGS];
+                for (int i = 0; i < settings.length; i++) {
+                    settings[i] = buffer.getDouble();
+                }
+                game.setTuning(Tuning.of(settings));
+            }
+            if ((flags & FLAG_RULES) != 0) {
+                double[] values = new double[Rules.VALUES];
+                for (int i = 0; i < values.length; i++) {
+                    values[i] = buffer.getDouble();
+                }
+                game.setRules(Rules.of(values));
+            } else if (version == VERSION) {
+                game.setRules(Rules.standard());
+            }
+            String hunterName = getString(buffer);
+            int gold = buffer.getInt();
+            int kitCapacity = buffer.get();
+            int kitBits = buffer.getShort();
+            String terrainName = getString(buffer);
+            Item neededItem = Item.VALUES[buffer.get()];
+            Treasure townTreasure = Treasure.VALUES[buffer.get()];
+
+            game.setDynamicMarkets((flags & FLAG_DYNAMIC_MARKETS) != 0);
+            game.restore(mode, hunterName, gold, kitCapacity, kitBits, (flags & FLAG_DUG) != 0, treasureBits);
+            if ((flags & FLAG_IN_WORLD) != 0) {
+                int x = buffer.getInt();
+                int y = buffer.getInt();
+                if (game.getWorld() != null) {
+                    game.restoreWorldTown(x, y);
+                    return;
+                }
+            }
+            // use the shared terrain if the catalogue still has it, so restored towns don't each carry their own copy
+            Terrain terrain = TerrainCatalogue.get().byName(terrainName);
+            if (terrain == null || terrain.getItem() != neededItem) {
+                terrain = new Terrain(terrainName, neededItem.getName());
+            }
+            if (game.getMarket() != null && version != VERSION_WITHOUT_MARKET) {
+                for (Item item : Item.VALUES) {
+                    game.getMarket().restoreDemand(item, buffer.get());
+                }
+            }
+            game.restoreTown(terrain, (flags & FLAG_TOUGH_TOWN) != 0, townTreasure, (flags & FLAG_TOWN_SEARCHED) != 0);
+        } catch (BufferUnderflowException | ArrayIndexOutOfBoundsException | IllegalArgumentException e) {
+            throw new IOException("Corrupt snapshot", e);
+        }
+    }
+
+    /**
+     * Writes a length prefixed snapshot of the game to a channel.
+     *
+     * @param game The game to save.
+     * @param channel Where to write the snapshot.
+     * @throws IOException If the channel can't be written to.
+     */
+    public static void write(TreasureHunter game, WritableByteChannel channel) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(Integer.BYTES + MAX_SIZE);
+        buffer.position(Integer.BYTES);
+        encode(game, buffer);
+        buffer.putInt(0, buffer.position() - Integer.BYTES);
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    /**
+     * Reads a length prefixed snapshot from a channel and restores it into a game that has not started yet.
+     *
+     * @param channel Where to read the snapshot from.
+     * @param game A new game to restore into.
+     * @throws IOException If the channel can't be read or doesn't hold a snapshot.
+     */
+    public static void read(ReadableByteChannel channel, TreasureHunter game) throws IOException {
+        ByteBuffer length = ByteBuffer.allocate(Integer.BYTES);
+        readFully(channel, length);
+        int size = length.getInt(0);
+        if (size <= 0 || size > MAX_SIZE) {
+            throw new IOException("Corrupt snapshot length " + size);
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        readFully(channel, buffer);
+        buffer.flip();
+        decode(buffer, game);
+    }
+
+    private static void readFully(ReadableByteChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) < 0) {
+                throw new EOFException("Snapshot ended early");
+            }
+        }
+    }
+
+    private static void putString(ByteBuffer buffer, String text) {
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        buffer.putShort((short) bytes.length);
+        buffer.put(bytes);
+    }
+
+    private static String getString(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.getShort()];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,180 @@
+package treasurehunter;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * SnapshotStore Class<br /><br />
+ * An append-only file of Snapshots for many sessions, mapped into memory so saving is a copy into the mapping.<p>
+ * Each record is the session id, the snapshot's length and the snapshot itself; a length of -1 marks a finished
+ * session. Nothing is overwritten, so the newest record for a session is the one that counts. When the store is
+ * opened the file is scanned once to find the newest record of every session, and after that both saving and
+ * loading go straight to a known position in the mapping.
+ */
+
+public class SnapshotStore implements AutoCloseable {
+    // constants
+    private static final int HEADER_SIZE = Long.BYTES + Integer.BYTES;
+    private static final int REMOVED = -1;
+    private static final long INITIAL_SIZE = 16L * 1024 * 1024;
+
+    // instance variables
+    private final FileChannel channel;
+    private MappedByteBuffer mapped;
+    private final Map<Long, Integer> latest;
+    private int end;
+
+    /**
+     * Opens the store, creating the file if it doesn't exist.
+     *
+     * @param path The store's file.
+     * @throws IOException If the file can't be opened or mapped.
+     */
+    public SnapshotStore(Path path) throws IOException {
+        channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        mapped = channel.map(FileChannel.MapMode.READ_WRITE, 0, Math.max(INITIAL_SIZE, channel.size()));
+        latest = new HashMap<>();
+        scan();
+    }
+
+    /**
+     * Makes a session id from a hunter's name, so a player who comes back under the same name gets their game back.
+     *
+     * @param hunterName The hunter's name.
+     * @return A 64-bit FNV-1a hash of the name.
+     */
+    public static long sessionId(String hunterName) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < hunterName.length(); i++) {
+            hash ^= hunterName.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    /**
+     * Appends a snapshot of the game as the session's newest record.
+     *
+     * @param sessionId The session being saved.
+     * @param game The game to save.
+     * @throws IOException If the file can't be grown to fit the record.
+     */
+    public synchronized void save(long sessionId, TreasureHunter game) throws IOException {
+        ensureCapacity(HEADER_SIZE + Snapshot.MAX_SIZE);
+        int start = end;
+        mapped.position(start + HEADER_SIZE);
+        Snapshot.encode(game, mapped);
+        int length = mapped.position() - start - HEADER_SIZE;
+        mapped.putLong(start, sessionId);
+        mapped.putInt(start + Long.BYTES, length);
+        end = mapped.position();
+        latest.put(sessionId, start);
+    }
+
+    /**
+     * Restores the session's newest snapshot into a game that has not started yet.
+     *
+     * @param sessionId The session to load.
+     * @param game A new game to restore into.
+     * @return true if the session was found and restored.
+     * @throws IOException If the stored snapshot can't be read.
+     */
+    public synchronized boolean load(long sessionId, TreasureHunter game) throws IOException {
+        Integer start = latest.get(sessionId);
+        if (start == null) {
+            return false;
+        }
+        int length = mapped.getInt(start + Long.BYTES);
+        ByteBuffer snapshot = mapped.slice(start + HEADER_SIZE, length);
+        Snapshot.decode(snapshot, game);
+        return true;
+    }
+
+    /**
+     * Marks a session as finished, so it won't be resumed.
+     *
+     * @param sessionId The session that finished.
+     * @throws IOException If the file can't be grown to fit the record.
+     */
+    public synchronized void remove(long sessionId) throws IOException {
+        if (latest.remove(sessionId) == null) {
+            return;
+        }
+        ensureCapacity(HEADER_SIZE);
+        mapped.putLong(end, sessionId);
+        mapped.putInt(end + Long.BYTES, REMOVED);
+        end += HEADER_SIZE;
+    }
+
+    public synchronized boolean contains(long sessionId) {
+        return latest.containsKey(sessionId);
+    }
+
+    /**
+     * @return The ids of every session that can be resumed.
+     */
+    public synchronized Set<Long> sessionIds() {
+        return Set.copyOf(latest.keySet());
+    }
+
+    /**
+     * Flushes everything saved so far to the file.
+     */
+    public synchronized void force() {
+        mapped.force();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        force();
+        channel.close();
+    }
+
+    /**
+     * Walks the records from the start of the file to find the newest record of every session and the end of the log.
+     * A session id of zero with a length of zero is unwritten space.
+     */
+    private void scan() {
+        int position = 0;
+        while (position + HEADER_SIZE <= mapped.capacity()) {
+            long sessionId = mapped.getLong(position);
+            int length = mapped.getInt(position + Long.BYTES);
+            if (sessionId == 0 && length == 0) {
+                break;
+            }
+            if (length == REMOVED) {
+                latest.remove(sessionId);
+                position += HEADER_SIZE;
+            } else {
+                latest.put(sessionId, position);
+                position += HEADER_SIZE + length;
+            }
+        }
+        end = position;
+    }
+
+    /**
+     * Doubles the mapping until the next record fits.
+     */
+    private void ensureCapacity(int needed) throws IOException {
+        long size = mapped.capacity();
+        if (end + needed <= size) {
+            return;
+        }
+        while (end + needed > size) {
+            size *= 2;
+        }
+        if (size > Integer.MAX_VALUE) {
+            throw new IOException("Snapshot store is full");
+        }
+        mapped.force();
+        mapped = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+    }
+}
@@ -0,0 +1,386 @@
+package treasurehunter;
+
+/**
+ * Solver Class<br /><br />
+ * Works out the best possible play from any position in a game: the move that gives the highest chance of
+ * finding all three treasures within a given number of turns, and what that chance is.<p>
+ * It searches every move and every random outcome (expectimax), remembering the value of each position it has
+ * seen in a LongDoubleMap keyed by the position packed into a long, so each position is only worked out once.
+ * A position is the hunter's gold, kit, number of treasures and dug flag, the town's needed item, whether it is
+ * tough and whether a new treasure is still waiting there, and the number of turns left.<p>
+ * If the game's rules give a sword, isHasSword() is true once a hunter has any treasure: every brawl is won and every
+ * purchase is free, so gold no longer matters and all such positions share one gold value. By rules without the sword,
+ * treasure changes nothing but the count. Gold above GOLD_CAP is counted as GOLD_CAP,
+ * which can only make a position look slightly worse than it is.<p>
+ * The odds, payouts and whether there is a sword all come from the game's Rules.<p>
+ * The solver assumes fixed prices and random towns, as in the Simulator; it doesn't model Markets or a World.
+ */
+
+public class Solver {
+    // constants
+    public static final int GOLD_CAP = 60;
+    private static final int ITEMS = Item.SWORD.ordinal();
+    private static final int SHOVEL = Item.SHOVEL.ordinal();
+    private static final int TREASURES = 3;
+    // where each part of a position is packed in its key
+    private static final int KIT_SHIFT = 7;
+    private static final int FOUND_SHIFT = 14;
+    private static final int NEED_SHIFT = 16;
+    private static final int TOUGH_SHIFT = 19;
+    private static final int HERE_SHIFT = 20;
+    private static final int DUG_SHIFT = 21;
+    private static final int TURNS_SHIFT = 22;
+    private static final long GOLD_MASK = 0x7F;
+    private static final long KIT_MASK = 0x7F;
+    private static final long PRESENT = 1L << 40;
+
+    // instance variables
+    private final int horizon;
+    private final int kitCapacity;
+    private final int[] prices;
+    private final int[] buyBackPrices;
+    private final double toughness;
+    private final double toughTownOdds;
+    private final double quietTownOdds;
+    private final double breakChance;
+    private final int maxBrawlGold;
+    private final int maxDugGold;
+    private final double digChance;
+    private final boolean sword;
+    private final double[] terrainOdds;
+    private final LongDoubleMap memo;
+    private final LongDoubleMap arrivals;
+
+    /**
+     * A move and the chance of winning if it is made and the best moves are made after it.
+     *
+     * @param action The action to take.
+     * @param item The item to buy or sell, or null.
+     * @param winProbability The chance of winning within the solver's horizon.
+     */
+    public record Move(Action action, Item item, double winProbability) {
+    }
+
+    /**
+     * Sets up a solver for games played like the given one: the same mode, settings, kit size and prices.
+     *
+     * @param game A headless game with fixed prices.
+     * @param horizon How many turns ahead to look.
+     */
+    public Solver(TreasureHunter game, int horizon) {
+        this.horizon = horizon;
+        kitCapacity = game.getHunter().getKitCapacity();
+        Shop shop = game.getCurrentTown().getShop();
+        prices = new int[ITEMS];
+        buyBackPrices = new int[ITEMS];
+        for (int i = 0; i < ITEMS; i++) {
+            prices[i] = shop.getCostOfItem(Item.VALUES[i]);
+            buyBackPrices[i] = shop.getBuyBackCost(Item.VALUES[i]);
+        }
+        Tuning tuning = game.getTuning();
+        toughness = tuning.getToughness();
+        toughTownOdds = tuning.getToughTownOdds();
+        quietTownOdds = tuning.getQuietTownOdds();
+        breakChance = tuning.getBreakChance();
+        ModeRules rules = game.getModeRules();
+        maxBrawlGold = rules.getBrawlGold();
+        maxDugGold = rules.getDigGold();
+        digChance = rules.getDigOdds();
+        sword = rules.hasSword();
+        // the chance of each needed item in a new town, indexed by Item ordinal
+        terrainOdds = new double[ITEMS];
+        for (int i = 0; i < ITEMS; i++) {
+            terrainOdds[i] = TerrainCatalogue.get().oddsOfNeeding(Item.VALUES[i]);
+        }
+        memo = new LongDoubleMap(1 << 20);
+        arrivals = new LongDoubleMap(1 << 16);
+    }
+
+    public int getHorizon() {
+        return horizon;
+    }
+
+    /**
+     * @return How many positions have been worked out so far.
+     */
+    public int getSolvedPositions() {
+        return memo.size() + arrivals.size();
+    }
+
+    /**
+     * @param game A game in progress.
+     * @return The chance of winning within the horizon from the game's position with the best play.
+     */
+    public double winProbability(TreasureHunter game) {
+        return value(positionOf(game), horizon);
+    }
+
+    /**
+     * @param game A game that is just starting.
+     * @return The chance of winning within the horizon with the hunter's starting gold and kit, before the first town is known.
+     */
+    public double openingWinProbability(TreasureHunter game) {
+        Hunter hunter = game.getHunter();
+        return newTown(canonical(pack(hunter.getGold(), kitOf(hunter), 0, 0, false, false, false)), horizon);
+    }
+
+    /**
+     * Finds the best move from the game's position.
+     *
+     * @param game A game in progress.
+     * @return The best move; EXPLORE if no move can lead to a win within the horizon.
+     */
+    public Move bestMove(TreasureHunter game) {
+        long position = positionOf(game);
+        Move best = new Move(Action.EXPLORE, null, 0);
+        for (Action action : Action.values()) {
+            if (action == Action.BUY || action == Action.SELL) {
+                for (int item = 0; item < ITEMS; item++) {
+                    double value = moveValue(position, action, item, horizon);
+                    if (value > best.winProbability()) {
+                        best = new Move(action, Item.VALUES[item], value);
+                    }
+                }
+            } else {
+                double value = moveValue(position, action, -1, horizon);
+                if (value > best.winProbability()) {
+                    best = new Move(action, null, value);
+                }
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Packs the game's position into a key, without the turns left.
+     */
+    private long positionOf(TreasureHunter game) {
+        Hunter hunter = game.getHunter();
+        Town town = game.getCurrentTown();
+        int found = Integer.bitCount(game.getTreasureBits());
+        Treasure townTreasure = town.getTreasure();
+        boolean here = !town.isTownSearched() && townTreasure != Treasure.DUST && !game.hasItemInTreasure(townTreasure);
+        int need = town.getTerrain().getItem().ordinal();
+        return canonical(pack(hunter.getGold(), kitOf(hunter), found, need, town.isToughTown(), here, hunter.isDug()));
+    }
+
+    private static int kitOf(Hunter hunter) {
+        // the sword is left out: only treasure counts as having a sword, so one in the kit changes nothing
+        return hunter.getKitBits() & (int) KIT_MASK;
+    }
+
+    /**
+     * The best chance of winning from a position with the given number of turns left.
+     */
+    private double value(long position, int turns) {
+        if (found(position) == TREASURES) {
+            return 1;
+        }
+        if (gold(position) <= 0 || turns == 0) {
+            return 0;
+        }
+        long key = position | ((long) turns << TURNS_SHIFT) | PRESENT;
+        double cached = memo.get(key, -1);
+        if (cached >= 0) {
+            return cached;
+        }
+        double best = 0;
+        best = Math.max(best, moveValue(position, Action.HUNT, -1, turns));
+        best = Math.max(best, moveValue(position, Action.MOVE, -1, turns));
+        best = Math.max(best, moveValue(position, Action.DIG, -1, turns));
+        best = Math.max(best, moveValue(position, Action.LOOK_FOR_TROUBLE, -1, turns));
+        for (int item = 0; item < ITEMS && best < 1; item++) {
+            best = Math.max(best, moveValue(position, Action.BUY, item, turns));
+            best = Math.max(best, moveValue(position, Action.SELL, item, turns));
+        }
+        memo.put(key, best);
+        return best;
+    }
+
+    /**
+     * The chance of winning if the move is made now and the best moves after it.
+     * Moves that can't be made, or that can't change anything, are worth 0 so they are never chosen.
+     */
+    private double moveValue(long position, Action action, int item, int turns) {
+        if (turns == 0 || found(position) == TREASURES || gold(position) <= 0) {
+            return 0;
+        }
+        int gold = gold(position);
+        int kit = kit(position);
+        int found = found(position);
+        boolean armed = sword && found > 0;
+        int left = turns - 1;
+        switch (action) {
+            case HUNT:
+                if (!bit(position, HERE_SHIFT)) {
+                    return 0;
+                }
+                return value(canonical(with(with(position, FOUND_SHIFT, 3, found + 1), HERE_SHIFT, 1, 0)), left);
+            case MOVE: {
+                int need = need(position);
+                if ((kit & (1 << need)) == 0) {
+                    return 0;
+                }
+                long kept = with(position, DUG_SHIFT, 1, 0);
+                long broken = with(kept, KIT_SHIFT, KIT_MASK, kit & ~(1 << need));
+                return (1 - breakChance) * newTown(kept, left) + breakChance * newTown(broken, left);
+            }
+            case DIG: {
+                // once there is a sword, gold doesn't matter
+                if (armed || (kit & (1 << SHOVEL)) == 0 || bit(position, DUG_SHIFT)) {
+                    return 0;
+                }
+                long dug = with(position, DUG_SHIFT, 1, 1);
+                double gain = 0;
+                for (int gold2 = 1; gold2 <= maxDugGold; gold2++) {
+                    gain += value(withGold(dug, gold + gold2), left);
+                }
+                return digChance * gain / maxDugGold + (1 - digChance) * value(position, left);
+            }
+            case LOOK_FOR_TROUBLE: {
+                if (armed) {
+                    return 0;
+                }
+                double odds = bit(position, TOUGH_SHIFT) ? toughTownOdds : quietTownOdds;
+                double won = 0;
+                double lost = 0;
+                for (int gold2 = 1; gold2 <= maxBrawlGold; gold2++) {
+                    won += value(withGold(position, gold + gold2), left);
+                    lost += value(withGold(position, gold - gold2), left);
+                }
+                // nextDouble() > odds means no trouble, and then that the brawl was won
+                double brawl = (1 - odds) * won / maxBrawlGold + odds * lost / maxBrawlGold;
+                return (1 - odds) * value(position, left) + odds * brawl;
+            }
+            case BUY: {
+                if ((kit & (1 << item)) != 0 || Integer.bitCount(kit) >= kitCapacity) {
+                    return 0;
+                }
+                long bought = with(position, KIT_SHIFT, KIT_MASK, kit | (1 << item));
+                if (armed) {
+                    return value(bought, left);
+                }
+                if (gold < prices[item]) {
+                    return 0;
+                }
+                return value(withGold(bought, gold - prices[item]), left);
+            }
+            case SELL: {
+                if (armed || (kit & (1 << item)) == 0 || buyBackPrices[item] <= 0) {
+                    return 0;
+                }
+                long sold = with(position, KIT_SHIFT, KIT_MASK, kit & ~(1 << item));
+                return value(withGold(sold, gold + buyBackPrices[item]), left);
+            }
+            default:
+                return 0;
+        }
+    }
+
+    /**
+     * The chance of winning on arriving in a new town, averaged over every town that could be generated.<p>
+     * It depends only on the hunter, so it is remembered separately and shared by every town the hunter could leave.
+     */
+    private double newTown(long position, int turns) {
+        long hunter = position & (GOLD_MASK | KIT_MASK << KIT_SHIFT | 3L << FOUND_SHIFT);
+        long key = hunter | ((long) turns << TURNS_SHIFT) | PRESENT;
+        double cached = arrivals.get(key, -1);
+        if (cached >= 0) {
+            return cached;
+        }
+        double newTreasure = (TREASURES - found(hunter)) * 0.25;
+        double total = 0;
+        for (int need = 0; need < ITEMS; need++) {
+            if (terrainOdds[need] == 0) {
+                continue;
+            }
+            long town = with(hunter, NEED_SHIFT, 7, need);
+            double tough = toughness * (newTreasure * value(flags(town, true, true), turns)
+                    + (1 - newTreasure) * value(flags(town, true, false), turns));
+            double quiet = (1 - toughness) * (newTreasure * value(flags(town, false, true), turns)
+                    + (1 - newTreasure) * value(flags(town, false, false), turns));
+            total += terrainOdds[need] * (tough + quiet);
+        }
+        arrivals.put(key, total);
+        return total;
+    }
+
+    private static long flags(long position, boolean tough, boolean here) {
+        return with(with(position, TOUGH_SHIFT, 1, tough ? 1 : 0), HERE_SHIFT, 1, here ? 1 : 0);
+    }
+
+    private static long pack(int gold, int kit, int found, int need, boolean tough, boolean here, boolean dug) {
+        long position = Math.min(gold, GOLD_CAP);
+        position |= (long) kit << KIT_SHIFT;
+        position |= (long) found << FOUND_SHIFT;
+        position |= (long) need << NEED_SHIFT;
+        position |= (tough ? 1L : 0L) << TOUGH_SHIFT;
+        position |= (here ? 1L : 0L) << HERE_SHIFT;
+        position |= (dug ? 1L : 0L) << DUG_SHIFT;
+        return position;
+    }
+
+    /**
+     * Once there is a sword, every amount of gold and the dug flag lead to the same chances, so they are all stored as one.
+     */
+    private long canonical(long position) {
+        if (!sword || found(position) == 0) {
+            return position;
+        }
+        return with(with(position, 0, GOLD_MASK, 1), DUG_SHIFT, 1, 0);
+    }
+
+    private static long with(long position, int shift, long mask, long value) {
+        return (position & ~(mask << shift)) | (value << shift);
+    }
+
+    private static long withGold(long position, int gold) {
+        return with(position, 0, GOLD_MASK, Math.max(0, Math.min(gold, GOLD_CAP)));
+    }
+
+    private static boolean bit(long position, int shift) {
+        return ((position >>> shift) & 1) != 0;
+    }
+
+    private static int gold(long position) {
+        return (int) (position & GOLD_MASK);
+    }
+
+    private static int kit(long position) {
+        return (int) ((position >>> KIT_SHIFT) & KIT_MASK);
+    }
+
+    private static int found(long position) {
+        return (int) ((position >>> FOUND_SHIFT) & 3);
+    }
+
+    private static int need(long position) {
+        return (int) ((position >>> NEED_SHIFT) & 7);
+    }
+
+    /**
+     * Solves each mode's opening, then plays games with the SolverStrategy and the GreedyStrategy to compare them.
+     *
+     * @param args Optionally, the horizon, the number of games to play per mode, and the seed.
+     */
+    public static void main(String[] args) {
+        int horizon = (args.length > 0) ? Integer.parseInt(args[0]) : 15;
+        long games = (args.length > 1) ? Long.parseLong(args[1]) : 10_000;
+        long seed = (args.length > 2) ? Long.parseLong(args[2]) : System.nanoTime();
+        System.out.println("Seed: " + seed + "  horizon: " + horizon + " turns");
+        int threads = Runtime.getRuntime().availableProcessors();
+        Simulator solved = new Simulator(new SolverStrategy(horizon), threads, seed);
+        Simulator greedy = new Simulator(new GreedyStrategy(), threads, seed);
+        for (Mode mode : Mode.values()) {
+            TreasureHunter game = new TreasureHunter("solver", mode, seed);
+            long start = System.nanoTime();
+            Solver solver = new Solver(game, horizon);
+            double opening = solver.openingWinProbability(game);
+            double seconds = (System.nanoTime() - start) / 1e9;
+            System.out.printf("%-8s best chance of winning within %d turns %6.2f%%  (%,d positions in %.1f s)%n",
+                    mode, horizon, opening * 100, solver.getSolvedPositions(), seconds);
+            System.out.println("  solver " + solved.run(mode, games).infoString());
+            System.out.println("  greedy " + greedy.run(mode, games).infoString());
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package treasurehunter;
+
+/**
+ * A Strategy that always makes the Solver's best move, looking a fixed number of turns ahead.<p>
+ * Solvers aren't safe to share between threads, so each Simulator worker thread gets its own solver for each mode
+ * and keeps it from game to game; after the first few games most positions have already been solved.
+ * A solver is only kept while games come with the same Rules and Tuning it was built for, since its odds and
+ * prices come from them.
+ */
+
+public class SolverStrategy implements Strategy {
+    // instance variables
+    private final int horizon;
+    private final ThreadLocal<Solvers> solvers;
+
+    /**
+     * @param horizon How many turns ahead to look.
+     */
+    public SolverStrategy(int horizon) {
+        this.horizon = horizon;
+        solvers = ThreadLocal.withInitial(Solvers::new);
+    }
+
+    public Action nextAction(TreasureHunter game) {
+        Solvers mine = solvers.get();
+        Solver.Move move = mine.solverFor(game, horizon).bestMove(game);
+        if (move.winProbability() == 0 && game.getCurrentTown().getTerrain().canCrossTerrain(game.getHunter())) {
+            // nothing wins within the horizon from here, so keep moving in the hope of a better town
+            return Action.MOVE;
+        }
+        // a trade is asked for straight after, so keep the move rather than solve the position twice
+        mine.lastGame = game;
+        mine.lastMove = move;
+        return move.action();
+    }
+
+    public String itemToTrade(TreasureHunter game, Action action) {
+        Solvers mine = solvers.get();
+        Solver.Move move = mine.lastMove;
+        if (mine.lastGame != game || move.action() != action) {
+            move = mine.solverFor(game, horizon).bestMove(game);
+        }
+        mine.lastGame = null;
+        mine.lastMove = null;
+        Item item = move.item();
+        return (item == null) ? null : item.getName();
+    }
+
+    /**
+     * One thread's solver for each mode, with the rules and settings each was built for,
+     * and the move it picked last.
+     */
+    private static final class Solvers {
+        private final Solver[] byMode = new Solver[Mode.values().length];
+        private final Rules[] rules = new Rules[byMode.length];
+        private final Tuning[] tunings = new Tuning[byMode.length];
+        private TreasureHunter lastGame;
+        private Solver.Move lastMove;
+
+        /**
+         * @return A solver for the game's mode, rules and settings, built again if the last one was for others.
+         */
+        Solver solverFor(TreasureHunter game, int horizon) {
+            int mode = game.getMode().ordinal();
+            if (byMode[mode] == null || rules[mode] != game.getRules() || tunings[mode] != game.getTuning()) {
+                byMode[mode] = new Solver(game, horizon);
+                rules[mode] = game.getRules();
+                tunings[mode] = game.getTuning();
+            }
+            return byMode[mode];
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package treasurehunter;
+
+/**
+ * A Strategy decides what a hunter does on each turn when the game is run by the Simulator
+ * instead of by a player at the console.
+ */
+
+public interface Strategy {
+
+    /**
+     * Picks the next action for the hunter.
+     *
+     * @param game The game being played.
+     * @return The action to take this turn.
+     */
+    Action nextAction(TreasureHunter game);
+
+    /**
+     * Picks the item to trade when nextAction returned BUY or SELL.
+     *
+     * @param game The game being played.
+     * @param action The shop action that was chosen.
+     * @return The name of the item to buy or sell.
+     */
+    String itemToTrade(TreasureHunter game, Action action);
+}
@@ -1,12 +1,16 @@
+package treasurehunter;
+
 /**
  * The Terrain class is designed to represent the zones between the towns in the Treasure Hunter game.
- * This code has been adapted from Ivan Turner's original program -- thank you Mr. Turner!
+ * This code has been adapted from Ivan Turner's original program -- thank you Mr. Turner!<p>
+ * A Terrain never changes once it is made, so each kind is made once by the TerrainCatalogue and shared by every town.
  */
 
 public class Terrain {
     // instance variables
-    private String terrainName;
-    private String neededItem;
+    private final String terrainName;
+    private final Item item;
+    private final String neededItem;
 
     /**
      * Sets the class member variables
@@ -16,6 +20,7 @@ public class Terrain {
      */
     public Terrain(String name, String item) {
         terrainName = name;
+        this.item = Item.fromName(item.toLowerCase());
         neededItem = item.toLowerCase();
     }
 
@@ -28,6 +33,13 @@ public class Terrain {
         return neededItem;
     }
 
+    /**
+     * @return The item needed to cross the zone, or null if it isn't an item any hunter can carry.
+     */
+    public Item getItem() {
+        return item;
+    }
+
     /**
      * Guards against a hunter crossing the zone without the proper item.
      * Searches the hunter's inventory for the proper item and determines whether the hunter can cross.
@@ -36,10 +48,7 @@ public class Terrain {
      * @return true if the Hunter has the proper item.
      */
     public boolean canCrossTerrain(Hunter hunter) {
-        if (hunter.hasItemInKit(neededItem)) {
-            return true;
-        }
-        return false;
+        return item != null && hunter.hasItemInKit(item);
     }
 
     /**
@@ -0,0 +1,202 @@
+package treasurehunter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * TerrainCatalogue Class<br /><br />
+ * Every kind of terrain a town can be surrounded by, each made once and shared, with how often each one comes up.<p>
+ * Picking a terrain for a new town takes one random number and a walk along a table of cumulative probabilities,
+ * and allocates nothing.<p>
+ * The standard catalogue is the one the game has always had. Designers can try out a different one by writing
+ * a file with one terrain per line, as its name, the item needed to cross it and its weight, for example
+ * <pre>Mountains rope 166</pre>
+ * and starting the game with -Dtreasurehunter.terrains=file. Weights are relative; lines starting with # are skipped.
+ * The items are the ones in the Item enum.
+ */
+
+public class TerrainCatalogue {
+    // constants
+    public static final String PROPERTY = "treasurehunter.terrains";
+    private static final TerrainCatalogue STANDARD = new TerrainCatalogue(
+            new Terrain[] {
+                new Terrain("Mountains", "Rope"),
+                new Terrain("Ocean", "Boat"),
+                new Terrain("Plains", "Horse"),
+                new Terrain("Desert", "Water"),
+                new Terrain("Jungle", "Machete"),
+                new Terrain("Marsh", "Boot")
+            },
+            new double[] {166, 166, 166, 166, 166, 170});
+    private static final TerrainCatalogue ACTIVE = loadActive();
+
+    // instance variables
+    private final Terrain[] terrains;
+    private final double[] cumulative;
+    private final double[] odds;
+
+    /**
+     * @param terrains The kinds of terrain.
+     * @param weights How often each one comes up, relative to the others.
+     */
+    public TerrainCatalogue(Terrain[] terrains, double[] weights) {
+        if (terrains.length == 0 || terrains.length != weights.length) {
+            throw new IllegalArgumentException("A catalogue needs a weight for each of at least one terrain");
+        }
+        this.terrains = terrains.clone();
+        double total = 0;
+        for (double weight : weights) {
+            total += weight;
+        }
+        cumulative = new double[weights.length];
+        odds = new double[weights.length];
+        double running = 0;
+        for (int i = 0; i < weights.length; i++) {
+            running += weights[i];
+            // whole number weights add up exactly, so the standard thresholds are exactly .166, .332 and so on
+            cumulative[i] = running / total;
+            odds[i] = weights[i] / total;
+        }
+    }
+
+    /**
+     * @return The catalogue new towns are drawn from: the designer's file if one was given, otherwise the standard one.
+     */
+    public static TerrainCatalogue get() {
+        return ACTIVE;
+    }
+
+    public static TerrainCatalogue standard() {
+        return STANDARD;
+    }
+
+    private static TerrainCatalogue loadActive() {
+        String file = System.getProperty(PROPERTY);
+        if (file == null) {
+            return STANDARD;
+        }
+        try {
+            return load(Path.of(file));
+        } catch (IOException e) {
+            throw new UncheckedIOException("The terrain catalogue " + file + " couldn't be read", e);
+        }
+    }
+
+    /**
+     * Reads a catalogue from a file.
+     *
+     * @param path The file.
+     * @return The catalogue.
+     * @throws IOException If the file can't be read or a line can't be understood.
+     */
+    public static TerrainCatalogue load(Path path) throws IOException {
+        List<Terrain> terrains = new ArrayList<>();
+        List<Double> weights = new ArrayList<>();
+        int lineNumber = 0;
+        for (String line : Files.readAllLines(path)) {
+            lineNumber++;
+            String trimmed = line.strip();
+            if (trimmed.isEmpty() || trimmed.startsWith("#")) {
+                continue;
+            }
+            String[] fields = trimmed.split("\\s+");
+            if (fields.length != 3 || Item.fromName(fields[1].toLowerCase()) == null) {
+                throw new IOException(path + " line " + lineNumber + ": expected a name, an item and a weight");
+            }
+            try {
+                weights.add(Double.parseDouble(fields[2]));
+            } catch (NumberFormatException e) {
+                throw new IOException(path + " line " + lineNumber + ": " + fields[2] + " isn't a weight", e);
+            }
+            terrains.add(new Terrain(fields[0], fields[1]));
+        }
+        double[] weightArray = new double[weights.size()];
+        for (int i = 0; i < weightArray.length; i++) {
+            weightArray[i] = weights.get(i);
+        }
+        return new TerrainCatalogue(terrains.toArray(new Terrain[0]), weightArray);
+    }
+
+    /**
+     * Picks a terrain for a new town.
+     *
+     * @param random Where to draw the random number from.
+     * @return One of the catalogue's terrains.
+     */
+    public Terrain pick(SplittableRandom random) {
+        return terrains[pickIndex(random.nextDouble())];
+    }
+
+    /**
+     * Picks a terrain for a new town from a random number that has already been drawn.
+     *
+     * @param rnd A random number from 0 up to 1.
+     * @return The index of the terrain in the catalogue.
+     */
+    int pickIndex(double rnd) {
+        int last = terrains.length - 1;
+        for (int i = 0; i < last; i++) {
+            if (rnd < cumulative[i]) {
+                return i;
+            }
+        }
+        return last;
+    }
+
+    /**
+     * @param index The index of a terrain in the catalogue.
+     * @return The terrain.
+     */
+    Terrain get(int index) {
+        return terrains[index];
+    }
+
+    /**
+     * @param name A terrain's name.
+     * @return The catalogue's terrain with that name, or null if there isn't one.
+     */
+    public Terrain byName(String name) {
+        for (Terrain terrain : terrains) {
+            if (terrain.getTerrainName().equals(name)) {
+                return terrain;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @param terrain A terrain.
+     * @return Its index in the catalogue, or -1 if it isn't one of the catalogue's own.
+     */
+    int indexOf(Terrain terrain) {
+        for (int i = 0; i < terrains.length; i++) {
+            if (terrains[i] == terrain) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @param item An item.
+     * @return The chance that a new town's terrain needs that item to cross it.
+     */
+    public double oddsOfNeeding(Item item) {
+        double total = 0;
+        for (int i = 0; i < terrains.length; i++) {
+            if (terrains[i].getItem() == item) {
+                total += odds[i];
+            }
+        }
+        return total;
+    }
+
+    public int size() {
+        return terrains.length;
+    }
+}
@@ -0,0 +1,269 @@
+package treasurehunter;
+
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.LongFunction;
+
+/**
+ * Tournament Class<br /><br />
+ * Plays policies against each other in leagues, either round-robin or Swiss, and ranks them on a Leaderboard.<p>
+ * A match between two policies is a run of games where both play the same seed, in the same mode, with shared towns,
+ * so both meet the same towns in the same order; whoever wins the game wins the point, the faster winner if both win,
+ * and anything else is a draw. Game n of every match uses the same seed, so every entrant faces the same games.<p>
+ * Each match is split in half again and again into fork/join tasks, and a whole round's matches are
+ * started together, so the pool's workers steal whatever work is left and stay busy to the end.
+ * Each task reports its games to the Leaderboard as one tally when it finishes, so memory doesn't grow with
+ * the number of games.
+ */
+
+public class Tournament {
+    // constants
+    private static final int LEAF_GAMES = 512;
+    private static final long SEED_STEP = 0x9E3779B97F4A7C15L;
+    private static final long POLICY_SEED_MIX = 0xBF58476D1CE4E5B9L;
+
+    // instance variables
+    private final List<Entrant> entrants;
+    private final Mode[] modes;
+    private final ForkJoinPool pool;
+    private final long seed;
+    private final Leaderboard leaderboard;
+
+    /**
+     * A policy entered in the tournament.
+     *
+     * @param name The name it goes by on the leaderboard.
+     * @param policies Makes a fresh policy from a seed for its random choices; every task plays with its own.
+     */
+    public record Entrant(String name, LongFunction<Policy> policies) {
+    }
+
+    /**
+     * What happened in a batch of games between two entrants.
+     */
+    static class Tally {
+        int aWins;
+        int bWins;
+        int draws;
+        long aWinningTurns;
+        long bWinningTurns;
+        final int[] modeGames = new int[Mode.values().length];
+        final int[] aModeWins = new int[Mode.values().length];
+        final int[] bModeWins = new int[Mode.values().length];
+    }
+
+    /**
+     * @param entrants The policies taking part.
+     * @param modes The modes to play, in turn, game after game.
+     * @param pool The pool to play the games in.
+     * @param seed The seed every game is drawn from.
+     */
+    public Tournament(List<Entrant> entrants, Mode[] modes, ForkJoinPool pool, long seed) {
+        this.entrants = List.copyOf(entrants);
+        this.modes = modes.clone();
+        this.pool = pool;
+        this.seed = seed;
+        String[] names = new String[entrants.size()];
+        for (int i = 0; i < names.length; i++) {
+            names[i] = entrants.get(i).name();
+        }
+        leaderboard = new Leaderboard(names);
+    }
+
+    public Leaderboard getLeaderboard() {
+        return leaderboard;
+    }
+
+    /**
+     * Plays every entrant against every other entrant once.
+     *
+     * @param gamesPerMatch How many games each match lasts.
+     */
+    public void roundRobin(int gamesPerMatch) {
+        List<ForkJoinTask<Void>> matches = new ArrayList<>();
+        for (int a = 0; a < entrants.size(); a++) {
+            for (int b = a + 1; b < entrants.size(); b++) {
+                matches.add(pool.submit(new MatchTask(a, b, 0, gamesPerMatch)));
+            }
+        }
+        for (ForkJoinTask<Void> match : matches) {
+            match.join();
+        }
+    }
+
+    /**
+     * Plays a Swiss league: every round pairs entrants with others on a similar score whom they haven't met yet,
+     * so a good ranking comes out of far fewer matches than a round-robin needs.
+     * With an odd number of entrants the lowest placed one without a match sits the round out.
+     *
+     * @param rounds The number of rounds to play, at least 1; defaultSwissRounds() is enough to separate the entrants.
+     * @param gamesPerMatch How many games each match lasts.
+     * @throws IllegalArgumentException If rounds is less than 1.
+     */
+    public void swiss(int rounds, int gamesPerMatch) {
+        if (rounds < 1) {
+            throw new IllegalArgumentException("A Swiss league needs at least one round, not " + rounds);
+        }
+        int count = entrants.size();
+        boolean[][] met = new boolean[count][count];
+        for (int round = 0; round < rounds; round++) {
+            Integer[] standings = leaderboard.getStandings();
+            if (round == 0) {
+                // nobody has a rating yet, so the first round pairs the entrants in the order they entered
+                for (int i = 0; i < count; i++) {
+                    standings[i] = i;
+                }
+            }
+            boolean[] paired = new boolean[count];
+            List<ForkJoinTask<Void>> matches = new ArrayList<>();
+            for (int i = 0; i < count; i++) {
+                int a = standings[i];
+                if (paired[a]) {
+                    continue;
+                }
+                int b = -1;
+                // the closest placed opponent not met yet, or failing that the closest placed one
+                for (int j = i + 1; j < count && b < 0; j++) {
+                    if (!paired[standings[j]] && !met[a][standings[j]]) {
+                        b = standings[j];
+                    }
+                }
+                for (int j = i + 1; j < count && b < 0; j++) {
+                    if (!paired[standings[j]]) {
+                        b = standings[j];
+                    }
+                }
+                if (b < 0) {
+                    continue;
+                }
+                paired[a] = true;
+                paired[b] = true;
+                met[a][b] = true;
+                met[b][a] = true;
+                matches.add(pool.submit(new MatchTask(a, b, 0, gamesPerMatch)));
+            }
+            for (ForkJoinTask<Void> match : matches) {
+                match.join();
+            }
+        }
+    }
+
+    /**
+     * @param entrants How many entrants there are.
+     * @return The usual number of Swiss rounds for that many entrants, the base 2 logarithm rounded up,
+     *         which is enough rounds for a single entrant to finish ahead of the rest; at least 1.
+     */
+    public static int defaultSwissRounds(int entrants) {
+        return Math.max(1, 32 - Integer.numberOfLeadingZeros(entrants - 1));
+    }
+
+    /**
+     * Plays game number gameNumber for one entrant.
+     *
+     * @return The number of turns the game took, or -1 if the game wasn't won.
+     */
+    private int playGame(Policy policy, int gameNumber, Mode mode) {
+        TreasureHunter game = new TreasureHunter((InputStream) null, null, seed + gameNumber * SEED_STEP);
+        game.setSharedTowns(true);
+        game.startHeadless("bot", mode);
+        int turns = BotDriver.playGame(policy, game);
+        return game.hasWon() ? turns : -1;
+    }
+
+    /**
+     * Plays a range of a match's games, splitting it in half until the pieces are small enough to play.
+     */
+    private class MatchTask extends RecursiveAction {
+        // tasks are only ever run in this JVM, never serialized
+        private static final long serialVersionUID = 1L;
+        private final int a;
+        private final int b;
+        private final int first;
+        private final int last;
+
+        MatchTask(int a, int b, int first, int last) {
+            this.a = a;
+            this.b = b;
+            this.first = first;
+            this.last = last;
+        }
+
+        @Override
+        protected void compute() {
+            if (last - first > LEAF_GAMES) {
+                int middle = (first + last) >>> 1;
+                invokeAll(new MatchTask(a, b, first, middle), new MatchTask(a, b, middle, last));
+                return;
+            }
+            long policySeed = seed ^ (first * POLICY_SEED_MIX);
+            Policy policyA = entrants.get(a).policies().apply(policySeed + a);
+            Policy policyB = entrants.get(b).policies().apply(policySeed + b);
+            Tally tally = new Tally();
+            for (int i = first; i < last; i++) {
+                Mode mode = modes[i % modes.length];
+                int turnsA = playGame(policyA, i, mode);
+                int turnsB = playGame(policyB, i, mode);
+                tally.modeGames[mode.ordinal()]++;
+                if (turnsA >= 0) {
+                    tally.aModeWins[mode.ordinal()]++;
+                    tally.aWinningTurns += turnsA;
+                }
+                if (turnsB >= 0) {
+                    tally.bModeWins[mode.ordinal()]++;
+                    tally.bWinningTurns += turnsB;
+                }
+                // a win beats a loss, and a quicker win beats a slower one
+                int scoreA = (turnsA < 0) ? Integer.MIN_VALUE : -turnsA;
+                int scoreB = (turnsB < 0) ? Integer.MIN_VALUE : -turnsB;
+                if (scoreA > scoreB) {
+                    tally.aWins++;
+                } else if (scoreB > scoreA) {
+                    tally.bWins++;
+                } else {
+                    tally.draws++;
+                }
+            }
+            leaderboard.record(a, b, tally);
+        }
+    }
+
+    /**
+     * Runs a tournament and prints the leaderboard.
+     *
+     * @param args round-robin or swiss; for swiss, the number of rounds, or 0 for defaultSwissRounds();
+     *             the number of games per match; the seed;
+     *             then the policies to enter, as BotDriver names them (random, greedy or script:moves).
+     *             With no arguments, a round-robin of 10,000 game matches between greedy, random and two scripts.
+     */
+    public static void main(String[] args) {
+        List<String> rest = new ArrayList<>(List.of(args));
+        String format = rest.isEmpty() ? "round-robin" : rest.remove(0);
+        int rounds = format.equals("swiss") && !rest.isEmpty() ? Integer.parseInt(rest.remove(0)) : 0;
+        int gamesPerMatch = rest.isEmpty() ? 10_000 : Integer.parseInt(rest.remove(0));
+        long seed = rest.isEmpty() ? System.nanoTime() : Long.parseLong(rest.remove(0));
+        if (rest.isEmpty()) {
+            rest = List.of("greedy", "random", "script:h,d,l,m", "script:b:shovel,h,d,l,b:water,b:rope,b:machete,b:horse,b:boat,m");
+        }
+        List<Entrant> entrants = new ArrayList<>();
+        for (String name : rest) {
+            entrants.add(new Entrant(name, BotDriver.policy(name)));
+        }
+
+        System.out.println("Seed: " + seed);
+        Tournament tournament = new Tournament(entrants, Mode.values(), ForkJoinPool.commonPool(), seed);
+        long start = System.nanoTime();
+        if (format.equals("swiss")) {
+            tournament.swiss((rounds > 0) ? rounds : defaultSwissRounds(entrants.size()), gamesPerMatch);
+        } else {
+            tournament.roundRobin(gamesPerMatch);
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.print(tournament.getLeaderboard().infoString());
+        long games = tournament.getLeaderboard().getGamesPlayed();
+        System.out.printf("%,d games in %.1f s (%,.0f games/s)%n", games, seconds, games / seconds);
+    }
+}
@@ -0,0 +1,306 @@
+package treasurehunter;
+
+import java.util.SplittableRandom;
+
+/**
+ * The Town Class is where it all happens.
+ * The Town is designed to manage all the things a Hunter can do in town.
+ * This code has been adapted from Ivan Turner's original program -- thank you Mr. Turner!
+ */
+
+public final class Town {
+    // constants
+    private static final byte[] SURROUNDED_BY = Renderer.bytes("This nice little town is surrounded by ");
+    private static final byte[] FULL_STOP = Renderer.bytes(".");
+
+    // instance variables
+    private Hunter hunter;
+    private Shop shop;
+    private Terrain terrain;
+    private boolean toughTown;
+    private Treasure townTreasure;
+    private boolean townSearched;
+    private TreasureHunter treasureHunter;
+    private TownSite site;
+
+    /**
+     * The Town Constructor takes in a shop and the surrounding terrain, but leaves the hunter as null until one arrives.
+     *
+     * @param shop The town's shoppe.
+     * @param toughness The surrounding terrain.
+     */
+    public Town(Shop shop, double toughness, TreasureHunter treasureHunter) {
+        this.shop = shop;
+        // the treasure hunter has to be set first, since it supplies the random numbers for the town
+        this.treasureHunter = treasureHunter;
+        this.terrain = getNewTerrain();
+
+        // the hunter gets set using the hunterArrives method, which
+        // gets called from a client class
+        hunter = null;
+
+        // higher toughness = more likely to be a tough town
+        toughTown = (treasureHunter.getTownRandom().nextDouble() < toughness);
+        townSearched = false;
+        townTreasure();
+    }
+
+    /**
+     * Builds the town standing on a world site. The terrain, treasure and searched state come from the site,
+     * so the town is the same every time a hunter comes back to it, and every hunter in it shares its claims.
+     *
+     * @param shop The town's shoppe.
+     * @param toughness How likely the town is to be tough in this game's mode.
+     * @param site The world site the town stands on.
+     */
+    public Town(Shop shop, double toughness, TreasureHunter treasureHunter, TownSite site) {
+        this.shop = shop;
+        this.treasureHunter = treasureHunter;
+        this.site = site;
+        terrain = site.getTerrain();
+        hunter = null;
+
+        // the site's roll is fixed, so the same town is tough or not depending only on the mode's toughness
+        toughTown = (site.getToughnessRoll() < toughness);
+        townTreasure = site.getTownTreasure();
+    }
+
+    /**
+     * Rebuilds a town the way a Snapshot saved it.
+     *
+     * @param shop The town's shoppe.
+     * @param terrain The saved terrain.
+     * @param toughTown Whether the town was tough.
+     * @param townTreasure The saved treasure.
+     * @param townSearched Whether the town had been searched.
+     */
+    Town(Shop shop, TreasureHunter treasureHunter, Terrain terrain, boolean toughTown, Treasure townTreasure, boolean townSearched) {
+        this.shop = shop;
+        this.treasureHunter = treasureHunter;
+        this.terrain = terrain;
+        hunter = null;
+        this.toughTown = toughTown;
+        this.townSearched = townSearched;
+        this.townTreasure = townTreasure;
+    }
+
+    public Terrain getTerrain() {
+        return terrain;
+    }
+
+    public Shop getShop() {
+        return shop;
+    }
+
+    public boolean isToughTown() {
+        return toughTown;
+    }
+
+    /**
+     * Assigns an object to the Hunter in town.
+     *
+     * @param hunter The arriving Hunter.
+     */
+    public void hunterArrives(Hunter hunter) {
+        this.hunter = hunter;
+        treasureHunter.getEvents().publish(EventType.TOWN_ENTERED, toughTown ? 1 : 0, null, null, terrain);
+    }
+
+    /**
+     * Handles the action of the Hunter leaving the town.
+     *
+     * @return true if the Hunter was able to leave town.
+     */
+    public boolean leaveTown() {
+        boolean canLeaveTown = terrain.canCrossTerrain(hunter);
+        EventBus events = treasureHunter.getEvents();
+        if (canLeaveTown) {
+            events.publish(EventType.TERRAIN_CROSSED, terrain);
+            if (checkItemBreak()) {
+                hunter.removeItemFromKit(terrain.getItem());
+                Metrics.GLOBAL.itemBroken();
+                events.publish(EventType.ITEM_BROKE, terrain.getItem());
+            }
+            hunter.setDug(false);
+            return true;
+        }
+
+        events.publish(EventType.CANNOT_LEAVE, terrain);
+        return false;
+    }
+
+    /**
+     * Gives the hunter a chance to fight for some gold.<p>
+     * The chances of finding a fight and winning the gold are based on the toughness of the town.<p>
+     * The tougher the town, the easier it is to find a fight, and the harder it is to win one.
+     */
+    public void lookForTrouble() {
+        SplittableRandom random = treasureHunter.getRandom();
+        double noTroubleChance;
+        EventBus events = treasureHunter.getEvents();
+        ModeRules rules = treasureHunter.getModeRules();
+        if (treasureHunter.isHasSword()){
+            int goldDiff = rules.rollSwordGold(random);
+            events.publish(EventType.SWORD_BRAWL, goldDiff);
+            hunter.changeGold(goldDiff);
+            Metrics.GLOBAL.brawlWon();
+            Metrics.GLOBAL.goldIn(goldDiff);
+        } else {
+            Tuning tuning = treasureHunter.getTuning();
+            if (toughTown) {
+                noTroubleChance = tuning.getToughTownOdds();
+            } else {
+                noTroubleChance = tuning.getQuietTownOdds();
+            }
+            if (random.nextDouble() > noTroubleChance) {
+                events.publish(EventType.NO_TROUBLE);
+            } else {
+                int goldDiff = rules.rollBrawlGold(random);
+                if (random.nextDouble() > noTroubleChance) {
+                    events.publish(EventType.BRAWL_WON, goldDiff);
+                    hunter.changeGold(goldDiff);
+                    Metrics.GLOBAL.brawlWon();
+                    Metrics.GLOBAL.goldIn(goldDiff);
+                } else {
+                    // a hunter can't pay more than they have, so report what they actually lost
+                    int goldBefore = hunter.getGold();
+                    hunter.changeGold(-goldDiff);
+                    int goldLost = goldBefore - hunter.getGold();
+                    events.publish(EventType.BRAWL_LOST, goldLost);
+                    Metrics.GLOBAL.goldOut(goldLost);
+                    Metrics.GLOBAL.brawlLost();
+                }
+            }
+        }
+    }
+    public String infoString() {
+        return "This nice little town is surrounded by " + terrain.getTerrainName() + ".";
+    }
+
+    /**
+     * Writes the same text as infoString() straight into the renderer.
+     *
+     * @param renderer Where to write the town's details.
+     */
+    public void render(Renderer renderer) {
+        renderer.append(SURROUNDED_BY).append(terrain.getTerrainName()).append(FULL_STOP);
+    }
+
+    /**
+     * Determines the surrounding terrain for a town, and the item needed in order to cross that terrain.
+     *
+     * @return A Terrain object.
+     */
+    private Terrain getNewTerrain() {
+        return newTerrain(treasureHunter.getTownRandom());
+    }
+
+    /**
+     * Picks a terrain with the given random numbers; shared with the World so its towns are generated the same way.
+     *
+     * @param random Where to draw the random number from.
+     * @return One of the shared terrains from the TerrainCatalogue.
+     */
+    static Terrain newTerrain(SplittableRandom random) {
+        return TerrainCatalogue.get().pick(random);
+    }
+
+    /**
+     * Determines whether a used item has broken.
+     *
+     * @return true if the item broke.
+     */
+    private boolean checkItemBreak() {
+        double rand = treasureHunter.getRandom().nextDouble();
+        return (rand < treasureHunter.getTuning().getBreakChance());
+    }
+
+    public void setTownSearched(boolean searched){
+        townSearched = searched;
+    }
+
+    public boolean isTownSearched() {
+        if (site != null) {
+            return site.isSearched();
+        }
+        return townSearched;
+    }
+
+    /**
+     * Claims the town's treasure for the hunter who is searching it. In a world, hunters in the same town race
+     * for it and only the first one to search wins; otherwise the town is simply marked as searched.
+     *
+     * @return true if the hunter gets to search the town, false if it has already been searched.
+     */
+    public boolean claimTreasure() {
+        if (site == null) {
+            if (townSearched) {
+                return false;
+            }
+            townSearched = true;
+            return true;
+        }
+        while (true) {
+            TownSite.Claim claim = site.claimTreasure();
+            if (claim != TownSite.Claim.RETIRED) {
+                return claim == TownSite.Claim.WON;
+            }
+            refreshSite();
+        }
+    }
+
+    /**
+     * Claims one of the town's dig spots for a hunter who has struck gold. Only world towns run out of spots;
+     * everywhere else there is always one for each hunter.
+     *
+     * @return true if the hunter gets the gold, false if every spot in the town has already been dug.
+     */
+    public boolean claimDigSpot() {
+        if (site == null) {
+            return true;
+        }
+        while (true) {
+            TownSite.Claim claim = site.claimDigSpot();
+            if (claim != TownSite.Claim.RETIRED) {
+                return claim == TownSite.Claim.WON;
+            }
+            refreshSite();
+        }
+    }
+
+    /**
+     * Swaps a site the World has retired for its current copy, which carries on with the same claims.
+     */
+    private void refreshSite() {
+        site = treasureHunter.getWorld().siteAt(site.getX(), site.getY());
+    }
+
+    /**
+     * @return The world site this town stands on, or null if the town isn't part of a world.
+     */
+    public TownSite getSite() {
+        return site;
+    }
+
+    public String getTownTreasure(){
+        return townTreasure.getName();
+    }
+
+    public Treasure getTreasure() {
+        return townTreasure;
+    }
+
+    public void townTreasure(){
+        townTreasure = newTreasure(treasureHunter.getTownRandom());
+    }
+
+    /**
+     * Picks a town's treasure with the given random numbers; shared with the World so its towns are generated the same way.
+     *
+     * @param random Where to draw the random number from.
+     * @return The town's treasure.
+     */
+    static Treasure newTreasure(SplittableRandom random) {
+        return Treasure.pick(random);
+    }
+}
@@ -0,0 +1,177 @@
+package treasurehunter;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * TownSite Class<br /><br />
+ * The lasting part of a town in a World: where it is, what surrounds it, what treasure it holds,
+ * and whether the treasure has been searched for.<p>
+ * A site is generated from a random generator seeded by the world's seed and the site's coordinates,
+ * so the same site always comes out the same, no matter when or how often it is generated.<p>
+ * Every hunter in the same town shares its site, and they race for its treasure and its dig spots.
+ * All of the site's changing state is one int, and every claim is a single compare-and-set on it,
+ * so exactly one hunter wins each claim without anyone taking a lock.<p>
+ * When the World drops a site from its cache it retires it: one more compare-and-set marks the site retired,
+ * after which every claim on it fails with RETIRED, and the state it had is handed to the next copy of the site.
+ * A hunter told RETIRED looks the site up again and retries, so a treasure can never be claimed twice.
+ */
+
+public class TownSite {
+    // constants
+    public static final int DIG_SPOTS = 3;
+    private static final int SEARCHED = 1;
+    private static final int SPOTS_SHIFT = 1;
+    private static final int ALL_SPOTS = (1 << DIG_SPOTS) - 1;
+    private static final int RETIRED_BIT = 1 << 31;
+
+    /**
+     * How a claim on a site turned out.
+     */
+    public enum Claim {
+        /** This hunter got it. */
+        WON,
+        /** Another hunter got there first, or there was nothing left. */
+        LOST,
+        /** The site has been dropped from the world's cache; look it up again and retry. */
+        RETIRED
+    }
+
+    // instance variables
+    private final int x;
+    private final int y;
+    private final Terrain terrain;
+    private final double toughnessRoll;
+    private final Treasure townTreasure;
+    private final Market market;
+    private final AtomicInteger state;
+
+    /**
+     * Generates the site at the given coordinates.
+     *
+     * @param x The site's east-west coordinate.
+     * @param y The site's north-south coordinate.
+     * @param random A generator seeded for this site alone.
+     */
+    public TownSite(int x, int y, SplittableRandom random) {
+        this.x = x;
+        this.y = y;
+        // drawn in the same order as a town outside a world draws them
+        terrain = Town.newTerrain(random);
+        toughnessRoll = random.nextDouble();
+        townTreasure = Town.newTreasure(random);
+        market = new Market();
+        state = new AtomicInteger();
+    }
+
+    /**
+     * Regenerates a site that was retired, carrying on from the state it had.
+     *
+     * @param x The site's east-west coordinate.
+     * @param y The site's north-south coordinate.
+     * @param random A generator seeded for this site alone.
+     * @param retiredState What retire() returned for the site's last copy.
+     */
+    TownSite(int x, int y, SplittableRandom random, int retiredState) {
+        this(x, y, random);
+        state.set(retiredState & ~RETIRED_BIT);
+    }
+
+    // accessors
+    public int getX() {
+        return x;
+    }
+
+    public int getY() {
+        return y;
+    }
+
+    public Terrain getTerrain() {
+        return terrain;
+    }
+
+    /**
+     * @return A number in [0, 1); the town is tough in any mode whose toughness is above it.
+     */
+    public double getToughnessRoll() {
+        return toughnessRoll;
+    }
+
+    public Treasure getTownTreasure() {
+        return townTreasure;
+    }
+
+    /**
+     * @return The market every shop on this site trades through.
+     */
+    public Market getMarket() {
+        return market;
+    }
+
+    public boolean isSearched() {
+        return (state.get() & SEARCHED) != 0;
+    }
+
+    /**
+     * @return How many of the site's dig spots have been dug.
+     */
+    public int getDugSpots() {
+        return Integer.bitCount((state.get() >>> SPOTS_SHIFT) & ALL_SPOTS);
+    }
+
+    public boolean isRetired() {
+        return (state.get() & RETIRED_BIT) != 0;
+    }
+
+    /**
+     * Claims the right to search the site for its treasure; only the first hunter to search gets it.
+     *
+     * @return WON for the first claim, LOST if the site has been searched, RETIRED if the site has been retired.
+     */
+    public Claim claimTreasure() {
+        while (true) {
+            int current = state.get();
+            if ((current & RETIRED_BIT) != 0) {
+                return Claim.RETIRED;
+            }
+            if ((current & SEARCHED) != 0) {
+                return Claim.LOST;
+            }
+            if (state.compareAndSet(current, current | SEARCHED)) {
+                return Claim.WON;
+            }
+        }
+    }
+
+    /**
+     * Claims one of the site's dig spots for a hunter who has struck gold.
+     *
+     * @return WON if a spot was free, LOST if every spot has been dug, RETIRED if the site has been retired.
+     */
+    public Claim claimDigSpot() {
+        while (true) {
+            int current = state.get();
+            if ((current & RETIRED_BIT) != 0) {
+                return Claim.RETIRED;
+            }
+            int spots = (current >>> SPOTS_SHIFT) & ALL_SPOTS;
+            if (spots == ALL_SPOTS) {
+                return Claim.LOST;
+            }
+            // the lowest free spot
+            int spot = Integer.lowestOneBit(~spots);
+            if (state.compareAndSet(current, current | (spot << SPOTS_SHIFT))) {
+                return Claim.WON;
+            }
+        }
+    }
+
+    /**
+     * Stops any more claims on this copy of the site. Called by the World when it drops the site.
+     *
+     * @return The state the site had when it was retired, to start its next copy from; 0 if nothing was claimed.
+     */
+    int retire() {
+        return state.getAndUpdate(current -> current | RETIRED_BIT) & ~RETIRED_BIT;
+    }
+}
@@ -0,0 +1,82 @@
+package treasurehunter;
+
+import java.util.SplittableRandom;
+
+/**
+ * The Treasure enum is the catalogue of what can be found when hunting for treasure in a town.<p>
+ * The ordinal of each treasure is its bit in the TreasureHunter's treasure Inventory.
+ * Dust can be found but is never kept.
+ */
+
+public enum Treasure {
+    CROWN("crown"),
+    GEM("gem"),
+    TROPHY("trophy"),
+    DUST("dust");
+
+    // constants
+    /** Every entry in ordinal order; values() copies the array on every call. */
+    static final Treasure[] VALUES = values();
+    /** The chance of finding each treasure, or one before it, in a new town. */
+    private static final double[] CUMULATIVE = {0.25, 0.5, 0.75, 1.0};
+
+    // instance variables
+    private final String name;
+
+    Treasure(String name) {
+        this.name = name;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Picks the treasure for a new town with one random number.
+     *
+     * @param random Where to draw the random number from.
+     * @return The town's treasure.
+     */
+    public static Treasure pick(SplittableRandom random) {
+        return VALUES[pickIndex(random.nextDouble())];
+    }
+
+    /**
+     * Picks the treasure for a new town from a random number that has already been drawn.
+     *
+     * @param rnd A random number from 0 up to 1.
+     * @return The ordinal of the town's treasure.
+     */
+    static int pickIndex(double rnd) {
+        for (int i = 0; i < CUMULATIVE.length - 1; i++) {
+            if (rnd < CUMULATIVE[i]) {
+                return i;
+            }
+        }
+        return VALUES.length - 1;
+    }
+
+    /**
+     * Looks up a treasure by name.
+     *
+     * @param name The lower case name of the treasure.
+     * @return The matching treasure, or null if there is no such treasure.
+     */
+    public static Treasure fromName(String name) {
+        if (name == null) {
+            return null;
+        }
+        switch (name) {
+            case "crown":
+                return CROWN;
+            case "gem":
+                return GEM;
+            case "trophy":
+                return TROPHY;
+            case "dust":
+                return DUST;
+            default:
+                return null;
+        }
+    }
+}
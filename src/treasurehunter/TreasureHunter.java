@@ -0,0 +1,1006 @@
+package treasurehunter;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.NoSuchElementException;
+import java.util.SplittableRandom;
+
+/**
+ * This class is responsible for controlling the Treasure Hunter game.<p>
+ * It handles the display of the menu and the processing of the player's choices.<p>
+ * The rules report what happened as events on the game's EventBus, and a ConsoleSink turns them into the text the player sees. <p>
+ *
+ * This code has been adapted from Ivan Turner's original program -- thank you Mr. Turner!
+ */
+
+public final class TreasureHunter {
+    // constants
+    private static final byte[] STATUS_DIVIDER = Renderer.bytes("***");
+    private static final byte[] TREASURE_FOUND = Renderer.bytes("Treasure found: ");
+    private static final byte[] SPACE = Renderer.bytes(" ");
+    private static final long TOWN_SEED_MIX = 0x5DEECE66DL;
+    /** The most turns one fast-forward plays, so a single line from a player can't keep a server thread busy for long. */
+    public static final int MAX_FAST_FORWARD_TURNS = 1000;
+
+    // instance variables
+    private final LineReader input;
+    private final Renderer renderer;
+    private final PrintStream out;
+    private final EventBus events;
+    private final ConsoleSink console;
+    private Town currentTown;
+    private Hunter hunter;
+    private Mode mode;
+    private boolean headless;
+    private boolean timed;
+    private boolean dynamicMarkets;
+    private Market market;
+    private World world;
+    private SnapshotStore store;
+    private long sessionId;
+    private EventLog log;
+    private long logSessionId;
+    private long inputWaitNanos;
+    private Rules rules;
+    private ModeRules modeRules;
+    private Tuning tuning;
+    private int townX;
+    private int townY;
+    private Inventory treasure;
+    private final long seed;
+    private final SplittableRandom random;
+    private SplittableRandom townRandom;
+    private GameView view;
+
+
+    /**
+     * Constructs the Treasure Hunter game on the console with a randomly chosen seed.
+     */
+    public TreasureHunter() {
+        this(System.in, System.out);
+    }
+
+    /**
+     * Constructs the Treasure Hunter game with a randomly chosen seed, played over the given streams.
+     * Every game has its own streams, so many games can be played at once in the same JVM.
+     *
+     * @param in Where the player's choices are read from.
+     * @param out Where everything the game says is written to.
+     */
+    public TreasureHunter(InputStream in, OutputStream out) {
+        this(in, out, new SplittableRandom().nextLong());
+    }
+
+    /**
+     * Constructs the Treasure Hunter game on the console with a fixed seed.<p>
+     * Every random event in the game is drawn from this game's own generator,
+     * so the same seed and the same choices always play out the same way.
+     *
+     * @param seed The seed for the game's random number generator.
+     */
+    public TreasureHunter(long seed) {
+        this(System.in, System.out, seed);
+    }
+
+    /**
+     * Constructs the Treasure Hunter game with a fixed seed, played over the given streams.
+     *
+     * @param in Where the player's choices are read from.
+     * @param out Where everything the game says is written to.
+     * @param seed The seed for the game's random number generator.
+     */
+    public TreasureHunter(InputStream in, OutputStream out, long seed) {
+        // a plain line reader rather than a Scanner, which drags in regular expressions and locale data before the first prompt,
+        // or a BufferedReader, which holds 24 KB of buffers for as long as the player takes to answer
+        input = (in == null) ? null : new LineReader(in);
+        // a player's turns are timed; a headless game's aren't unless asked, since two clock reads
+        // and a shared histogram cost more than a whole simulated turn
+        timed = (in != null);
+        if (out == null) {
+            renderer = null;
+            this.out = null;
+        } else {
+            // everything printed is buffered by the renderer until the game waits for input
+            renderer = new Renderer(out);
+            this.out = new PrintStream(renderer, false, StandardCharsets.UTF_8);
+        }
+        // the rules publish what happened, and the console sink turns it into text when the bus is drained
+        events = new EventBus();
+        if (out == null) {
+            console = null;
+        } else {
+            console = new ConsoleSink(this);
+            events.addSink(console);
+        }
+        this.seed = seed;
+        random = new SplittableRandom(seed);
+        // a game keeps the rules it started with, even if new ones are swapped in while it's played
+        rules = Rules.get();
+
+        // these will be initialized in the play method
+        currentTown = null;
+        hunter = null;
+        mode = Mode.NORMAL;
+        modeRules = rules.forMode(mode);
+        headless = false;
+        treasure = new Inventory(3);
+    }
+
+    /**
+     * Constructs a headless game that is already in its first town.<p>
+     * A headless game never reads from the console or builds any messages; it is driven
+     * one turn at a time through takeTurn(), which is how the Simulator plays it.
+     *
+     * @param hunterName The hunter's name.
+     * @param mode The difficulty mode to play in.
+     * @param seed The seed for the game's random number generator.
+     */
+    public TreasureHunter(String hunterName, Mode mode, long seed) {
+        this(hunterName, mode, seed, null);
+    }
+
+    /**
+     * Constructs a headless game that is already in its first town in a world.
+     *
+     * @param hunterName The hunter's name.
+     * @param mode The difficulty mode to play in.
+     * @param seed The seed for the game's random number generator.
+     * @param world The world to play in, or null for random towns.
+     */
+    public TreasureHunter(String hunterName, Mode mode, long seed, World world) {
+        this(hunterName, mode, seed, world, null);
+    }
+
+    /**
+     * Constructs a headless game that is already in its first town, played with non-standard settings.
+     *
+     * @param hunterName The hunter's name.
+     * @param mode The difficulty mode to play in.
+     * @param seed The seed for the game's random number generator.
+     * @param world The world to play in, or null for random towns.
+     * @param tuning The settings to play with, or null for the mode's usual ones.
+     */
+    public TreasureHunter(String hunterName, Mode mode, long seed, World world, Tuning tuning) {
+        // a headless game has no console to talk to
+        this((InputStream) null, null, seed);
+        this.world = world;
+        this.tuning = tuning;
+        startHeadless(hunterName, mode);
+    }
+
+    /**
+     * Starts a game with no console in its first town.
+     * Package-private so EventReplay can switch on dynamic markets before the first shop opens.
+     *
+     * @param hunterName The hunter's name.
+     * @param mode The difficulty mode to play in.
+     */
+    void startHeadless(String hunterName, Mode mode) {
+        headless = true;
+        startGame(hunterName, mode);
+        enterTown();
+    }
+
+    public boolean isSamuraiMode(){
+        return mode == Mode.SAMURAI;
+    }
+
+    public SplittableRandom getRandom() {
+        return random;
+    }
+
+    /**
+     * @return Where new towns draw their terrain, toughness and treasure from; the game's own generator
+     *         unless the game has shared towns.
+     */
+    public SplittableRandom getTownRandom() {
+        return (townRandom == null) ? random : townRandom;
+    }
+
+    /**
+     * Draws towns from a generator of their own, so any two games with the same seed visit the same towns
+     * in the same order however differently they are played. Must be called before the first town is entered.
+     *
+     * @param sharedTowns true for towns to have their own generator, false to draw them from the game's.
+     */
+    public void setSharedTowns(boolean sharedTowns) {
+        townRandom = sharedTowns ? new SplittableRandom(seed ^ TOWN_SEED_MIX) : null;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * @return The stream everything in this game is printed to.
+     */
+    public PrintStream getOut() {
+        return out;
+    }
+
+    /**
+     * @return The renderer that buffers this game's output, for writing to without building Strings.
+     */
+    public Renderer getRenderer() {
+        return renderer;
+    }
+
+    /**
+     * @return The bus this game's rules publish their results on; add a sink to it to see them.
+     */
+    public EventBus getEvents() {
+        return events;
+    }
+
+    /**
+     * @return The read-only view a bot decides its turns through; a game only ever has the one.
+     */
+    public GameView getView() {
+        if (view == null) {
+            view = new GameView(this);
+        }
+        return view;
+    }
+
+    /**
+     * Reads the player's next line of input, first draining the game's events and flushing anything
+     * still waiting to be printed so the player can see the prompt.
+     *
+     * @return The line the player entered.
+     * @throws NoSuchElementException If the player has gone and there's nothing left to read.
+     */
+    public String readLine() {
+        events.drain();
+        out.flush();
+        // time spent waiting for the player isn't part of how long their turn took to process
+        long start = System.nanoTime();
+        String line;
+        try {
+            line = input.readLine();
+        } catch (IOException e) {
+            // a broken connection means the player has gone, the same as running out of input
+            line = null;
+        }
+        if (line == null) {
+            throw new NoSuchElementException("No line found");
+        }
+        inputWaitNanos += System.nanoTime() - start;
+        return line;
+    }
+
+    /**
+     * Turns on supply and demand pricing for the shop in every town entered from now on.
+     * In a world each site has its own Market; elsewhere the game keeps one, since no town is ever visited twice.
+     *
+     * @param dynamicMarkets true for supply and demand pricing, false for fixed prices.
+     */
+    public void setDynamicMarkets(boolean dynamicMarkets) {
+        this.dynamicMarkets = dynamicMarkets;
+        if (dynamicMarkets && market == null) {
+            market = new Market();
+        }
+    }
+
+    /**
+     * @return The market the shops in towns outside a world trade through, or null if prices are fixed.
+     *         Package-private so a Snapshot can save and restore its demand.
+     */
+    Market getMarket() {
+        return dynamicMarkets ? market : null;
+    }
+
+    /**
+     * Plays the game in a world, where moving on walks to a neighbouring town that stays put for the next visit.
+     * Must be called before the first town is entered.
+     *
+     * @param world The world to play in; it may be shared with other games.
+     */
+    public void setWorld(World world) {
+        this.world = world;
+    }
+
+    public World getWorld() {
+        return world;
+    }
+
+    public boolean hasDynamicMarkets() {
+        return dynamicMarkets;
+    }
+
+    /**
+     * Records how long each turn takes in Metrics. Games played at a console are timed from the start;
+     * headless games aren't unless this is switched on.
+     *
+     * @param timed true to time every turn.
+     */
+    public void setTimed(boolean timed) {
+        this.timed = timed;
+    }
+
+    /**
+     * Saves the game to the store after every turn, and offers to resume a saved game when a hunter gives their name.
+     * Must be called before the game is played.
+     *
+     * @param store The store to save into and resume from.
+     */
+    public void setSnapshotStore(SnapshotStore store) {
+        this.store = store;
+    }
+
+    /**
+     * Appends every action taken in this game to the log, so it can be replayed later.
+     * A game that hasn't started yet is logged from the start of play(); a headless game is logged from now on.
+     *
+     * @param log The log to append to; it may be shared with other games.
+     */
+    public void setEventLog(EventLog log) {
+        this.log = log;
+        if (hunter != null) {
+            logEvent(EventLog.START, null, null);
+        }
+    }
+
+    /**
+     * Appends an event for this game to the log, if it has one.
+     * If the log can't be written to, this game stops logging rather than stopping play.
+     *
+     * @param type EventLog.START, ACTION or END.
+     * @param action The action taken, for an ACTION event.
+     * @param item The item bought or sold, or null.
+     */
+    void logEvent(byte type, Action action, Item item) {
+        if (log == null) {
+            return;
+        }
+        try {
+            if (type == EventLog.START) {
+                logSessionId = log.start(this);
+            } else if (type == EventLog.ACTION) {
+                log.action(logSessionId, action, item, this);
+            } else {
+                log.end(logSessionId, this);
+            }
+        } catch (IOException e) {
+            log = null;
+            if (out != null) {
+                out.println("Your game can't be logged any more.");
+            }
+        }
+    }
+
+    /**
+     * Sets up the hunter the way a Snapshot saved them, in place of startGame().
+     */
+    void restore(Mode mode, String hunterName, int gold, int kitCapacity, int kitBits, boolean dug, int treasureBits) {
+        chooseMode(mode);
+        treasure = new Inventory(treasure.getCapacity(), treasureBits);
+        hunter = new Hunter(hunterName, gold, this);
+        hunter.restore(gold, kitCapacity, kitBits, dug);
+    }
+
+    /**
+     * Rebuilds the town the way a Snapshot saved it, in place of enterTown().
+     */
+    void restoreTown(Terrain terrain, boolean toughTown, Treasure townTreasure, boolean townSearched) {
+        Shop shop = new Shop(getMarkdown(), this, getMarket());
+        currentTown = new Town(shop, this, terrain, toughTown, townTreasure, townSearched);
+        currentTown.hunterArrives(hunter);
+    }
+
+    /**
+     * Puts the hunter back in the world town at the saved coordinates, in place of enterTown().
+     */
+    void restoreWorldTown(int x, int y) {
+        townX = x;
+        townY = y;
+        TownSite site = world.siteAt(x, y);
+        Shop shop = new Shop(getMarkdown(), this, dynamicMarkets ? site.getMarket() : null);
+        currentTown = new Town(shop, getToughness(), this, site);
+        currentTown.hunterArrives(hunter);
+    }
+
+    /**
+     * @return The rules this game is played by.
+     */
+    public Rules getRules() {
+        return rules;
+    }
+
+    /**
+     * Plays by the given rules in place of the ones active when the game was made. Must be called before the game
+     * starts; package-private so EventReplay and Snapshot can restore the rules a game was played by.
+     *
+     * @param rules The rules to play by.
+     */
+    void setRules(Rules rules) {
+        this.rules = rules;
+        modeRules = rules.forMode(mode);
+    }
+
+    /**
+     * @return The rules for this game's mode, looked up when the mode was chosen.
+     */
+    public ModeRules getModeRules() {
+        return modeRules;
+    }
+
+    /**
+     * @return The settings this game was given in place of its mode's usual ones, or null if it plays with the mode's.
+     */
+    public Tuning getCustomTuning() {
+        return tuning;
+    }
+
+    /**
+     * Plays with the given settings in place of the mode's usual ones. Must be called before the game starts;
+     * package-private so EventReplay and Snapshot can restore a tuned game.
+     *
+     * @param tuning The settings to play with, or null for the mode's usual ones.
+     */
+    void setTuning(Tuning tuning) {
+        this.tuning = tuning;
+    }
+
+    /**
+     * @return The settings this game is played with; the mode's usual ones unless the game was given its own.
+     */
+    public Tuning getTuning() {
+        return (tuning != null) ? tuning : modeRules.getTuning();
+    }
+
+    public boolean isHeadless() {
+        return headless;
+    }
+
+    public Mode getMode() {
+        return mode;
+    }
+
+    public Hunter getHunter() {
+        return hunter;
+    }
+
+    public Town getCurrentTown() {
+        return currentTown;
+    }
+
+    /**
+     * Starts the game; this is the only public method
+     */
+    public void play() {
+        welcomePlayer();
+        if (currentTown == null) {
+            logEvent(EventLog.START, null, null);
+            enterTown();
+        } else {
+            // a resumed game didn't start from this game's seed, so it can't be replayed
+            log = null;
+        }
+        showMenu();
+        events.drain();
+        logEvent(EventLog.END, null, null);
+        if (store != null) {
+            try {
+                store.remove(sessionId);
+            } catch (IOException e) {
+                out.println("Your finished game couldn't be cleared from the save file.");
+            }
+        }
+        out.flush();
+    }
+
+    /**
+     * Creates a hunter object at the beginning of the game and populates the class member variable with it.
+     * Package-private so the benchmarks can set up a game without running the menu loop.
+     */
+    void welcomePlayer() {
+        out.println("Welcome to TREASURE HUNTER!");
+        out.println("Going hunting for the big treasure, eh?");
+        out.print("What's your name, Hunter? ");
+        String name = readLine().toLowerCase();
+        if (resume(name)) {
+            out.println("Welcome back, " + name + "! Picking up where you left off.");
+            return;
+        }
+
+        out.print("Easy Normal Hard: (e/n/h) ");
+        String mode = readLine().toLowerCase();
+        startGame(name, Mode.fromCode(mode));
+    }
+
+    /**
+     * Restores the hunter's saved game, if there's a store and it has one.
+     *
+     * @param name The hunter's name.
+     * @return true if a saved game was restored.
+     */
+    private boolean resume(String name) {
+        if (store == null) {
+            return false;
+        }
+        sessionId = SnapshotStore.sessionId(name);
+        try {
+            return store.load(sessionId, this);
+        } catch (IOException e) {
+            out.println("Your saved game couldn't be read, so you'll have to start again.");
+            return false;
+        }
+    }
+
+    /**
+     * Sets the mode and creates the hunter with the starting gold and kit for that mode.
+     *
+     * @param name The hunter's name.
+     * @param mode The difficulty mode to play in.
+     */
+    private void startGame(String name, Mode mode) {
+        // the mode has to be set first, since the hunter's kit size depends on it
+        chooseMode(mode);
+
+        // set hunter instance variable
+        hunter = new Hunter(name, modeRules.getStartingGold(), this);
+
+        if (modeRules.isFullKit()) {
+            hunter.fullKit();
+        }
+    }
+
+    /**
+     * Sets the mode, and looks up its rules for the rest of the game.
+     */
+    private void chooseMode(Mode mode) {
+        this.mode = mode;
+        modeRules = rules.forMode(mode);
+    }
+
+    /**
+     * Creates a new town and adds the Hunter to it.
+     */
+    void enterTown() {
+        double markdown = getMarkdown();
+        double toughness = getToughness();
+
+        if (world != null) {
+            enterWorldTown(markdown, toughness);
+            return;
+        }
+
+        // note that we don't need to access the Shop object
+        // outside of this method, so it isn't necessary to store it as an instance
+        // variable; we can leave it as a local variable
+        Shop shop = new Shop(markdown, this, getMarket());
+
+        // creating the new Town -- which we need to store as an instance
+        // variable in this class, since we need to access the Town
+        // object in other methods of this class
+        currentTown = new Town(shop, toughness, this);
+
+        // calling the hunterArrives method, which takes the Hunter
+        // as a parameter; note this also could have been done in the
+        // constructor for Town, but this illustrates another way to associate
+        // an object with an object of a different class
+        currentTown.hunterArrives(hunter);
+    }
+
+    /**
+     * @return How much of an item's price the shop pays back when buying it, in this game's mode.
+     */
+    private double getMarkdown() {
+        return getTuning().getMarkdown();
+    }
+
+    /**
+     * @return How likely a town is to be tough, in this game's mode.
+     */
+    private double getToughness() {
+        return getTuning().getToughness();
+    }
+
+    /**
+     * Walks to a neighbouring site in the world (unless this is the first town) and enters the town there.
+     *
+     * @param markdown The markdown for this mode.
+     * @param toughness The toughness for this mode.
+     */
+    private void enterWorldTown(double markdown, double toughness) {
+        if (currentTown != null) {
+            switch (random.nextInt(4)) {
+                case 0:
+                    townX++;
+                    break;
+                case 1:
+                    townX--;
+                    break;
+                case 2:
+                    townY++;
+                    break;
+                default:
+                    townY--;
+                    break;
+            }
+        }
+        TownSite site = world.siteAt(townX, townY);
+        Shop shop = new Shop(markdown, this, dynamicMarkets ? site.getMarket() : null);
+        currentTown = new Town(shop, toughness, this, site);
+        currentTown.hunterArrives(hunter);
+    }
+
+    /**
+     * Displays the menu and receives the choice from the user.<p>
+     * The choice is sent to the processChoice() method for parsing.<p>
+     * This method will loop until the user chooses to exit.
+     */
+    private void showMenu() {
+        String choice = "";
+        while (!choice.equals("x")) {
+            events.drain();
+            renderer.newline();
+            if(treasureIsFull()){
+                out.println("Congratulations, you have found the last of the three treasures, you win!");
+                break;
+            }
+            renderer.append(console.getLatestNews()).newline();
+            if(hunter.getGold() <= 0){
+                out.println("Game Over");
+                break;
+            }
+            renderer.append(STATUS_DIVIDER).newline();
+            hunter.render(renderer);
+            renderer.newline();
+            if(!treasureIsEmpty()){
+                renderer.append(TREASURE_FOUND);
+                renderTreasureList(renderer);
+                renderer.newline();
+            }
+            currentTown.render(renderer);
+            renderer.newline().append(Renderer.MENU);
+            choice = readLine().toLowerCase();
+            processChoice(choice);
+            events.drain();
+            if (store != null) {
+                try {
+                    store.save(sessionId, this);
+                } catch (IOException e) {
+                    out.println("Your game couldn't be saved.");
+                }
+            }
+        }
+    }
+
+    /**
+     * Takes the choice received from the menu and calls the appropriate method to carry out the instructions.
+     * Package-private so the benchmarks can time each action.<p>
+     * How long the action took, leaving out any time spent waiting for the player, is recorded in Metrics.
+     * @param choice The action to process.
+     */
+    void processChoice(String choice) {
+        long start = System.nanoTime();
+        long waited = inputWaitNanos;
+        dispatchChoice(choice);
+        Action action = (choice.length() == 1) ? Action.fromKey(choice.charAt(0)) : null;
+        if (action != null) {
+            Metrics.GLOBAL.recordLatency(action, System.nanoTime() - start - (inputWaitNanos - waited));
+        }
+    }
+
+    private void dispatchChoice(String choice) {
+        if (choice.equals("b") || choice.equals("s")) {
+            visitShop(choice);
+        } else if (choice.equals("e")) {
+            events.publish(EventType.TERRAIN_EXPLORED, currentTown.getTerrain());
+        } else if (choice.equals("m")) {
+            if (currentTown.leaveTown()) {
+                enterTown();
+            }
+            logEvent(EventLog.ACTION, Action.MOVE, null);
+        } else if (choice.equals("l")) {
+            currentTown.lookForTrouble();
+            logEvent(EventLog.ACTION, Action.LOOK_FOR_TROUBLE, null);
+        }else if (choice.equals(("d"))) {
+            hunter.digGold();
+            logEvent(EventLog.ACTION, Action.DIG, null);
+        } else if (choice.equals("h")){
+            findTreasure(currentTown.getTreasure());
+            logEvent(EventLog.ACTION, Action.HUNT, null);
+        } else if (choice.length() > 1 && choice.charAt(0) == 'f') {
+            fastForwardChoice(choice);
+        }
+        else if (choice.equals("x")) {
+            events.publish(EventType.FAREWELL);
+        } else {
+            events.publish(EventType.INVALID_OPTION);
+        }
+    }
+
+    /**
+     * Talks the player through buying or selling at the town's shop; the shop itself reports how the trade went.
+     *
+     * @param buyOrSell "b" to buy, "s" to sell.
+     */
+    private void visitShop(String buyOrSell) {
+        Shop shop = currentTown.getShop();
+        if (buyOrSell.equals("b")) {
+            out.println("Welcome to the shop! We have the finest wares in town.");
+            out.println("Currently we have the following items:");
+            shop.renderInventory(renderer);
+            renderer.newline();
+            out.print("What're you lookin' to buy? ");
+            String item = readLine().toLowerCase();
+            if (isHasSword()) {
+                shop.surrenderItem(hunter, item);
+            } else {
+                out.print("It'll cost you " + shop.checkMarketPrice(item, true) + " gold. Buy it (y/n)? ");
+                String option = readLine().toLowerCase();
+                if (option.equals("y")) {
+                    shop.buyItem(hunter, item);
+                }
+            }
+        } else {
+            out.println("What're you lookin' to sell? ");
+            out.print("You currently have the following items: " + hunter.getInventory());
+            String item = readLine().toLowerCase();
+            int cost = shop.checkMarketPrice(item, false);
+            if (cost == 0) {
+                events.publish(EventType.NOT_WANTED);
+            } else {
+                out.print("It'll get you " + cost + " gold. Sell it (y/n)? ");
+                String option = readLine().toLowerCase();
+                if (option.equals("y")) {
+                    shop.sellItem(hunter, item);
+                }
+            }
+        }
+        events.publish(EventType.SHOP_LEFT);
+    }
+
+    /**
+     * Reads a fast-forward from the menu: f, then the keys of the moves to make, then optionally how many rounds of them.
+     *
+     * @param choice The choice as typed, such as "fldhm 10".
+     */
+    private void fastForwardChoice(String choice) {
+        String[] parts = choice.substring(1).trim().split("\\s+");
+        Action[] actions = new Action[parts[0].length()];
+        for (int i = 0; i < actions.length; i++) {
+            actions[i] = Action.fromKey(parts[0].charAt(i));
+            if (!isRoutine(actions[i])) {
+                events.publish(EventType.INVALID_OPTION);
+                return;
+            }
+        }
+        int rounds = 1;
+        if (parts.length > 1) {
+            try {
+                rounds = Integer.parseInt(parts[1]);
+            } catch (NumberFormatException e) {
+                rounds = 0;
+            }
+        }
+        if (actions.length == 0 || rounds < 1 || parts.length > 2) {
+            events.publish(EventType.INVALID_OPTION);
+            return;
+        }
+        fastForward(actions, rounds);
+    }
+
+    /**
+     * @return true if the action can be part of a fast-forward: it needs no answers from the player and doesn't end the game.
+     */
+    private static boolean isRoutine(Action action) {
+        return action != null && action != Action.BUY && action != Action.SELL && action != Action.EXIT;
+    }
+
+    /**
+     * Plays the same few actions over and over as one batch, without showing the menu in between.
+     * It stops once every round has been played, the game is won or lost, the hunter can't leave a town,
+     * or MAX_FAST_FORWARD_TURNS turns have been played. A game with a console prints nothing while
+     * it runs; a summary of the whole batch becomes the news the menu shows next.
+     *
+     * @param actions The actions to take, in order, in each round; exploring, moving, looking for trouble,
+     *                digging and hunting.
+     * @param rounds How many times to take them.
+     * @return The number of turns played.
+     * @throws IllegalArgumentException If one of the actions is a trade or exiting.
+     */
+    public int fastForward(Action[] actions, int rounds) {
+        for (Action action : actions) {
+            if (!isRoutine(action)) {
+                throw new IllegalArgumentException("Can't fast-forward through " + action);
+            }
+        }
+        FastForwardSummary summary = new FastForwardSummary(hunter.getGold());
+        events.drain();
+        if (console != null) {
+            console.startFastForward(summary);
+        }
+        batch:
+        for (int round = 0; round < rounds; round++) {
+            for (Action action : actions) {
+                if (hasWon() || isGameOver() || summary.getTurns() == MAX_FAST_FORWARD_TURNS) {
+                    break batch;
+                }
+                Town town = currentTown;
+                playTurn(action, null);
+                summary.turnPlayed();
+                if (action == Action.MOVE && currentTown == town) {
+                    // the rest of the round would only repeat itself in this town
+                    break batch;
+                }
+            }
+        }
+        events.drain();
+        if (console != null) {
+            console.endFastForward(hunter.getGold());
+            if (hasWon()) {
+                // the menu announces a win without the news, so the summary would never be seen
+                out.println(console.getLatestNews());
+            }
+        }
+        return summary.getTurns();
+    }
+
+    /**
+     * Carries out one action for a headless game; the shop is visited directly rather than
+     * through its console prompts.
+     *
+     * @param action The action to take.
+     * @param item The item to buy or sell; ignored for the other actions.
+     */
+    public void takeTurn(Action action, String item) {
+        playTurn(action, item);
+        events.drain();
+    }
+
+    /**
+     * Carries out one action, timing it for the Metrics if the game is timed.
+     */
+    private void playTurn(Action action, String item) {
+        if (timed) {
+            long start = System.nanoTime();
+            carryOut(action, item);
+            Metrics.GLOBAL.recordLatency(action, System.nanoTime() - start);
+        } else {
+            carryOut(action, item);
+        }
+    }
+
+    private void carryOut(Action action, String item) {
+        Shop shop = currentTown.getShop();
+        switch (action) {
+            case BUY:
+                // the same way the console buys, so a replayed game trades exactly as it was played
+                if (isHasSword()) {
+                    shop.surrenderItem(hunter, item);
+                } else {
+                    shop.buyItem(hunter, item);
+                }
+                break;
+            case SELL:
+                shop.sellItem(hunter, item);
+                break;
+            case MOVE:
+                if (currentTown.leaveTown()) {
+                    enterTown();
+                }
+                break;
+            case LOOK_FOR_TROUBLE:
+                currentTown.lookForTrouble();
+                break;
+            case DIG:
+                hunter.digGold();
+                break;
+            case HUNT:
+                findTreasure(currentTown.getTreasure());
+                break;
+            default:
+                // exploring and exiting don't change the state of the game
+                return;
+        }
+        // trades are logged by the shop, and only when they go through
+        if (action != Action.BUY && action != Action.SELL) {
+            logEvent(EventLog.ACTION, action, null);
+        }
+    }
+
+    /**
+     * @return true if all three treasures have been found.
+     */
+    public boolean hasWon() {
+        return treasureIsFull();
+    }
+
+    /**
+     * @return true if the hunter has run out of gold.
+     */
+    public boolean isGameOver() {
+        return hunter.getGold() <= 0;
+    }
+
+
+
+    public boolean hasItemInTreasure(String item) {
+        Treasure found = Treasure.fromName(item);
+        return found != null && treasure.contains(found.ordinal());
+    }
+
+    public boolean hasItemInTreasure(Treasure item) {
+        return treasure.contains(item.ordinal());
+    }
+
+    public void findTreasure(String item) {
+        Treasure found = Treasure.fromName(item);
+        if (found == null) {
+            events.publish(EventType.INVALID_OPTION);
+            return;
+        }
+        findTreasure(found);
+    }
+
+    /**
+     * Searches the town for its treasure, keeping it if it's one the hunter doesn't have yet.
+     *
+     * @param found The town's treasure.
+     */
+    public void findTreasure(Treasure found) {
+        if (!currentTown.claimTreasure()) {
+            events.publish(EventType.TOWN_ALREADY_SEARCHED);
+            return;
+        }
+        if (found != Treasure.DUST && treasure.add(found.ordinal())) {
+            Metrics.GLOBAL.treasureFound(mode);
+            events.publish(EventType.TREASURE_FOUND, found);
+        } else if(found != Treasure.DUST) {
+            events.publish(EventType.TREASURE_ALREADY_HELD, found);
+        }else{
+            events.publish(EventType.DUST_FOUND);
+        }
+    }
+
+    public String treasureList(){
+        String list = "";
+        for (Treasure item : Treasure.VALUES) {
+            if (treasure.contains(item.ordinal())) {
+                list += item.getName() + " ";
+            }
+        }
+        return list;
+    }
+
+    /**
+     * Writes the same list as treasureList() straight into the renderer.
+     *
+     * @param renderer Where to write the list.
+     */
+    public void renderTreasureList(Renderer renderer) {
+        for (Treasure item : Treasure.VALUES) {
+            if (treasure.contains(item.ordinal())) {
+                renderer.append(item.getName()).append(SPACE);
+            }
+        }
+    }
+
+    public boolean treasureIsEmpty() {
+        return treasure.isEmpty();
+    }
+
+    private boolean treasureIsFull() {
+        return treasure.isFull();
+    }
+
+    /**
+     * @return The treasure found so far as bits, where bit n is set if the Treasure with ordinal n has been found.
+     */
+    public int getTreasureBits() {
+        return treasure.getBits();
+    }
+
+    /**
+     * @return true if the rules give the hunter a sword, which they do once the hunter has any treasure.
+     */
+    public boolean isHasSword(){
+        return !treasure.isEmpty() && modeRules.hasSword();
+    }
+}
@@ -0,0 +1,90 @@
+package treasurehunter;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+public class TreasureHunterRunner {
+    public static void main(String[] args) throws Exception {
+        if (args.length > 0 && args[0].equals("simulate")) {
+            String[] simulatorArgs = new String[args.length - 1];
+            System.arraycopy(args, 1, simulatorArgs, 0, simulatorArgs.length);
+            Simulator.main(simulatorArgs);
+            return;
+        }
+        if (args.length > 0 && args[0].equals("mass")) {
+            String[] batchArgs = new String[args.length - 1];
+            System.arraycopy(args, 1, batchArgs, 0, batchArgs.length);
+            GameBatch.main(batchArgs);
+            return;
+        }
+        if (args.length > 0 && args[0].equals("serve")) {
+            String[] serverArgs = new String[args.length - 1];
+            System.arraycopy(args, 1, serverArgs, 0, serverArgs.length);
+            GameServer.main(serverArgs);
+            return;
+        }
+        if (args.length > 0 && args[0].equals("solve")) {
+            String[] solverArgs = new String[args.length - 1];
+            System.arraycopy(args, 1, solverArgs, 0, solverArgs.length);
+            Solver.main(solverArgs);
+            return;
+        }
+        if (args.length > 0 && args[0].equals("tune")) {
+            String[] tunerArgs = new String[args.length - 1];
+            System.arraycopy(args, 1, tunerArgs, 0, tunerArgs.length);
+            TuningOptimizer.main(tunerArgs);
+            return;
+        }
+        if (args.length > 2 && args[0].equals("batch")) {
+            BatchRunner.main(new String[] {args[1], args[2]});
+            return;
+        }
+        if (args.length > 1 && args[0].equals("replay")) {
+            EventReplay.main(new String[] {args[1]});
+            return;
+        }
+        if (args.length > 0 && args[0].equals("bots")) {
+            String[] botArgs = new String[args.length - 1];
+            System.arraycopy(args, 1, botArgs, 0, botArgs.length);
+            BotDriver.main(botArgs);
+            return;
+        }
+        if (args.length > 0 && args[0].equals("tournament")) {
+            String[] tournamentArgs = new String[args.length - 1];
+            System.arraycopy(args, 1, tournamentArgs, 0, tournamentArgs.length);
+            Tournament.main(tournamentArgs);
+            return;
+        }
+        if (args.length > 0 && args[0].equals("stress")) {
+            String[] stressArgs = new String[args.length - 1];
+            System.arraycopy(args, 1, stressArgs, 0, stressArgs.length);
+            WorldStress.main(stressArgs);
+            return;
+        }
+        if (args.length > 0 && args[0].equals("rules")) {
+            // the active rules, in a form that can be saved as a rules file and changed
+            System.out.print(Rules.get().infoString());
+            return;
+        }
+        if (args.length > 0 && args[0].equals("train")) {
+            train();
+            return;
+        }
+        TreasureHunter game = new TreasureHunter();
+        game.play();
+    }
+
+    /**
+     * Plays through the console game, the simulator and the bot driver once each, without printing anything,
+     * so that a class data sharing archive dumped at exit holds every class a real run loads.
+     */
+    static void train() {
+        String moves = "trainer\nn\ne\nh\nh\nd\nb\nshovel\ny\nd\ns\nrope\nl\nm\nb\nwater\nn\nq\nx\n";
+        InputStream in = new ByteArrayInputStream(moves.getBytes(StandardCharsets.UTF_8));
+        new TreasureHunter(in, OutputStream.nullOutputStream(), 1).play();
+        new Simulator(new GreedyStrategy(), 1, 1).run(Mode.NORMAL, 100);
+        new BotDriver(BotDriver.policy("random"), 1, 1).run(Mode.NORMAL, 100);
+    }
+}
@@ -0,0 +1,88 @@
+package treasurehunter;
+
+/**
+ * Tuning Class<br /><br />
+ * The numbers that decide how hard one mode of the game is: how much the shops pay for items,
+ * how likely towns are to be tough, how likely trouble is in each kind of town, and how likely an item is to break.<p>
+ * A Tuning never changes once it is made, so one can be shared by any number of games.
+ * Each mode's usual one comes from the Rules.
+ */
+
+public class Tuning {
+    // constants
+    /** How many numbers make up a Tuning. */
+    public static final int SETTINGS = 5;
+
+    // instance variables
+    private final double markdown;
+    private final double toughness;
+    private final double toughTownOdds;
+    private final double quietTownOdds;
+    private final double breakChance;
+
+    /**
+     * @param markdown The fraction of an item's price a shop pays to buy it back.
+     * @param toughness How likely a town is to be tough.
+     * @param toughTownOdds In a tough town, how likely a hunter is to find trouble, and then how likely they are to lose the brawl.
+     * @param quietTownOdds The same odds in a town that isn't tough.
+     * @param breakChance How likely the item used to leave a town is to break.
+     */
+    public Tuning(double markdown, double toughness, double toughTownOdds, double quietTownOdds, double breakChance) {
+        this.markdown = markdown;
+        this.toughness = toughness;
+        this.toughTownOdds = toughTownOdds;
+        this.quietTownOdds = quietTownOdds;
+        this.breakChance = breakChance;
+    }
+
+    /**
+     * @param mode A difficulty mode.
+     * @return The settings the active Rules give that mode.
+     */
+    public static Tuning forMode(Mode mode) {
+        return Rules.get().getTuning(mode);
+    }
+
+    /**
+     * Makes a Tuning from the numbers getSettings() gives.
+     *
+     * @param settings The markdown, toughness, tough town odds, quiet town odds and break chance, in that order.
+     * @return The Tuning.
+     */
+    public static Tuning of(double[] settings) {
+        return new Tuning(settings[0], settings[1], settings[2], settings[3], settings[4]);
+    }
+
+    /**
+     * @return The markdown, toughness, tough town odds, quiet town odds and break chance, in that order,
+     *         so they can be saved and read back with of().
+     */
+    public double[] getSettings() {
+        return new double[] {markdown, toughness, toughTownOdds, quietTownOdds, breakChance};
+    }
+
+    public double getMarkdown() {
+        return markdown;
+    }
+
+    public double getToughness() {
+        return toughness;
+    }
+
+    public double getToughTownOdds() {
+        return toughTownOdds;
+    }
+
+    public double getQuietTownOdds() {
+        return quietTownOdds;
+    }
+
+    public double getBreakChance() {
+        return breakChance;
+    }
+
+    public String infoString() {
+        return String.format("markdown %.2f  toughness %.2f  tough town odds %.2f  quiet town odds %.2f  break chance %.2f",
+                markdown, toughness, toughTownOdds, quietTownOdds, breakChance);
+    }
+}
@@ -0,0 +1,199 @@
+package treasurehunter;
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * TuningOptimizer Class<br /><br />
+ * Searches for the Tuning that makes a mode play the way we want it to, measured as the win rate and the average
+ * number of turns a Strategy gets from it over many simulated games.<p>
+ * Candidate settings are drawn at random (the mode's usual settings are always one of them) and raced against each
+ * other in rounds. Every round plays twice as many games as the last with each surviving candidate and keeps the
+ * better half, so most candidates are thrown out after only a few hundred games. The search stops early
+ * once the leader is within tolerance of both targets.<p>
+ * Each candidate's games are split in half again and again into fork/join tasks, so every core stays busy.
+ * Every candidate plays the same seeds, which makes the comparison between them fairer for the same number of games.
+ */
+
+public class TuningOptimizer {
+    // constants
+    private static final int LEAF_GAMES = 128;
+    private static final double WIN_RATE_TOLERANCE = 0.02;
+    private static final double TURNS_TOLERANCE = 0.05;
+    private static final int MIN_CONFIDENT_GAMES = 4000;
+    private static final long SEED_STEP = 0x9E3779B97F4A7C15L;
+
+    // instance variables
+    private final Strategy strategy;
+    private final ForkJoinPool pool;
+    private final long seed;
+    private final int candidates;
+    private final int startGames;
+    private final int maxGames;
+    private PrintStream progress;
+
+    /**
+     * @param strategy The strategy every simulated hunter plays with.
+     * @param pool The pool to play the games in.
+     * @param seed The seed the candidates and every game are drawn from.
+     * @param candidates How many settings to try.
+     * @param startGames How many games each candidate plays in the first round.
+     * @param maxGames The most games any candidate plays in one round.
+     */
+    public TuningOptimizer(Strategy strategy, ForkJoinPool pool, long seed, int candidates, int startGames, int maxGames) {
+        this.strategy = strategy;
+        this.pool = pool;
+        this.seed = seed;
+        this.candidates = candidates;
+        this.startGames = startGames;
+        this.maxGames = maxGames;
+    }
+
+    /**
+     * Prints a line after every round of a search, with the round's size and the leader so far.
+     *
+     * @param progress Where the lines are printed, or null not to print them.
+     */
+    public void setProgress(PrintStream progress) {
+        this.progress = progress;
+    }
+
+    /**
+     * Finds the settings that come closest to the targets for one mode.
+     *
+     * @param mode The mode to tune.
+     * @param targetWinRate The fraction of games the strategy should win.
+     * @param targetTurns The average number of turns a game should last.
+     * @return The best settings found.
+     */
+    public Tuning optimize(Mode mode, double targetWinRate, double targetTurns) {
+        SplittableRandom random = new SplittableRandom(seed + mode.ordinal());
+        List<Tuning> survivors = new ArrayList<>();
+        survivors.add(Tuning.forMode(mode));
+        while (survivors.size() < candidates) {
+            survivors.add(randomTuning(random));
+        }
+
+        int games = startGames;
+        while (true) {
+            List<ForkJoinTask<SimulationResult>> tasks = new ArrayList<>();
+            for (Tuning tuning : survivors) {
+                tasks.add(pool.submit(new GamesTask(mode, tuning, 0, games)));
+            }
+            List<Scored> scored = new ArrayList<>();
+            for (int i = 0; i < survivors.size(); i++) {
+                SimulationResult result = tasks.get(i).join();
+                scored.add(new Scored(survivors.get(i), result, loss(result, targetWinRate, targetTurns)));
+            }
+            scored.sort(Comparator.comparingDouble(Scored::loss));
+            Scored best = scored.get(0);
+            if (progress != null) {
+                progress.printf("%-8s %,7d games x %3d candidates  best: win %6.2f%%  avg turns %6.2f  loss %8.3f%n",
+                        mode, games, survivors.size(), best.result.getWinRate() * 100, best.result.getAverageTurns(), best.loss);
+            }
+
+            // a loss of 1 or less means both targets are within tolerance
+            boolean converged = best.loss <= 1 && games >= MIN_CONFIDENT_GAMES;
+            if (converged || survivors.size() == 1 || games >= maxGames) {
+                return best.tuning;
+            }
+            survivors.clear();
+            for (int i = 0; i < Math.max(1, scored.size() / 2); i++) {
+                survivors.add(scored.get(i).tuning);
+            }
+            games = Math.min(games * 2, maxGames);
+        }
+    }
+
+    /**
+     * Scores a result by how far it is from the targets, in units of the tolerance for each target.
+     */
+    private static double loss(SimulationResult result, double targetWinRate, double targetTurns) {
+        double winError = (result.getWinRate() - targetWinRate) / WIN_RATE_TOLERANCE;
+        double turnsError = (result.getAverageTurns() - targetTurns) / (targetTurns * TURNS_TOLERANCE);
+        return winError * winError + turnsError * turnsError;
+    }
+
+    private static Tuning randomTuning(SplittableRandom random) {
+        return new Tuning(random.nextDouble(0.1, 1.0), random.nextDouble(0.0, 1.0),
+                random.nextDouble(0.3, 0.95), random.nextDouble(0.05, 0.6), random.nextDouble(0.05, 0.95));
+    }
+
+    /**
+     * A candidate's settings and how they did in the latest round.
+     */
+    private record Scored(Tuning tuning, SimulationResult result, double loss) {
+    }
+
+    /**
+     * Plays games first to last of a round with one candidate's settings, splitting itself in half until each
+     * task has few enough games to play straight through.<p>
+     * Game i always has the same seed, however the games are split up.
+     */
+    private class GamesTask extends RecursiveTask<SimulationResult> {
+        // tasks are only ever run in this JVM, never serialized
+        private static final long serialVersionUID = 1L;
+        private final Mode mode;
+        private final transient Tuning tuning;
+        private final int first;
+        private final int last;
+
+        GamesTask(Mode mode, Tuning tuning, int first, int last) {
+            this.mode = mode;
+            this.tuning = tuning;
+            this.first = first;
+            this.last = last;
+        }
+
+        @Override
+        protected SimulationResult compute() {
+            if (last - first <= LEAF_GAMES) {
+                SimulationResult result = new SimulationResult(mode);
+                for (int i = first; i < last; i++) {
+                    TreasureHunter game = new TreasureHunter("bot", mode, seed + i * SEED_STEP, null, tuning);
+                    result.record(game, Simulator.playGame(strategy, game));
+                }
+                return result;
+            }
+            int middle = (first + last) >>> 1;
+            GamesTask left = new GamesTask(mode, tuning, first, middle);
+            left.fork();
+            SimulationResult result = new GamesTask(mode, tuning, middle, last).compute();
+            result.merge(left.join());
+            return result;
+        }
+    }
+
+    /**
+     * Tunes a mode and prints the settings found.
+     *
+     * @param args The mode code, the target win rate from 0 to 1, the target average turns, and optionally the seed.
+     *             With no arguments, easy, normal and hard are tuned to 99.5%, 98% and 95% wins in 28, 34 and 40 turns.
+     */
+    public static void main(String[] args) {
+        long seed = (args.length > 3) ? Long.parseLong(args[3]) : System.nanoTime();
+        System.out.println("Seed: " + seed);
+        TuningOptimizer optimizer = new TuningOptimizer(new GreedyStrategy(), ForkJoinPool.commonPool(), seed, 64, 250, 32_000);
+        optimizer.setProgress(System.out);
+        long start = System.nanoTime();
+        if (args.length >= 3) {
+            Mode mode = Mode.fromCode(args[0]);
+            report(mode, optimizer.optimize(mode, Double.parseDouble(args[1]), Double.parseDouble(args[2])));
+        } else {
+            report(Mode.EASY, optimizer.optimize(Mode.EASY, 0.995, 28));
+            report(Mode.NORMAL, optimizer.optimize(Mode.NORMAL, 0.98, 34));
+            report(Mode.HARD, optimizer.optimize(Mode.HARD, 0.95, 40));
+        }
+        System.out.printf("Tuned in %.1f s%n", (System.nanoTime() - start) / 1e9);
+    }
+
+    private static void report(Mode mode, Tuning tuning) {
+        System.out.println(mode + ": " + tuning.infoString());
+    }
+}
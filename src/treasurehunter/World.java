@@ -0,0 +1,127 @@
+package treasurehunter;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * World Class<br /><br />
+ * A map of towns addressed by their coordinates, so towns can be revisited and shared instead of thrown away.<p>
+ * Sites are generated the first time they are asked for, from the world's seed and their coordinates,
+ * and kept in a cache that holds at most a fixed number of sites, dropping the least recently used one when full.
+ * A dropped site is retired, and if anything on it had been claimed its state is kept in a compact table,
+ * twelve bytes or so a site; when it is generated again it comes back exactly as it was, with the same claims.
+ * So a world can be far bigger than memory, and only sites that hunters have changed take up any room once dropped.
+ * The table has a limit too: once it is full, remembering another site forgets one of the others,
+ * which comes back unclaimed if it is ever generated again.<p>
+ * Looking up a site takes the world's lock, but only happens when a hunter enters a town;
+ * the claims hunters make while they are there go straight to the site without locking.
+ */
+
+public class World {
+    // constants
+    public static final int DEFAULT_CAPACITY = 100_000;
+    /** How many dropped sites are remembered for each site the cache holds, unless told otherwise. */
+    public static final int RETIRED_PER_SITE = 8;
+    private static final long X_MULTIPLIER = 0x9E3779B97F4A7C15L;
+    private static final long Y_MULTIPLIER = 0xC2B2AE3D27D4EB4FL;
+
+    // instance variables
+    private final long seed;
+    private final Map<Long, TownSite> sites;
+    private final LongIntMap retiredStates;
+    private long generated;
+    private long forgotten;
+    private long hits;
+
+    /**
+     * @param seed The seed every site in the world is generated from.
+     * @param capacity The most sites to keep in memory at once.
+     */
+    public World(long seed, int capacity) {
+        this(seed, capacity, (int) Math.min(Integer.MAX_VALUE / 4, (long) capacity * RETIRED_PER_SITE));
+    }
+
+    /**
+     * @param seed The seed every site in the world is generated from.
+     * @param capacity The most sites to keep in memory at once.
+     * @param maxRetired The most dropped sites to remember the claims of.
+     */
+    public World(long seed, int capacity, int maxRetired) {
+        this.seed = seed;
+        // an access ordered LinkedHashMap keeps the least recently used site first
+        sites = new LinkedHashMap<Long, TownSite>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, TownSite> eldest) {
+                if (size() <= capacity) {
+                    return false;
+                }
+                // retired while the world is locked, so the site can't be regenerated before its state is saved
+                int state = eldest.getValue().retire();
+                if (state != 0 && retiredStates.put(eldest.getKey(), state)) {
+                    forgotten++;
+                }
+                return true;
+            }
+        };
+        retiredStates = new LongIntMap(maxRetired);
+    }
+
+    /**
+     * Finds the site at the given coordinates, generating it if it isn't in the cache.
+     *
+     * @param x The site's east-west coordinate.
+     * @param y The site's north-south coordinate.
+     * @return The site.
+     */
+    public synchronized TownSite siteAt(int x, int y) {
+        long key = ((long) x << 32) | (y & 0xFFFFFFFFL);
+        TownSite site = sites.get(key);
+        if (site == null) {
+            SplittableRandom random = new SplittableRandom(seed ^ (x * X_MULTIPLIER) ^ (y * Y_MULTIPLIER));
+            int retiredState = retiredStates.remove(key);
+            site = (retiredState == 0) ? new TownSite(x, y, random) : new TownSite(x, y, random, retiredState);
+            sites.put(key, site);
+            generated++;
+        } else {
+            hits++;
+        }
+        return site;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public synchronized int getCachedSites() {
+        return sites.size();
+    }
+
+    /**
+     * @return How many dropped sites are being remembered because something on them was claimed.
+     */
+    public synchronized int getRetiredSites() {
+        return retiredStates.size();
+    }
+
+    /**
+     * @return How many remembered sites were forgotten to make room for others, and so lost their claims.
+     */
+    public synchronized long getForgottenSites() {
+        return forgotten;
+    }
+
+    /**
+     * @return How many times a site has been generated, including regenerating dropped sites.
+     */
+    public synchronized long getGenerated() {
+        return generated;
+    }
+
+    /**
+     * @return How many times a site was found in the cache.
+     */
+    public synchronized long getHits() {
+        return hits;
+    }
+}
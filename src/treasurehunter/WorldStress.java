@@ -0,0 +1,147 @@
+package treasurehunter;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * WorldStress Class<br /><br />
+ * Has many threads race for the treasures and dig spots of one shared World, with a cache small enough
+ * that sites are retired and regenerated all the time, then checks that no treasure was claimed twice
+ * and no town gave up more dig spots than it has. Prints the claim rate and the number of broken claims.
+ */
+
+public class WorldStress {
+    // instance variables
+    private final World world;
+    private final int size;
+    private final int threads;
+    private final int visits;
+
+    /**
+     * @param world The world to race in.
+     * @param size How many sites wide and tall the patch of world the threads wander over is.
+     * @param threads How many threads to race with.
+     * @param visits How many towns each thread visits.
+     */
+    public WorldStress(World world, int size, int threads, int visits) {
+        this.world = world;
+        this.size = size;
+        this.threads = threads;
+        this.visits = visits;
+    }
+
+    /**
+     * Runs every thread to completion and prints the results.
+     *
+     * @return How many claims were won that shouldn't have been; 0 if the world held up.
+     * @throws Exception If a thread fails.
+     */
+    public long run() throws Exception {
+        long start = System.nanoTime();
+        List<Future<long[][]>> results = new ArrayList<>();
+        try (ExecutorService pool = Executors.newFixedThreadPool(threads)) {
+            for (int i = 0; i < threads; i++) {
+                long seed = i;
+                results.add(pool.submit(() -> race(seed)));
+            }
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        long[] treasures = merge(results, 0);
+        long[] digs = merge(results, 1);
+        long broken = 0;
+        for (int i = 1; i < treasures.length; i++) {
+            if (treasures[i] == treasures[i - 1]) {
+                broken++;
+            }
+        }
+        int run = 1;
+        for (int i = 1; i <= digs.length; i++) {
+            if (i < digs.length && digs[i] == digs[i - 1]) {
+                run++;
+                continue;
+            }
+            broken += Math.max(0, run - TownSite.DIG_SPOTS);
+            run = 1;
+        }
+
+        long claims = 2L * threads * visits;
+        System.out.printf("%d threads made %d claims in %.2f s (%.0f claims/s)%n", threads, claims, seconds, claims / seconds);
+        System.out.printf("treasures won %d, dig spots won %d, sites retired %d, forgotten %d, broken claims %d%n",
+                treasures.length, digs.length, world.getRetiredSites(), world.getForgottenSites(), broken);
+        return broken;
+    }
+
+    /**
+     * Visits random towns, claiming each one's treasure and a dig spot.
+     *
+     * @param seed Where this thread's wandering starts from.
+     * @return The keys of the sites whose treasure this thread won, then the keys of the sites it won a dig spot at.
+     */
+    private long[][] race(long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        long[] treasures = new long[visits];
+        long[] digs = new long[visits];
+        int treasureCount = 0;
+        int digCount = 0;
+        for (int i = 0; i < visits; i++) {
+            int x = random.nextInt(size);
+            int y = random.nextInt(size);
+            long key = ((long) x << 32) | (y & 0xFFFFFFFFL);
+            TownSite site = world.siteAt(x, y);
+            TownSite.Claim claim;
+            while ((claim = site.claimTreasure()) == TownSite.Claim.RETIRED) {
+                site = world.siteAt(x, y);
+            }
+            if (claim == TownSite.Claim.WON) {
+                treasures[treasureCount++] = key;
+            }
+            while ((claim = site.claimDigSpot()) == TownSite.Claim.RETIRED) {
+                site = world.siteAt(x, y);
+            }
+            if (claim == TownSite.Claim.WON) {
+                digs[digCount++] = key;
+            }
+        }
+        return new long[][] {Arrays.copyOf(treasures, treasureCount), Arrays.copyOf(digs, digCount)};
+    }
+
+    private static long[] merge(List<Future<long[][]>> results, int which) throws Exception {
+        int count = 0;
+        for (Future<long[][]> result : results) {
+            count += result.get()[which].length;
+        }
+        long[] merged = new long[count];
+        int next = 0;
+        for (Future<long[][]> result : results) {
+            long[] keys = result.get()[which];
+            System.arraycopy(keys, 0, merged, next, keys.length);
+            next += keys.length;
+        }
+        Arrays.sort(merged);
+        return merged;
+    }
+
+    /**
+     * @param args Optionally, the number of threads, the number of towns each one visits,
+     *             the width of the patch of world they share, and the number of sites the world keeps cached.
+     * @throws Exception If a thread fails.
+     */
+    public static void main(String[] args) throws Exception {
+        int threads = args.length > 0 ? Integer.parseInt(args[0]) : Runtime.getRuntime().availableProcessors();
+        int visits = args.length > 1 ? Integer.parseInt(args[1]) : 250_000;
+        int size = args.length > 2 ? Integer.parseInt(args[2]) : 512;
+        int capacity = args.length > 3 ? Integer.parseInt(args[3]) : 4096;
+        // every site in the patch can be remembered, so a claim lost to the world's limit doesn't look like a race
+        World world = new World(7, capacity, size * size);
+        long broken = new WorldStress(world, size, threads, visits).run();
+        if (broken != 0) {
+            System.exit(1);
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package treasurehunter;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Checks that Analytics keeps reporting window after window to the same stream.
+ */
+class AnalyticsTest {
+
+    /**
+     * A stream that refuses to be written to once it's closed, like a file's.
+     */
+    private static class Report extends ByteArrayOutputStream {
+        private volatile boolean closed;
+
+        @Override
+        public synchronized void write(byte[] b, int off, int len) {
+            if (closed) {
+                throw new IllegalStateException("written after close");
+            }
+            super.write(b, off, len);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            if (closed) {
+                throw new IOException("flushed after close");
+            }
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+
+        synchronized Set<String> windows() {
+            Set<String> starts = new TreeSet<>();
+            String[] lines = toString(StandardCharsets.UTF_8).split("\n");
+            for (int i = 1; i < lines.length; i++) {
+                starts.add(lines[i].substring(0, lines[i].indexOf(',')));
+            }
+            return starts;
+        }
+    }
+
+    @Test
+    void reportsEveryWindowBeforeItIsClosed() throws Exception {
+        Report report = new Report();
+        GameEvent event = new GameEvent();
+        event.type = EventType.DUG_GOLD;
+        event.amount = 5;
+        Analytics analytics = new Analytics(report, 1);
+        int terrain = analytics.terrainIndex(null);
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (report.windows().size() < 2 && System.currentTimeMillis() < deadline) {
+            analytics.record(Mode.NORMAL, event, terrain);
+            Thread.sleep(50);
+        }
+        assertTrue(report.windows().size() >= 2, "windows reported: " + report.windows());
+        assertFalse(report.closed);
+
+        analytics.close();
+        assertTrue(report.closed);
+    }
+}
@@ -0,0 +1,45 @@
+package treasurehunter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Checks which seeds a BatchRunner script accepts.
+ */
+class BatchRunnerTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void seedsMustFitInALong() throws IOException {
+        Path script = dir.resolve("seeds.txt");
+        Files.writeString(script, String.join("\n",
+                "n 9223372036854775807 x",
+                "n -9223372036854775808 x",
+                "n 9223372036854775808 x",
+                "n -9223372036854775809 x",
+                "n 99999999999999999999 x",
+                "n - x",
+                "n 12a x",
+                ""));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        BatchRunner runner = new BatchRunner(out);
+        runner.run(script);
+
+        assertEquals(2, runner.getGames());
+        assertEquals(5, runner.getRejectedLines());
+        String results = out.toString(StandardCharsets.UTF_8);
+        assertTrue(results.contains("\n1,n,9223372036854775807,"), results);
+        assertTrue(results.contains("\n2,n,-9223372036854775808,"), results);
+    }
+}
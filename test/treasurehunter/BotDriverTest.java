@@ -0,0 +1,61 @@
+package treasurehunter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Checks how the BotDriver plays a game with a policy.
+ */
+class BotDriverTest {
+
+    @Test
+    void aTradeWithNoItemPassesTheTurn() {
+        Policy undecided = new Policy() {
+            private int turns;
+
+            public Action nextAction(GameView view) {
+                return (turns++ < 3) ? Action.BUY : Action.EXIT;
+            }
+
+            public Item itemToTrade(GameView view, Action action) {
+                return null;
+            }
+        };
+        TreasureHunter game = new TreasureHunter("bot", Mode.NORMAL, 1);
+        int gold = game.getHunter().getGold();
+        assertEquals(3, BotDriver.playGame(undecided, game));
+        assertEquals(gold, game.getHunter().getGold());
+    }
+
+    @Test
+    void aBatchPlaysTheSameAsItsTurns() {
+        for (long seed = 1; seed <= 200; seed++) {
+            ScriptedPolicy batched = new ScriptedPolicy("d,h,l,m");
+            assertNotNull(batched.nextBatch(null));
+            // the same script without its batches, one turn at a time
+            ScriptedPolicy script = new ScriptedPolicy("d,h,l,m");
+            Policy oneByOne = new Policy() {
+                public void startGame(GameView view) {
+                    script.startGame(view);
+                }
+
+                public Action nextAction(GameView view) {
+                    return script.nextAction(view);
+                }
+
+                public Item itemToTrade(GameView view, Action action) {
+                    return script.itemToTrade(view, action);
+                }
+            };
+            TreasureHunter fast = new TreasureHunter("bot", Mode.HARD, seed);
+            TreasureHunter slow = new TreasureHunter("bot", Mode.HARD, seed);
+            assertEquals(BotDriver.playGame(oneByOne, slow), BotDriver.playGame(batched, fast));
+            assertEquals(slow.getHunter().getGold(), fast.getHunter().getGold());
+            assertEquals(EventLog.outcome(slow), EventLog.outcome(fast));
+        }
+        assertNull(new ScriptedPolicy("b:shovel,d,m").nextBatch(null));
+    }
+}
@@ -0,0 +1,267 @@
+package treasurehunter;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Checks that games written to an EventLog replay to the same outcome, record by record.
+ */
+class EventReplayTest {
+
+    @TempDir
+    Path dir;
+
+    /**
+     * Plays greedy games into a log, replays it, and checks every replayed game ended the same way.
+     */
+    private void roundTrip(Mode mode, boolean dynamicMarkets, int games) throws IOException {
+        Path file = dir.resolve(mode + "-" + dynamicMarkets + ".log");
+        List<TreasureHunter> played = new ArrayList<>();
+        try (EventLog log = new EventLog(file)) {
+            for (int i = 0; i < games; i++) {
+                TreasureHunter game = new TreasureHunter((java.io.InputStream) null, null, 1000L + i);
+                game.setDynamicMarkets(dynamicMarkets);
+                game.startHeadless("bot", mode);
+                game.setEventLog(log);
+                Simulator.playGame(new GreedyStrategy(), game);
+                game.logEvent(EventLog.END, null, null);
+                played.add(game);
+            }
+        }
+
+        EventReplay replay = new EventReplay();
+        replay.replay(file);
+        assertEquals(0, replay.getMismatches());
+        assertEquals(0, replay.getUnfinishedGames().size());
+        Map<Long, TreasureHunter> finished = replay.getFinishedGames();
+        assertEquals(games, finished.size());
+        for (TreasureHunter game : played) {
+            long matches = finished.values().stream()
+                    .filter(replayed -> replayed.getSeed() == game.getSeed())
+                    .filter(replayed -> replayed.getHunter().getGold() == game.getHunter().getGold())
+                    .filter(replayed -> EventLog.outcome(replayed) == EventLog.outcome(game))
+                    .count();
+            assertEquals(1, matches, "seed " + game.getSeed());
+        }
+    }
+
+    @Test
+    void greedyGamesReplayInEveryMode() throws IOException {
+        for (Mode mode : Mode.values()) {
+            roundTrip(mode, false, 50);
+        }
+    }
+
+    @Test
+    void gamesWithDynamicMarketsReplay() throws IOException {
+        roundTrip(Mode.NORMAL, true, 50);
+    }
+
+    @Test
+    void itemsTakenWithASwordReplay() throws IOException {
+        // hunt the first town, and once there's treasure the sword takes a shovel from the shop for nothing
+        byte[] script = "taker\nn\nh\nb\nshovel\nd\nx\n".getBytes(StandardCharsets.UTF_8);
+        Path file = dir.resolve("sword.log");
+        TreasureHunter taker = null;
+        try (EventLog log = new EventLog(file)) {
+            for (long seed = 1; seed < 500 && taker == null; seed++) {
+                TreasureHunter game = new TreasureHunter(new ByteArrayInputStream(script), new ByteArrayOutputStream(), seed);
+                game.setDynamicMarkets(true);
+                game.setEventLog(log);
+                game.play();
+                if (game.isHasSword() && game.getHunter().hasItemInKit(Item.SHOVEL)) {
+                    taker = game;
+                }
+            }
+        }
+        assertNotNull(taker, "no seed found treasure in the first town");
+
+        EventReplay replay = new EventReplay();
+        replay.replay(file);
+        assertEquals(0, replay.getMismatches());
+        long seed = taker.getSeed();
+        TreasureHunter replayed = replay.getFinishedGames().values().stream()
+                .filter(game -> game.getSeed() == seed)
+                .findFirst().orElseThrow();
+        assertTrue(replayed.getHunter().hasItemInKit(Item.SHOVEL));
+        assertEquals(taker.getHunter().getGold(), replayed.getHunter().getGold());
+    }
+
+    @Test
+    void sessionIdsCarryOnAcrossRestarts() throws IOException {
+        Path file = dir.resolve("restart.log");
+        for (int run = 0; run < 2; run++) {
+            try (EventLog log = new EventLog(file)) {
+                for (int i = 0; i < 3; i++) {
+                    TreasureHunter game = new TreasureHunter("bot", Mode.EASY, i);
+                    game.setEventLog(log);
+                    game.logEvent(EventLog.END, null, null);
+                }
+            }
+        }
+        assertEquals(6, EventLog.highestSessionId(file));
+        EventReplay replay = new EventReplay();
+        replay.replay(file);
+        assertEquals(6, replay.getFinishedGames().size());
+    }
+
+    @Test
+    void tunedGamesReplayWithTheirOwnSettings() throws IOException {
+        Tuning tuning = new Tuning(0.3, 0.9, 0.8, 0.5, 0.9);
+        Path file = dir.resolve("tuned.log");
+        List<TreasureHunter> played = new ArrayList<>();
+        try (EventLog log = new EventLog(file)) {
+            for (int i = 0; i < 50; i++) {
+                TreasureHunter game = new TreasureHunter("bot", Mode.NORMAL, 2000L + i, null, tuning);
+                game.setEventLog(log);
+                Simulator.playGame(new GreedyStrategy(), game);
+                game.logEvent(EventLog.END, null, null);
+                played.add(game);
+            }
+        }
+
+        EventReplay replay = new EventReplay();
+        replay.replay(file);
+        assertEquals(0, replay.getMismatches());
+        assertEquals(0, replay.getSkipped());
+        assertEquals(played.size(), replay.getFinishedGames().size());
+        for (TreasureHunter replayed : replay.getFinishedGames().values()) {
+            assertArrayEquals(tuning.getSettings(), replayed.getCustomTuning().getSettings());
+        }
+    }
+
+    /**
+     * Plays greedy games by a variant of the rules into a log over two runs, then puts the active rules back.
+     */
+    private Rules logVariantGames(Path file, List<TreasureHunter> played) throws IOException {
+        Path rulesFile = dir.resolve("variant.txt");
+        Files.writeString(rulesFile, "dig-odds 0.9 0.9 0.9 0.9 0.9\nbrawl-gold 3 3 3 3 3\nprice shovel 2\n");
+        Rules variant = Rules.load(rulesFile);
+        Rules before = Rules.get();
+        Rules.setActive(variant);
+        try {
+            for (int run = 0; run < 2; run++) {
+                try (EventLog log = new EventLog(file)) {
+                    for (int i = 0; i < 25; i++) {
+                        TreasureHunter game = new TreasureHunter("bot", Mode.NORMAL, 3000L + run * 25 + i);
+                        game.setEventLog(log);
+                        Simulator.playGame(new GreedyStrategy(), game);
+                        game.logEvent(EventLog.END, null, null);
+                        played.add(game);
+                    }
+                }
+            }
+        } finally {
+            Rules.setActive(before);
+        }
+        return variant;
+    }
+
+    @Test
+    void gamesReplayByTheRulesTheyWerePlayedBy() throws IOException {
+        Path file = dir.resolve("variant.log");
+        List<TreasureHunter> played = new ArrayList<>();
+        Rules variant = logVariantGames(file, played);
+
+        EventReplay replay = new EventReplay();
+        replay.replay(file);
+        assertEquals(0, replay.getMismatches());
+        assertEquals(0, replay.getSkipped());
+        assertEquals(played.size(), replay.getFinishedGames().size());
+        for (TreasureHunter replayed : replay.getFinishedGames().values()) {
+            assertEquals(variant.getHash(), replayed.getRules().getHash());
+            assertEquals(3, replayed.getModeRules().getBrawlGold());
+        }
+    }
+
+    @Test
+    void gamesStartedTogetherByNewRulesBothReplay() throws IOException {
+        Path file = dir.resolve("interleaved.log");
+        List<TreasureHunter> played = new ArrayList<>();
+        logVariantGames(file, played);
+        // reorder the first two sessions the way two games starting at once can log them: the first game's numbers
+        // and hash, then all of the second game, then the rest of the first
+        List<ByteBuffer> records = new ArrayList<>();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            for (long position = 0; position < channel.size(); position += EventLog.RECORD_SIZE) {
+                ByteBuffer record = ByteBuffer.allocate(EventLog.RECORD_SIZE);
+                channel.read(record, position);
+                records.add(record.flip());
+            }
+        }
+        long first = records.get(0).getLong(0);
+        List<ByteBuffer> firstRules = new ArrayList<>();
+        List<ByteBuffer> firstRest = new ArrayList<>();
+        List<ByteBuffer> second = new ArrayList<>();
+        List<ByteBuffer> rest = new ArrayList<>();
+        for (ByteBuffer record : records) {
+            long sessionId = record.getLong(0);
+            if (sessionId == first) {
+                (record.get(8) == EventLog.RULES ? firstRules : firstRest).add(record);
+            } else if (sessionId == first + 1) {
+                second.add(record);
+            } else {
+                rest.add(record);
+            }
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            for (List<ByteBuffer> part : List.of(firstRules, second, firstRest, rest)) {
+                for (ByteBuffer record : part) {
+                    channel.write(record);
+                }
+            }
+        }
+
+        EventReplay replay = new EventReplay();
+        replay.replay(file);
+        assertEquals(0, replay.getSkipped());
+        assertEquals(0, replay.getMismatches());
+        assertEquals(played.size(), replay.getFinishedGames().size());
+    }
+
+    @Test
+    void gamesWhoseRulesDontMatchTheirHashAreRejected() throws IOException {
+        Path file = dir.resolve("corrupt.log");
+        List<TreasureHunter> played = new ArrayList<>();
+        logVariantGames(file, played);
+        // change the first number of the first copy of the rules, so the rules rebuilt from it no longer match
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer record = ByteBuffer.allocate(EventLog.RECORD_SIZE);
+            for (long position = 0; ; position += EventLog.RECORD_SIZE) {
+                record.clear();
+                channel.read(record, position);
+                if (record.get(8) == EventLog.RULES && record.get(9) == 1) {
+                    record.putLong(16, Double.doubleToLongBits(41));
+                    record.rewind();
+                    channel.write(record, position);
+                    break;
+                }
+            }
+        }
+
+        EventReplay replay = new EventReplay();
+        replay.replay(file);
+        // the second run logged the rules again, so only the first run's games are lost
+        assertEquals(played.size() / 2, replay.getSkipped());
+        assertEquals(played.size() / 2, replay.getFinishedGames().size());
+        assertEquals(0, replay.getMismatches());
+    }
+}
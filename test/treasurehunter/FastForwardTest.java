@@ -0,0 +1,59 @@
+package treasurehunter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Checks where a fast-forward stops.
+ */
+class FastForwardTest {
+
+    private static TreasureHunter game() {
+        return new TreasureHunter("ff", Mode.NORMAL, 7);
+    }
+
+    @Test
+    void playsEveryRound() {
+        assertEquals(6, game().fastForward(new Action[] {Action.EXPLORE, Action.EXPLORE}, 3));
+    }
+
+    @Test
+    void stopsAtTheTurnLimit() {
+        assertEquals(TreasureHunter.MAX_FAST_FORWARD_TURNS, game().fastForward(new Action[] {Action.EXPLORE}, 5000));
+    }
+
+    @Test
+    void stopsWhenTheHunterCantLeaveTown() {
+        // a normal hunter starts with nothing to cross any terrain with
+        TreasureHunter game = game();
+        Town town = game.getCurrentTown();
+        assertEquals(1, game.fastForward(new Action[] {Action.MOVE, Action.DIG}, 10));
+        assertEquals(town, game.getCurrentTown());
+    }
+
+    @Test
+    void stopsOnceTheGameIsOver() {
+        TreasureHunter game = game();
+        game.getHunter().changeGold(-game.getHunter().getGold());
+        assertTrue(game.isGameOver());
+        assertEquals(0, game.fastForward(new Action[] {Action.EXPLORE}, 10));
+    }
+
+    @Test
+    void stopsOnceTheGameIsWon() {
+        TreasureHunter game = game();
+        // crown, trophy and gem
+        game.restore(Mode.NORMAL, "ff", 20, 7, 0, false, 0b111);
+        assertTrue(game.hasWon());
+        assertEquals(0, game.fastForward(new Action[] {Action.EXPLORE}, 10));
+    }
+
+    @Test
+    void tradesCantBeFastForwarded() {
+        assertThrows(IllegalArgumentException.class, () -> game().fastForward(new Action[] {Action.DIG, Action.BUY}, 1));
+        assertThrows(IllegalArgumentException.class, () -> game().fastForward(new Action[] {Action.EXIT}, 1));
+    }
+}
@@ -0,0 +1,24 @@
+package treasurehunter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Checks that a GameBatch plays out exactly as the Simulator does with the GreedyStrategy.
+ */
+class GameBatchTest {
+
+    @Test
+    void batchMatchesTheSimulatorInEveryMode() {
+        Simulator simulator = new Simulator(new GreedyStrategy(), 4, 42);
+        for (Mode mode : Mode.values()) {
+            SimulationResult expected = simulator.run(mode, 20_000);
+            SimulationResult batch = GameBatch.simulate(mode, 20_000, 42, 4);
+            assertEquals(expected.getGames(), batch.getGames(), mode.name());
+            assertEquals(expected.getWins(), batch.getWins(), mode.name());
+            assertEquals(expected.getGameOvers(), batch.getGameOvers(), mode.name());
+            assertEquals(expected.getTotalTurns(), batch.getTotalTurns(), mode.name());
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package treasurehunter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Checks that LineReader splits lines the way BufferedReader.readLine() does.
+ */
+class LineReaderTest {
+
+    private static LineReader reader(String text) {
+        return new LineReader(new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * A stream that hands out one byte per read, so every line break lands on a buffer boundary.
+     */
+    private static LineReader trickle(String text) {
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        return new LineReader(new InputStream() {
+            private int position;
+
+            @Override
+            public int read() {
+                return (position < bytes.length) ? bytes[position++] & 0xFF : -1;
+            }
+
+            @Override
+            public int read(byte[] b, int off, int len) {
+                if (position == bytes.length) {
+                    return -1;
+                }
+                b[off] = bytes[position++];
+                return 1;
+            }
+        });
+    }
+
+    @Test
+    void emptyStreamHasNoLines() throws IOException {
+        assertNull(reader("").readLine());
+    }
+
+    @Test
+    void everyKindOfLineBreakEndsALine() throws IOException {
+        LineReader reader = reader("a\nb\rc\r\nd");
+        assertEquals("a", reader.readLine());
+        assertEquals("b", reader.readLine());
+        assertEquals("c", reader.readLine());
+        assertEquals("d", reader.readLine());
+        assertNull(reader.readLine());
+    }
+
+    @Test
+    void lineBreakAtTheEndDoesNotAddAnEmptyLine() throws IOException {
+        LineReader reader = reader("n\r\n");
+        assertEquals("n", reader.readLine());
+        assertNull(reader.readLine());
+    }
+
+    @Test
+    void emptyLinesAreKept() throws IOException {
+        LineReader reader = reader("\n\r\n\rx\n");
+        assertEquals("", reader.readLine());
+        assertEquals("", reader.readLine());
+        assertEquals("", reader.readLine());
+        assertEquals("x", reader.readLine());
+        assertNull(reader.readLine());
+    }
+
+    @Test
+    void carriageReturnAndLineFeedSplitAcrossReadsAreOneBreak() throws IOException {
+        LineReader reader = trickle("first\r\nsecond\r\n\r\nthird");
+        assertEquals("first", reader.readLine());
+        assertEquals("second", reader.readLine());
+        assertEquals("", reader.readLine());
+        assertEquals("third", reader.readLine());
+        assertNull(reader.readLine());
+    }
+
+    @Test
+    void linesLongerThanTheBufferAreReadWhole() throws IOException {
+        String longLine = "x".repeat(1000);
+        LineReader reader = reader(longLine + "\nshort\n");
+        assertEquals(longLine, reader.readLine());
+        assertEquals("short", reader.readLine());
+    }
+
+    @Test
+    void linesLongerThanTheLimitAreCutShort() throws IOException {
+        LineReader reader = trickle("y".repeat(LineReader.MAX_LINE * 10) + "\nshort\n");
+        assertEquals("y".repeat(LineReader.MAX_LINE), reader.readLine());
+        assertEquals("short", reader.readLine());
+        assertNull(reader.readLine());
+    }
+
+    @Test
+    void multiByteCharactersAreDecodedOnceTheLineIsWhole() throws IOException {
+        // every character is more than one byte, and the trickle splits each of them across reads
+        LineReader reader = trickle("héllo wörld ☃\nnext");
+        assertEquals("héllo wörld ☃", reader.readLine());
+        assertEquals("next", reader.readLine());
+    }
+}
@@ -0,0 +1,52 @@
+package treasurehunter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Checks LongIntMap against a HashMap, and that it stays within its bound.
+ */
+class LongIntMapTest {
+
+    @Test
+    void matchesAHashMapThroughPutsAndRemoves() {
+        LongIntMap map = new LongIntMap(1 << 16);
+        Map<Long, Integer> expected = new HashMap<>();
+        SplittableRandom random = new SplittableRandom(3);
+        for (int i = 0; i < 200_000; i++) {
+            // a small key range, so keys are often put again and removed
+            long key = random.nextLong(5000) - 2500;
+            if (random.nextBoolean()) {
+                int value = random.nextInt(1, 100);
+                assertFalse(map.put(key, value));
+                expected.put(key, value);
+            } else {
+                Integer removed = expected.remove(key);
+                assertEquals((removed == null) ? 0 : removed, map.remove(key));
+            }
+        }
+        assertEquals(expected.size(), map.size());
+        for (long key = -2500; key < 2500; key++) {
+            assertEquals(expected.getOrDefault(key, 0), map.get(key));
+        }
+    }
+
+    @Test
+    void aFullMapPushesOutAnEntry() {
+        LongIntMap map = new LongIntMap(100);
+        for (long key = 0; key < 100; key++) {
+            assertFalse(map.put(key, 1));
+        }
+        assertFalse(map.put(7, 2));
+        assertTrue(map.put(100, 1));
+        assertEquals(100, map.size());
+        assertEquals(1, map.get(100));
+    }
+}
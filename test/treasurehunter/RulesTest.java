@@ -0,0 +1,128 @@
+package treasurehunter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Checks how rules files are read, and that the rules draw the same random numbers the hand-written rules did.
+ */
+class RulesTest {
+
+    @TempDir
+    Path dir;
+
+    private Rules load(String... lines) throws IOException {
+        Path file = dir.resolve("rules.txt");
+        Files.write(file, java.util.List.of(lines));
+        return Rules.load(file);
+    }
+
+    @Test
+    void nextIntDrawsWhatSplittableRandomWould() throws IOException {
+        // powers of two, small and large odd bounds, and bounds near the top where most draws are rejected
+        int[] bounds = {1, 2, 3, 5, 7, 10, 20, 64, 100, 1000, (1 << 30) + 1, Integer.MAX_VALUE - 1, Integer.MAX_VALUE};
+        for (int bound : bounds) {
+            Rules rules = load("dig-gold " + bound + " " + bound + " " + bound + " " + bound + " " + bound);
+            SplittableRandom expected = new SplittableRandom(bound);
+            SplittableRandom actual = new SplittableRandom(bound);
+            for (int i = 0; i < 100_000; i++) {
+                assertEquals(expected.nextInt(bound), rules.nextInt(actual, Mode.NORMAL, Rules.DIG_GOLD), "bound " + bound);
+            }
+            // the same number of draws were taken, rejections included
+            assertEquals(expected.nextLong(), actual.nextLong(), "bound " + bound);
+        }
+    }
+
+    @Test
+    void aFileOnlyChangesWhatItGives() throws IOException {
+        Rules rules = load("# a comment", "", "brawl-gold 1 2 3 4 5", "price shovel 9");
+        assertEquals(3, rules.getInt(Mode.HARD, Rules.BRAWL_GOLD));
+        assertEquals(9, rules.getPrice(Item.SHOVEL));
+        assertEquals(Rules.standard().getInt(Mode.HARD, Rules.DIG_GOLD), rules.getInt(Mode.HARD, Rules.DIG_GOLD));
+        assertEquals(Rules.standard().getPrice(Item.BOAT), rules.getPrice(Item.BOAT));
+    }
+
+    @Test
+    void theStandardRulesWrittenOutLoadBackTheSame() throws IOException {
+        Path file = dir.resolve("standard.txt");
+        Files.writeString(file, Rules.standard().infoString());
+        assertEquals(Rules.standard().infoString(), Rules.load(file).infoString());
+    }
+
+    @Test
+    void rulesComeBackFromTheirValues() throws IOException {
+        Rules rules = load("brawl-gold 1 2 3 4 5", "price shovel 9");
+        Rules rebuilt = Rules.of(rules.getValues());
+        assertEquals(rules.getHash(), rebuilt.getHash());
+        assertEquals(rules.infoString(), rebuilt.infoString());
+        assertTrue(rules.getHash() != Rules.standard().getHash());
+        assertSame(Rules.standard(), Rules.of(Rules.standard().getValues()));
+    }
+
+    @Test
+    void unknownRulesAreRejected() {
+        IOException e = assertThrows(IOException.class, () -> load("dig-golds 1 2 3 4 5"));
+        assertTrue(e.getMessage().contains("line 1"), e.getMessage());
+    }
+
+    @Test
+    void aRuleNeedsAValueForEveryMode() {
+        IOException e = assertThrows(IOException.class, () -> load("# fine", "dig-gold 1 2 3 4"));
+        assertTrue(e.getMessage().contains("line 2"), e.getMessage());
+    }
+
+    @Test
+    void valuesMustBeNumbers() {
+        IOException e = assertThrows(IOException.class, () -> load("dig-odds 0.5 half 0.5 0.5 0.5"));
+        assertTrue(e.getMessage().contains("half"), e.getMessage());
+    }
+
+    @Test
+    void pricesNeedAKnownItemAndANumber() {
+        assertThrows(IOException.class, () -> load("price spade 8"));
+        assertThrows(IOException.class, () -> load("price shovel"));
+        assertThrows(IOException.class, () -> load("price shovel eight"));
+    }
+
+    @Test
+    void oddsMustBeFromZeroToOne() {
+        IOException e = assertThrows(IOException.class, () -> load("dig-odds 0.5 1.5 0.5 0.5 0.5"));
+        assertTrue(e.getMessage().contains("dig-odds") && e.getMessage().contains("normal"), e.getMessage());
+        assertThrows(IOException.class, () -> load("break-chance 0.5 0.5 -0.1 0.5 0.5"));
+        assertThrows(IOException.class, () -> load("markdown NaN 0.5 0.5 0.5 0.5"));
+    }
+
+    @Test
+    void wholeNumberRulesTakeNoFractions() {
+        IOException e = assertThrows(IOException.class, () -> load("starting-gold 40 20.5 20 20 100"));
+        assertTrue(e.getMessage().contains("starting-gold"), e.getMessage());
+        assertThrows(IOException.class, () -> load("kit-size 7 7 -1 8 6"));
+        assertThrows(IOException.class, () -> load("brawl-gold 10 10 10 10 1e10"));
+        assertThrows(IOException.class, () -> load("sword 1 1 1 2 1"));
+        assertThrows(IOException.class, () -> load("dig-gold 20 20 0 20 20"));
+    }
+
+    @Test
+    void pricesCantBeNegative() {
+        IOException e = assertThrows(IOException.class, () -> load("price boat -1"));
+        assertTrue(e.getMessage().contains("boat"), e.getMessage());
+    }
+
+    @Test
+    void aFullKitNeedsRoomForEveryItem() throws IOException {
+        IOException e = assertThrows(IOException.class, () -> load("kit-size 7 7 7 8 5"));
+        assertTrue(e.getMessage().contains("test"), e.getMessage());
+        // without a full kit the hunter can start with a small one
+        assertEquals(5, load("kit-size 7 7 7 8 5", "full-kit 0 0 0 0 0").getInt(Mode.TEST, Rules.KIT_SIZE));
+    }
+}
@@ -0,0 +1,26 @@
+package treasurehunter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.InputStream;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Checks that a shop's prices come out the same whether or not they follow a Market.
+ */
+class ShopTest {
+
+    @Test
+    void marketAndFixedPricesAreMarkedDownAlike() {
+        TreasureHunter game = new TreasureHunter((InputStream) null, null, 5);
+        game.startHeadless("trader", Mode.NORMAL);
+        // a markdown that isn't a whole percent, at a market where nothing has been traded yet
+        Shop fixed = new Shop(0.345, game);
+        Shop market = new Shop(0.345, game, new Market());
+        for (Item item : Item.VALUES) {
+            assertEquals(fixed.getCostOfItem(item), market.getCostOfItem(item), item.getName());
+            assertEquals(fixed.getBuyBackCost(item), market.getBuyBackCost(item), item.getName());
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package treasurehunter;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Checks that a game saved to a Snapshot comes back the same.
+ */
+class SnapshotTest {
+
+    @TempDir
+    Path dir;
+
+    private static TreasureHunter restore(TreasureHunter game) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(Snapshot.MAX_SIZE);
+        Snapshot.encode(game, buffer);
+        buffer.flip();
+        TreasureHunter restored = new TreasureHunter((InputStream) null, null, game.getSeed());
+        Snapshot.decode(buffer, restored);
+        return restored;
+    }
+
+    @Test
+    void theHunterAndTownComeBack() throws IOException {
+        TreasureHunter game = new TreasureHunter("saved", Mode.HARD, 3);
+        game.getHunter().changeGold(100);
+        game.takeTurn(Action.BUY, "shovel");
+        game.takeTurn(Action.DIG, null);
+
+        TreasureHunter restored = restore(game);
+        assertEquals(Mode.HARD, restored.getMode());
+        assertEquals(game.getHunter().getGold(), restored.getHunter().getGold());
+        assertEquals(EventLog.outcome(game), EventLog.outcome(restored));
+        assertSame(game.getCurrentTown().getTerrain(), restored.getCurrentTown().getTerrain());
+    }
+
+    @Test
+    void oneMarketServesEveryTownAndIsSaved() throws IOException {
+        TreasureHunter game = new TreasureHunter((InputStream) null, null, 5);
+        game.setDynamicMarkets(true);
+        game.startHeadless("trader", Mode.TEST);
+        // a test hunter's kit is full, so sell something rather than buy
+        Town town = game.getCurrentTown();
+        String item = town.getTerrain().getNeededItem();
+        Item other = (Item.fromName(item) == Item.HORSE) ? Item.BOAT : Item.HORSE;
+        game.takeTurn(Action.SELL, other.getName());
+        Market market = town.getShop().getMarket();
+        assertEquals(-1, market.getDemand(other));
+
+        game.takeTurn(Action.MOVE, null);
+        assertNotSame(town, game.getCurrentTown());
+        assertSame(market, game.getCurrentTown().getShop().getMarket());
+
+        TreasureHunter restored = restore(game);
+        assertEquals(-1, restored.getCurrentTown().getShop().getMarket().getDemand(other));
+        assertEquals(game.getCurrentTown().getShop().getCostOfItem(other),
+                restored.getCurrentTown().getShop().getCostOfItem(other));
+    }
+
+    @Test
+    void aTunedGameKeepsItsSettings() throws IOException {
+        Tuning tuning = new Tuning(0.3, 0.9, 0.8, 0.5, 0.9);
+        TreasureHunter game = new TreasureHunter("tuned", Mode.EASY, 4, null, tuning);
+
+        TreasureHunter restored = restore(game);
+        assertArrayEquals(tuning.getSettings(), restored.getCustomTuning().getSettings());
+        assertEquals(game.getCurrentTown().getShop().getBuyBackCost(Item.SHOVEL),
+                restored.getCurrentTown().getShop().getBuyBackCost(Item.SHOVEL));
+        assertNull(restore(new TreasureHunter("usual", Mode.EASY, 4)).getCustomTuning());
+    }
+
+    @Test
+    void aGameKeepsTheRulesItWasPlayedBy() throws IOException {
+        Path file = dir.resolve("rules.txt");
+        Files.writeString(file, "brawl-gold 10 10 3 10 10\n");
+        Rules variant = Rules.load(file);
+        TreasureHunter usual = new TreasureHunter("usual", Mode.HARD, 6);
+        Rules before = Rules.get();
+        Rules.setActive(variant);
+        TreasureHunter varied;
+        TreasureHunter standard;
+        try {
+            varied = new TreasureHunter("varied", Mode.HARD, 6);
+            standard = restore(usual);
+        } finally {
+            Rules.setActive(before);
+        }
+        // a game saved under other rules is resumed by them, and a standard game by the standard ones
+        TreasureHunter restored = restore(varied);
+        assertEquals(variant.getHash(), restored.getRules().getHash());
+        assertEquals(3, restored.getModeRules().getBrawlGold());
+        assertSame(Rules.standard(), standard.getRules());
+    }
+}
@@ -0,0 +1,41 @@
+package treasurehunter;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Checks that the Solver plays by the game's own rules.
+ */
+class SolverTest {
+
+    @TempDir
+    Path dir;
+
+    private static double opening(Rules rules) {
+        TreasureHunter game = new TreasureHunter((java.io.InputStream) null, null, 5L);
+        game.setRules(rules);
+        game.startHeadless("bot", Mode.HARD);
+        return new Solver(game, 8).openingWinProbability(game);
+    }
+
+    @Test
+    void withoutTheSwordTreasureDoesNotMakeGoldStopMattering() throws IOException {
+        Path file = dir.resolve("no-sword.txt");
+        Files.writeString(file, "sword 0 0 0 0 0\n");
+        Rules noSword = Rules.load(file);
+        assertFalse(noSword.forMode(Mode.HARD).hasSword());
+
+        double armed = opening(Rules.standard());
+        double unarmed = opening(noSword);
+        // with no free purchases after the first treasure, a hunter can still run out of gold and lose
+        assertTrue(unarmed < armed, unarmed + " should be below " + armed);
+        assertTrue(unarmed > 0, "a hunter can still win without the sword");
+    }
+}
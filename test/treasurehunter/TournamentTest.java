@@ -0,0 +1,33 @@
+package treasurehunter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Checks how many rounds a Swiss league plays.
+ */
+class TournamentTest {
+
+    @Test
+    void swissRoundsDefaultToTheLogOfTheEntrants() {
+        assertEquals(1, Tournament.defaultSwissRounds(2));
+        assertEquals(2, Tournament.defaultSwissRounds(3));
+        assertEquals(2, Tournament.defaultSwissRounds(4));
+        assertEquals(3, Tournament.defaultSwissRounds(5));
+        assertEquals(10, Tournament.defaultSwissRounds(1024));
+    }
+
+    @Test
+    void aSwissLeagueNeedsARound() {
+        List<Tournament.Entrant> entrants = List.of(
+                new Tournament.Entrant("greedy", BotDriver.policy("greedy")),
+                new Tournament.Entrant("random", BotDriver.policy("random")));
+        Tournament tournament = new Tournament(entrants, Mode.values(), ForkJoinPool.commonPool(), 1);
+        assertThrows(IllegalArgumentException.class, () -> tournament.swiss(0, 10));
+    }
+}
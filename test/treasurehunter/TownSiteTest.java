@@ -0,0 +1,97 @@
+package treasurehunter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Checks the claims hunters make on a world site, and that a site the World drops keeps its claims.
+ */
+class TownSiteTest {
+
+    private static TownSite site() {
+        return new TownSite(0, 0, new SplittableRandom(1));
+    }
+
+    @Test
+    void onlyTheFirstSearchWinsTheTreasure() {
+        TownSite site = site();
+        assertFalse(site.isSearched());
+        assertEquals(TownSite.Claim.WON, site.claimTreasure());
+        assertTrue(site.isSearched());
+        assertEquals(TownSite.Claim.LOST, site.claimTreasure());
+    }
+
+    @Test
+    void digSpotsRunOut() {
+        TownSite site = site();
+        for (int i = 0; i < TownSite.DIG_SPOTS; i++) {
+            assertEquals(TownSite.Claim.WON, site.claimDigSpot());
+            assertEquals(i + 1, site.getDugSpots());
+        }
+        assertEquals(TownSite.Claim.LOST, site.claimDigSpot());
+        // digging doesn't touch the treasure
+        assertEquals(TownSite.Claim.WON, site.claimTreasure());
+    }
+
+    @Test
+    void aRetiredSiteRefusesEveryClaim() {
+        TownSite site = site();
+        site.claimDigSpot();
+        int state = site.retire();
+        assertTrue(site.isRetired());
+        assertEquals(TownSite.Claim.RETIRED, site.claimTreasure());
+        assertEquals(TownSite.Claim.RETIRED, site.claimDigSpot());
+
+        TownSite next = new TownSite(0, 0, new SplittableRandom(1), state);
+        assertFalse(next.isRetired());
+        assertEquals(1, next.getDugSpots());
+        assertEquals(TownSite.Claim.WON, next.claimTreasure());
+    }
+
+    @Test
+    void aDroppedSiteComesBackWithItsClaims() {
+        World world = new World(42, 1);
+        TownSite site = world.siteAt(0, 0);
+        assertSame(site, world.siteAt(0, 0));
+        assertEquals(TownSite.Claim.WON, site.claimTreasure());
+
+        // the cache holds one site, so this drops the first
+        world.siteAt(1, 0);
+        assertTrue(site.isRetired());
+        assertEquals(TownSite.Claim.RETIRED, site.claimTreasure());
+
+        TownSite again = world.siteAt(0, 0);
+        assertNotSame(site, again);
+        assertSame(site.getTerrain(), again.getTerrain());
+        assertSame(site.getTownTreasure(), again.getTownTreasure());
+        assertTrue(again.isSearched());
+        assertEquals(TownSite.Claim.LOST, again.claimTreasure());
+    }
+
+    @Test
+    void aDroppedSiteNobodyClaimedIsNotRemembered() {
+        World world = new World(42, 1);
+        world.siteAt(0, 0);
+        world.siteAt(1, 0);
+        assertEquals(0, world.getRetiredSites());
+    }
+
+    @Test
+    void aWorldForgetsDroppedSitesPastItsLimit() {
+        World world = new World(42, 1, 2);
+        for (int x = 0; x < 5; x++) {
+            world.siteAt(x, 0).claimTreasure();
+        }
+        // five claimed sites have been dropped by now, and only two of them are remembered
+        world.siteAt(5, 0);
+        assertEquals(2, world.getRetiredSites());
+        assertEquals(3, world.getForgottenSites());
+    }
+}